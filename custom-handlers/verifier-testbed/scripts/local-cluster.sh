@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+#
+# Copyright (c) 2025-2026 European Commission
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Run a cluster of instances on localhost, to try out cluster mode.
+#
+# Instances listen on consecutive ports starting from the given one, and each keeps its outbox and log under
+# target/local-cluster/node-<port>. Stopping an instance (kill <pid>) hands its sessions over to the others, and
+# restarting it (the command is printed at startup) makes it rejoin. Press Ctrl-C to stop the whole cluster.
+#
+# Usage: scripts/local-cluster.sh [instances (default 3)] [first port (default 7001)]
+
+set -euo pipefail
+
+INSTANCES=${1:-3}
+FIRST_PORT=${2:-7001}
+cd "$(dirname "$0")/.."
+JAR=target/verifier-testbed-1.0-SNAPSHOT.jar
+WORK=target/local-cluster
+
+if [ ! -f "$JAR" ]; then
+  echo "Building the jar..."
+  mvn -B -q package -DskipTests
+fi
+mkdir -p "$WORK"
+
+NODES=""
+SECRET=$(head -c 16 /dev/urandom | od -An -tx1 | tr -d ' \n')
+for ((i = 0; i < INSTANCES; i++)); do
+  NODES="$NODES${NODES:+,}http://localhost:$((FIRST_PORT + i))/app"
+done
+
+PIDS=()
+trap 'kill "${PIDS[@]}" 2> /dev/null; wait' INT TERM EXIT
+for ((i = 0; i < INSTANCES; i++)); do
+  PORT=$((FIRST_PORT + i))
+  mkdir -p "$WORK/node-$PORT"
+  ARGS=(-jar "$JAR" --server.port="$PORT" --cluster.enabled=true --cluster.nodes="$NODES"
+    --cluster.secret="$SECRET"
+    --cluster.self="http://localhost:$PORT/app" --outbox.directory="$WORK/node-$PORT/outbox")
+  java "${ARGS[@]}" > "$WORK/node-$PORT/node.log" 2>&1 &
+  PIDS+=($!)
+  echo "Started node on port $PORT (pid $!): java ${ARGS[*]}"
+done
+
+for ((i = 0; i < INSTANCES; i++)); do
+  until curl -sf "http://localhost:$((FIRST_PORT + i))/app/actuator/health" > /dev/null; do
+    sleep 0.2
+  done
+done
+echo "Cluster is up, members: $(curl -s -H "X-Cluster-Secret: $SECRET" "http://localhost:$FIRST_PORT/app/cluster/members")"
+wait
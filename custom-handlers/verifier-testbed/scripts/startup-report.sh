@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+#
+# Copyright (c) 2025-2026 European Commission
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Measure the startup time of the application as built by default and with the "startup" profile.
+#
+# Each variant is started a number of times and the time until the health endpoint reports the application as up is
+# recorded. The report is printed and written to target/startup-report.md.
+#
+# Usage: scripts/startup-report.sh [runs (default 5)] [port (default 7101)]
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${2:-7101}
+cd "$(dirname "$0")/.."
+JAR=verifier-testbed-1.0-SNAPSHOT.jar
+WORK=target/startup-report
+
+echo "Building the default jar..."
+mvn -B -q clean package -DskipTests
+mkdir -p "$WORK"
+cp "target/$JAR" "$WORK/baseline.jar"
+echo "Building with the startup profile..."
+mvn -B -q package -Pstartup -DskipTests
+APP=target/application
+
+# Start the application with the given arguments and print the milliseconds until it is healthy.
+measure() {
+  local start end pid
+  start=$(date +%s%N)
+  java "$@" --server.port="$PORT" > "$WORK/last-run.log" 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:$PORT/app/actuator/health" > /dev/null; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited, see $WORK/last-run.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  end=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo $(((end - start) / 1000000))
+}
+
+# Print the median of the given values.
+median() {
+  printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+REPORT="$WORK/../startup-report.md"
+{
+  echo "| Variant | Median (ms) | Min (ms) | Max (ms) |"
+  echo "|---|---|---|---|"
+} > "$REPORT"
+
+variant() {
+  local name=$1
+  shift
+  local times=()
+  echo "Measuring: $name"
+  for _ in $(seq "$RUNS"); do
+    times+=("$(measure "$@")")
+  done
+  local sorted
+  sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+  echo "| $name | $(median "${times[@]}") | ${sorted[0]} | ${sorted[-1]} |" >> "$REPORT"
+}
+
+variant "Executable jar (baseline)" -jar "$WORK/baseline.jar"
+variant "Extracted jar + CDS" -XX:SharedArchiveFile="$APP/application.jsa" -jar "$APP/$JAR"
+variant "Extracted jar + CDS + AOT" -XX:SharedArchiveFile="$APP/application.jsa" -Dspring.aot.enabled=true \
+  -jar "$APP/$JAR"
+variant "Extracted jar + CDS + AOT + lazy endpoints" -XX:SharedArchiveFile="$APP/application.jsa" \
+  -Dspring.aot.enabled=true -Dendpoints.lazy=true -jar "$APP/$JAR"
+
+echo
+echo "Startup time until healthy ($RUNS runs per variant, JVM $(java -version 2>&1 | head -1)):"
+cat "$REPORT"
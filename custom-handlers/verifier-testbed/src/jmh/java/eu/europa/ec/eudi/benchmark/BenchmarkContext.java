@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.benchmark;
+
+import com.gitb.tr.ObjectFactory;
+import eu.europa.ec.eudi.gitb.HttpClientConfig;
+import eu.europa.ec.eudi.gitb.PerformanceStats;
+import eu.europa.ec.eudi.gitb.SessionTracing;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.gitb.ValidationAdmission;
+import eu.europa.ec.eudi.gitb.ValidationResultCache;
+import eu.europa.ec.eudi.issuer.service.IssuancePhases;
+import eu.europa.ec.eudi.issuer.service.IssuerValidationService;
+import eu.europa.ec.eudi.issuer.service.LogFormatRegistry;
+import eu.europa.ec.eudi.verifier.service.FlowTimingSlos;
+import eu.europa.ec.eudi.verifier.service.PresentationEventFeedReader;
+import eu.europa.ec.eudi.verifier.service.TransactionStateStore;
+import eu.europa.ec.eudi.verifier.service.VerifierRules;
+import eu.europa.ec.eudi.verifier.service.VerifierValidationService;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Factory for the Spring context used by benchmarks.
+ *
+ * <p>The context only contains the beans that the validation and report code paths need, so that
+ * benchmarks neither start the web server nor publish the SOAP endpoints. Observations are not
+ * recorded and the validation report cache is disabled so that each invocation does the full work.
+ */
+final class BenchmarkContext {
+
+  private BenchmarkContext() {}
+
+  /**
+   * Create and start the context.
+   *
+   * @param properties Properties to set in addition to the benchmark defaults.
+   * @return The started context (to close when the benchmark's trial ends).
+   */
+  static AnnotationConfigApplicationContext create(Map<String, Object> properties) {
+    Map<String, Object> settings = new HashMap<>();
+    settings.put("validation.cache.enabled", "false");
+    settings.putAll(properties);
+    var context = new AnnotationConfigApplicationContext();
+    context
+        .getEnvironment()
+        .getPropertySources()
+        .addFirst(new MapPropertySource("benchmark", settings));
+    context.registerBean(ObservationRegistry.class, () -> ObservationRegistry.NOOP);
+    context.registerBean(ObjectFactory.class);
+    context.registerBean("utilsJson", Json.class, () -> Json.INSTANCE);
+    context.register(
+        HttpClientConfig.class,
+        Utils.class,
+        SessionTracing.class,
+        ValidationResultCache.class,
+        ValidationAdmission.class,
+        PerformanceStats.class,
+        TransactionStateStore.class,
+        PresentationEventFeedReader.class,
+        VerifierRules.class,
+        FlowTimingSlos.class,
+        LogFormatRegistry.class,
+        IssuancePhases.class,
+        IssuerValidationService.class,
+        VerifierValidationService.class);
+    context.refresh();
+    return context;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europa.ec.eudi.issuer.dto.CredentialOfferLogsTO;
+import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckSuccessful;
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent;
+import eu.europa.ec.eudi.verifier.dto.PresentationEventsTO;
+import eu.europa.ec.eudi.verifier.dto.RequestObjectRetrieved;
+import eu.europa.ec.eudi.verifier.dto.TransactionInitialized;
+import eu.europa.ec.eudi.verifier.dto.VerifierGotWalletResponse;
+import eu.europa.ec.eudi.verifier.dto.WalletResponsePosted;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generators of synthetic issuer and verifier logs for benchmarks.
+ *
+ * <p>Generated data follows the shape of real logs (field names, message lengths, level mix and the
+ * odd line that does not match the expected format). A fixed seed is used so that every run
+ * benchmarks the same payloads.
+ */
+final class BenchmarkData {
+
+  private static final long SEED = 42;
+
+  private static final String STATUS_LIST_URI =
+      "https://issuer.eudiw.dev/token_status_list/FC/eu.europa.ec.eudi.pid.1/1";
+
+  private static final DateTimeFormatter LOG_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss,SSS");
+
+  private static final String[] LOGGERS = {
+    "eu.europa.ec.eudi.pidissuer.adapter.input.web.IssuerApi",
+    "eu.europa.ec.eudi.pidissuer.port.input.IssueCredential",
+    "eu.europa.ec.eudi.pidissuer.port.input.CreateCredentialsOffer",
+    "eu.europa.ec.eudi.pidissuer.adapter.out.jose.ValidateProofs",
+    "org.springframework.security.web.server.authorization.AuthorizationWebFilter"
+  };
+
+  private static final String[] MESSAGES = {
+    "Credential offer created for configuration eu.europa.ec.eudi.pid_vc_sd_jwt",
+    "Handling credential request for access token issued to wallet",
+    "Proof of possession validated using key with thumbprint %s",
+    "Issued credential with identifier %s",
+    "Authorization server metadata retrieved in %d ms",
+    "Deferred credential request received for transaction %s"
+  };
+
+  private BenchmarkData() {}
+
+  /**
+   * Generate the issuer's logs as returned by its logs endpoint.
+   *
+   * @param lines The number of log lines.
+   * @return The logs as JSON text.
+   */
+  static String issuerLogs(int lines) {
+    var random = new Random(SEED);
+    var time = LocalDateTime.of(2025, 6, 1, 9, 0);
+    List<String> logs = new ArrayList<>(lines);
+    for (int i = 0; i < lines; i++) {
+      time = time.plusNanos(random.nextInt(50) * 1_000_000L);
+      int roll = random.nextInt(100);
+      if (roll < 2) {
+        // Stack trace lines do not follow the log format.
+        logs.add("\tat eu.europa.ec.eudi.pidissuer.port.input.IssueCredential.invoke(" + i + ")");
+        continue;
+      }
+      String level = roll < 87 ? "INFO" : roll < 96 ? "WARN" : roll < 99 ? "ERROR" : "DEBUG";
+      String message =
+          String.format(
+              MESSAGES[random.nextInt(MESSAGES.length)], UUID.randomUUID(), random.nextInt(500));
+      logs.add(
+          String.format(
+              "%s %s %s %s",
+              LOG_TIMESTAMP.format(time),
+              LOGGERS[random.nextInt(LOGGERS.length)],
+              level,
+              message));
+    }
+    var to = new CredentialOfferLogsTO();
+    to.setSuccessful(true);
+    to.setCount(lines);
+    to.setLogs(logs);
+    return write(to);
+  }
+
+  /**
+   * Generate a verifier transaction's presentation events, ending with a successful presentation.
+   *
+   * <p>Beyond the initialisation, request object retrieval and wallet response events, the log is
+   * filled with attestation status check events to reach the requested size.
+   *
+   * @param events The number of events (at least 4).
+   * @return The events as JSON text.
+   */
+  static String presentationEvents(int events) {
+    var random = new Random(SEED);
+    String transactionId = new UUID(random.nextLong(), random.nextLong()).toString();
+    var time = Instant.parse("2025-06-01T09:00:00Z");
+    List<PresentationEvent> list = new ArrayList<>(events);
+
+    ObjectNode initResponse = json().createObjectNode();
+    initResponse.put("transaction_id", transactionId);
+    initResponse.put("client_id", "x509_san_dns:verifier.eudiw.dev");
+    initResponse.put(
+        "request_uri", "https://verifier.eudiw.dev/wallet/request.jwt/" + transactionId);
+    list.add(
+        new TransactionInitialized(
+            timestamp(time), initResponse, "Transaction initialized", "Verifier"));
+    time = time.plusMillis(800);
+    list.add(
+        new RequestObjectRetrieved(
+            timestamp(time), jwt(random, 2048), "Request object retrieved", "Wallet"));
+
+    for (int i = 0; i < events - 4; i++) {
+      time = time.plusMillis(random.nextInt(20));
+      ObjectNode statusReference = json().createObjectNode();
+      statusReference.put("idx", random.nextInt(100_000));
+      statusReference.put("uri", STATUS_LIST_URI);
+      list.add(
+          new AttestationStatusCheckSuccessful(
+              timestamp(time), statusReference, "Attestation status check succeeded", "Verifier"));
+    }
+
+    ObjectNode walletResponse = json().createObjectNode();
+    walletResponse.put("vp_token", jwt(random, 4096));
+    walletResponse.put("state", transactionId);
+    ObjectNode submission = walletResponse.putObject("presentation_submission");
+    submission.put("id", UUID.randomUUID().toString());
+    submission.put("definition_id", transactionId);
+    ObjectNode verifierResponse = json().createObjectNode();
+    verifierResponse.put("redirect_uri", "https://verifier.eudiw.dev/get-wallet-code");
+    time = time.plusMillis(3000);
+    list.add(
+        new WalletResponsePosted(
+            timestamp(time),
+            walletResponse,
+            verifierResponse,
+            "Wallet response posted",
+            "Wallet"));
+    time = time.plusMillis(400);
+    list.add(
+        new VerifierGotWalletResponse(
+            timestamp(time), walletResponse, "Verifier got wallet response", "Verifier"));
+
+    return write(new PresentationEventsTO(transactionId, time.toEpochMilli(), list));
+  }
+
+  /**
+   * Generate a text payload of the given size.
+   *
+   * @param size The payload's size in characters.
+   * @return The payload.
+   */
+  static String text(int size) {
+    var random = new Random(SEED);
+    var builder = new StringBuilder(size);
+    while (builder.length() < size) {
+      builder.append((char) ('a' + random.nextInt(26)));
+    }
+    return builder.toString();
+  }
+
+  private static String jwt(Random random, int size) {
+    byte[] bytes = new byte[size * 3 / 4];
+    random.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static String timestamp(Instant time) {
+    return DateTimeFormatter.ISO_INSTANT.format(time);
+  }
+
+  private static ObjectMapper json() {
+    return Json.INSTANCE.getReader();
+  }
+
+  private static String write(Object value) {
+    try {
+      return json().writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.benchmark;
+
+import com.gitb.core.AnyContent;
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.sun.net.httpserver.HttpServer;
+import eu.europa.ec.eudi.gitb.Utils;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Benchmark of the conversion of inputs to strings for each embedding method.
+ *
+ * <p>Inputs provided as URIs are served by a local HTTP server, so the measured time includes the
+ * HTTP exchange over the loopback interface.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputBenchmark {
+
+  /** The way the input is provided. */
+  @Param({"STRING", "BASE_64", "URI"})
+  public ValueEmbeddingEnumeration embedding;
+
+  /** The size of the input in characters. */
+  @Param({"1024", "1048576"})
+  public int size;
+
+  private AnnotationConfigApplicationContext context;
+  private HttpServer server;
+  private Utils utils;
+  private AnyContent input;
+
+  @Setup
+  public void setUp() throws IOException {
+    context = BenchmarkContext.create(Map.of());
+    utils = context.getBean(Utils.class);
+    String text = BenchmarkData.text(size);
+    String value =
+        switch (embedding) {
+          case STRING -> text;
+          case BASE_64 ->
+              Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+          case URI -> "http://localhost:" + serve(text) + "/input";
+        };
+    input = utils.createAnyContentSimple("text", value, embedding);
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (server != null) {
+      server.stop(0);
+    }
+    context.close();
+  }
+
+  @Benchmark
+  public String asString() {
+    return utils.asString(input);
+  }
+
+  private int serve(String text) throws IOException {
+    byte[] body = text.getBytes(StandardCharsets.UTF_8);
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/input",
+        exchange -> {
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.start();
+    return server.getAddress().getPort();
+  }
+}
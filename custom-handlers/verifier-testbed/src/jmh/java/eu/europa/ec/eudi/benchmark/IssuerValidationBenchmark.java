@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.benchmark;
+
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.vs.ValidateRequest;
+import com.gitb.vs.ValidationResponse;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.issuer.service.IssuerValidationService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/** Benchmark of the validation of issuer logs (parsing of each log line into the report). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssuerValidationBenchmark {
+
+  /** The number of log lines. */
+  @Param({"1000", "10000", "100000"})
+  public int lines;
+
+  private AnnotationConfigApplicationContext context;
+  private IssuerValidationService service;
+  private ValidateRequest request;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkContext.create(Map.of());
+    service = context.getBean(IssuerValidationService.class);
+    request = new ValidateRequest();
+    request.setSessionId("benchmark");
+    request
+        .getInput()
+        .add(
+            context
+                .getBean(Utils.class)
+                .createAnyContentSimple(
+                    "text", BenchmarkData.issuerLogs(lines), ValueEmbeddingEnumeration.STRING));
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public ValidationResponse validate() {
+    return service.validate(request);
+  }
+}
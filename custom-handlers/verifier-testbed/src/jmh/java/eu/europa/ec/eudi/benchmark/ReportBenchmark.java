@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.benchmark;
+
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import com.gitb.vs.ValidateRequest;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.issuer.service.IssuerValidationService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Benchmark of report handling: the creation of an empty report and the XML marshalling of the
+ * report produced for issuer logs of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+  /** The number of issuer log lines included in the marshalled report. */
+  @Param({"1000", "10000"})
+  public int lines;
+
+  private AnnotationConfigApplicationContext context;
+  private Utils utils;
+  private TAR report;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkContext.create(Map.of());
+    utils = context.getBean(Utils.class);
+    var request = new ValidateRequest();
+    request
+        .getInput()
+        .add(
+            utils.createAnyContentSimple(
+                "text", BenchmarkData.issuerLogs(lines), ValueEmbeddingEnumeration.STRING));
+    report = context.getBean(IssuerValidationService.class).validate(request).getReport();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public TAR createReport() {
+    return utils.createReport(TestResultType.SUCCESS);
+  }
+
+  @Benchmark
+  public String marshalReport() {
+    return utils.marshalReport(report);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.benchmark;
+
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.vs.ValidateRequest;
+import com.gitb.vs.ValidationResponse;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.verifier.service.VerifierValidationService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Benchmark of the validation of a verifier transaction's presentation events.
+ *
+ * <p>With "incremental" disabled no transaction state is kept, so that every invocation parses and
+ * checks the full event log. With it enabled, invocations after the first find the transaction
+ * unchanged and measure the cost of detecting that.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerifierValidationBenchmark {
+
+  /** The number of events in the transaction's log (a small and a huge log). */
+  @Param({"6", "20000"})
+  public int events;
+
+  /** Whether transaction state is kept between validations. */
+  @Param({"false", "true"})
+  public boolean incremental;
+
+  private AnnotationConfigApplicationContext context;
+  private VerifierValidationService service;
+  private ValidateRequest request;
+
+  @Setup
+  public void setUp() {
+    context =
+        BenchmarkContext.create(
+            Map.of("verifier.validation.state.maxTransactions", incremental ? "1000" : "0"));
+    service = context.getBean(VerifierValidationService.class);
+    request = new ValidateRequest();
+    request.setSessionId("benchmark");
+    request
+        .getInput()
+        .add(
+            context
+                .getBean(Utils.class)
+                .createAnyContentSimple(
+                    "text",
+                    BenchmarkData.presentationEvents(events),
+                    ValueEmbeddingEnumeration.STRING));
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public ValidationResponse validate() {
+    return service.validate(request);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for the GITB test bed's messaging callback service ({@code MessagingClient}).
+ *
+ * <p>The server accepts the "notifyForMessage" and "log" SOAP calls that the handler makes to the
+ * ReplyTo address of a session. Each notification completes the future registered for its session,
+ * with the time at which it was received, so that notification delivery lag can be measured.
+ */
+class CallbackServer implements AutoCloseable {
+
+  private static final String NAMESPACE = "http://www.gitb.com/ms/v1/";
+
+  private static final Pattern SESSION_ID =
+      Pattern.compile("<(?:\\w+:)?sessionId>([^<]+)</(?:\\w+:)?sessionId>");
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final ConcurrentHashMap<String, CompletableFuture<Long>> notifications =
+      new ConcurrentHashMap<>();
+  private final AtomicLong unexpectedNotifications = new AtomicLong();
+  private final AtomicLong logMessages = new AtomicLong();
+
+  CallbackServer(String host, int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+    server.createContext("/callback", this::handle);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /**
+   * @return The callback address to provide as the ReplyTo address of sessions.
+   */
+  String address() {
+    return "http://"
+        + server.getAddress().getHostString()
+        + ":"
+        + server.getAddress().getPort()
+        + "/callback";
+  }
+
+  /**
+   * Register a session for which a notification is expected.
+   *
+   * @param sessionId The session ID.
+   * @return A future completed with the time (from {@link System#nanoTime()}) at which the
+   *     notification is received.
+   */
+  CompletableFuture<Long> expectNotification(String sessionId) {
+    return notifications.computeIfAbsent(sessionId, id -> new CompletableFuture<>());
+  }
+
+  /** Stop expecting a notification for the given session. */
+  void forget(String sessionId) {
+    notifications.remove(sessionId);
+  }
+
+  long getUnexpectedNotifications() {
+    return unexpectedNotifications.get();
+  }
+
+  long getLogMessages() {
+    return logMessages.get();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    long received = System.nanoTime();
+    String body;
+    try (InputStream in = exchange.getRequestBody()) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    String response;
+    if (body.contains("NotifyForMessageRequest")) {
+      Matcher matcher = SESSION_ID.matcher(body);
+      CompletableFuture<Long> notification =
+          matcher.find() ? notifications.get(matcher.group(1)) : null;
+      if (notification == null) {
+        unexpectedNotifications.incrementAndGet();
+      } else {
+        notification.complete(received);
+      }
+      response = "NotifyForMessageResponse";
+    } else if (body.contains("LogRequest")) {
+      logMessages.incrementAndGet();
+      response = "LogResponse";
+    } else {
+      exchange.sendResponseHeaders(400, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes =
+        Soap.envelope("", "<ms:" + response + " xmlns:ms=\"" + NAMESPACE + "\"/>")
+            .getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=UTF-8");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.loadtest;
+
+import java.util.Arrays;
+
+/** Recorder of latencies, reporting their percentiles once the load test completes. */
+class LatencyRecorder {
+
+  private final String name;
+  private long[] values = new long[1024];
+  private int count;
+
+  LatencyRecorder(String name) {
+    this.name = name;
+  }
+
+  /** Record a latency, in nanoseconds. */
+  synchronized void record(long nanos) {
+    if (count == values.length) {
+      values = Arrays.copyOf(values, count * 2);
+    }
+    values[count++] = nanos;
+  }
+
+  /**
+   * Summarise the recorded latencies.
+   *
+   * @return A line with the number of values and their p50, p99, p99.9 and maximum in milliseconds.
+   */
+  synchronized String summary() {
+    if (count == 0) {
+      return String.format("%-14s n=0", name);
+    }
+    long[] sorted = Arrays.copyOf(values, count);
+    Arrays.sort(sorted);
+    return String.format(
+        "%-14s n=%-8d p50=%8.1fms p99=%8.1fms p999=%8.1fms max=%8.1fms",
+        name,
+        count,
+        millis(percentile(sorted, 0.50)),
+        millis(percentile(sorted, 0.99)),
+        millis(percentile(sorted, 0.999)),
+        millis(sorted[sorted.length - 1]));
+  }
+
+  private static long percentile(long[] sorted, double quantile) {
+    int index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test of a running handler, acting as the GITB test bed.
+ *
+ * <p>Sessions are started at a fixed rate. Each session calls "initiate", validates a verifier
+ * transaction log, provides input through the "/input" endpoint, waits for the resulting
+ * notification on the local {@link CallbackServer} and calls "finalize". Once the test completes,
+ * the throughput, the latency percentiles of each step and the notification delivery lag (from
+ * the input being provided to the notification being received) are reported.
+ *
+ * <p>Options are passed as "name=value" arguments:
+ *
+ * <ul>
+ *   <li>target: The handler's base address (default "http://localhost:7001/app").
+ *   <li>rate: The number of sessions started per second (default 10).
+ *   <li>duration: The time during which sessions are started, in seconds (default 60).
+ *   <li>callbackHost / callbackPort: The address the callback server listens on (default
+ *       "localhost" and a random port).
+ *   <li>notificationTimeout: The time to wait for each notification, in seconds (default 30).
+ *   <li>events: A file with the presentation events to validate, in which "%s" is replaced by a
+ *       unique transaction ID (default a successful transaction with four events).
+ * </ul>
+ */
+public class LoadTest {
+
+  private static final String DEFAULT_EVENTS =
+      """
+      {"transaction_id": "%s", "last_updated": 1748768400000, "events": [
+        {"timestamp": "2025-06-01T09:00:00Z", "event": "Transaction initialized",
+         "actor": "Verifier", "response": {"client_id": "verifier.eudiw.dev"}},
+        {"timestamp": "2025-06-01T09:00:01Z", "event": "Request object retrieved",
+         "actor": "Wallet", "jwt": "eyJhbGciOiJFUzI1NiJ9.e30.c2lnbmF0dXJl"},
+        {"timestamp": "2025-06-01T09:00:04Z", "event": "Wallet response posted",
+         "actor": "Wallet", "wallet_response": {"vp_token": "eyJhbGciOiJFUzI1NiJ9.e30.c2ln"}},
+        {"timestamp": "2025-06-01T09:00:05Z", "event": "Verifier got wallet response",
+         "actor": "Verifier", "wallet_response": {"vp_token": "eyJhbGciOiJFUzI1NiJ9.e30.c2ln"}}
+      ]}
+      """;
+
+  private final Soap soap;
+  private final CallbackServer callbackServer;
+  private final String events;
+  private final Duration notificationTimeout;
+
+  private final LatencyRecorder initiate = new LatencyRecorder("initiate");
+  private final LatencyRecorder validate = new LatencyRecorder("validate");
+  private final LatencyRecorder input = new LatencyRecorder("input");
+  private final LatencyRecorder notification = new LatencyRecorder("notification");
+  private final LatencyRecorder finalize = new LatencyRecorder("finalize");
+  private final LatencyRecorder session = new LatencyRecorder("session");
+
+  private final AtomicLong started = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong notificationTimeouts = new AtomicLong();
+  private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+  LoadTest(Soap soap, CallbackServer callbackServer, String events, Duration notificationTimeout) {
+    this.soap = soap;
+    this.callbackServer = callbackServer;
+    this.events = events;
+    this.notificationTimeout = notificationTimeout;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException("Expected a name=value argument but got " + arg);
+      }
+      options.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+    String target = options.getOrDefault("target", "http://localhost:7001/app");
+    double rate = Double.parseDouble(options.getOrDefault("rate", "10"));
+    long duration = Long.parseLong(options.getOrDefault("duration", "60"));
+    Duration timeout =
+        Duration.ofSeconds(Long.parseLong(options.getOrDefault("notificationTimeout", "30")));
+    String events =
+        options.containsKey("events")
+            ? Files.readString(Path.of(options.get("events")))
+            : DEFAULT_EVENTS;
+
+    ExecutorService clientExecutor = Executors.newCachedThreadPool();
+    HttpClient httpClient =
+        HttpClient.newBuilder()
+            .executor(clientExecutor)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    try (var callbackServer =
+        new CallbackServer(
+            options.getOrDefault("callbackHost", "localhost"),
+            Integer.parseInt(options.getOrDefault("callbackPort", "0")))) {
+      var loadTest = new LoadTest(new Soap(httpClient, target), callbackServer, events, timeout);
+      System.out.printf(
+          "Starting %.1f session(s)/s for %ds against [%s], callbacks on [%s]%n",
+          rate, duration, target, callbackServer.address());
+      loadTest.run(rate, Duration.ofSeconds(duration));
+    } finally {
+      clientExecutor.shutdownNow();
+    }
+  }
+
+  /** Start sessions at the given rate for the given duration and report the results. */
+  void run(double rate, Duration duration) throws InterruptedException {
+    ExecutorService sessions = Executors.newCachedThreadPool();
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    long start = System.nanoTime();
+    scheduler.scheduleAtFixedRate(
+        () -> sessions.execute(this::runSession),
+        0,
+        Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate)),
+        TimeUnit.NANOSECONDS);
+    Thread.sleep(duration.toMillis());
+    scheduler.shutdownNow();
+    sessions.shutdown();
+    // Let the sessions in progress complete.
+    if (!sessions.awaitTermination(notificationTimeout.toSeconds() + 120, TimeUnit.SECONDS)) {
+      System.out.println("Sessions still in progress were abandoned.");
+      sessions.shutdownNow();
+    }
+    report(Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private void runSession() {
+    started.incrementAndGet();
+    String sessionId = UUID.randomUUID().toString();
+    long sessionStart = System.nanoTime();
+    try {
+      timed(initiate, () -> soap.initiate(sessionId, callbackServer.address()));
+      timed(validate, () -> soap.validate(sessionId, String.format(events, sessionId)));
+      var notified = callbackServer.expectNotification(sessionId);
+      long inputStart = System.nanoTime();
+      timed(input, () -> soap.input(sessionId, "load-test"));
+      try {
+        long received = notified.get(notificationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        notification.record(received - inputStart);
+      } catch (TimeoutException e) {
+        notificationTimeouts.incrementAndGet();
+      } finally {
+        callbackServer.forget(sessionId);
+      }
+      timed(finalize, () -> soap.finalizeSession(sessionId));
+      session.record(System.nanoTime() - sessionStart);
+      completed.incrementAndGet();
+    } catch (IOException | ExecutionException e) {
+      failed.incrementAndGet();
+      errors
+          .computeIfAbsent(String.valueOf(e.getMessage()), k -> new AtomicLong())
+          .incrementAndGet();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failed.incrementAndGet();
+    }
+  }
+
+  private void timed(LatencyRecorder recorder, Call call) throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    call.run();
+    recorder.record(System.nanoTime() - start);
+  }
+
+  private void report(Duration elapsed) {
+    double seconds = elapsed.toMillis() / 1000.0;
+    System.out.println();
+    System.out.printf(
+        "Sessions: %d started, %d completed, %d failed in %.1fs (%.1f completed session(s)/s)%n",
+        started.get(), completed.get(), failed.get(), seconds, completed.get() / seconds);
+    System.out.printf(
+        "Notifications: %d timed out, %d unexpected; %d log message(s) received%n",
+        notificationTimeouts.get(),
+        callbackServer.getUnexpectedNotifications(),
+        callbackServer.getLogMessages());
+    for (var recorder : new LatencyRecorder[] {initiate, validate, input, notification, finalize}) {
+      System.out.println(recorder.summary());
+    }
+    System.out.println(session.summary());
+    errors.forEach((message, count) -> System.out.printf("Error (%d): %s%n", count.get(), message));
+  }
+
+  /** A call made by a session. */
+  private interface Call {
+    void run() throws IOException, InterruptedException;
+  }
+}
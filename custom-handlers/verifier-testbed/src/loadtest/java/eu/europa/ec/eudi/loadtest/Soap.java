@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Client making the calls the GITB test bed makes to the handler, using hand-written SOAP
+ * envelopes so that the load test does not depend on the handler's own client stack.
+ */
+class Soap {
+
+  private static final String MS = "http://www.gitb.com/ms/v1/";
+  private static final String VS = "http://www.gitb.com/vs/v1/";
+  private static final String CORE = "http://www.gitb.com/core/v1/";
+
+  private final HttpClient httpClient;
+  private final String target;
+
+  /**
+   * @param httpClient The client to make calls with.
+   * @param target The handler's base address (including its context path).
+   */
+  Soap(HttpClient httpClient, String target) {
+    this.httpClient = httpClient;
+    this.target = target;
+  }
+
+  /** Call the messaging service's "initiate" operation for the given session. */
+  void initiate(String sessionId, String replyTo) throws IOException, InterruptedException {
+    String header =
+        "<wsa:ReplyTo xmlns:wsa=\"http://www.w3.org/2005/08/addressing\">"
+            + "<wsa:Address>"
+            + replyTo
+            + "</wsa:Address></wsa:ReplyTo>"
+            + "<gitb:TestSessionIdentifier xmlns:gitb=\"http://www.gitb.com\">"
+            + sessionId
+            + "</gitb:TestSessionIdentifier>";
+    call("/services/messaging", envelope(header, "<ms:InitiateRequest xmlns:ms=\"" + MS + "\"/>"));
+  }
+
+  /** Call the verifier log validation service with the given presentation events. */
+  void validate(String sessionId, String events) throws IOException, InterruptedException {
+    String body =
+        "<vs:ValidateRequest xmlns:vs=\""
+            + VS
+            + "\" xmlns:core=\""
+            + CORE
+            + "\"><sessionId>"
+            + sessionId
+            + "</sessionId><input name=\"text\" embeddingMethod=\"STRING\"><core:value><![CDATA["
+            + events
+            + "]]></core:value></input></vs:ValidateRequest>";
+    call("/services/log/validation", envelope("", body));
+  }
+
+  /** Provide a message for the session through the handler's input controller. */
+  void input(String sessionId, String message) throws IOException, InterruptedException {
+    var request =
+        HttpRequest.newBuilder(
+                URI.create(target + "/input?session=" + sessionId + "&message=" + message))
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    check(httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+  }
+
+  /** Call the messaging service's "finalize" operation for the given session. */
+  void finalizeSession(String sessionId) throws IOException, InterruptedException {
+    call(
+        "/services/messaging",
+        envelope(
+            "",
+            "<ms:FinalizeRequest xmlns:ms=\""
+                + MS
+                + "\"><sessionId>"
+                + sessionId
+                + "</sessionId></ms:FinalizeRequest>"));
+  }
+
+  /** Build a SOAP 1.1 envelope. */
+  static String envelope(String header, String body) {
+    return "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+        + "<soapenv:Header>"
+        + header
+        + "</soapenv:Header><soapenv:Body>"
+        + body
+        + "</soapenv:Body></soapenv:Envelope>";
+  }
+
+  private void call(String path, String envelope) throws IOException, InterruptedException {
+    var request =
+        HttpRequest.newBuilder(URI.create(target + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "text/xml; charset=UTF-8")
+            .header("SOAPAction", "\"\"")
+            .POST(HttpRequest.BodyPublishers.ofString(envelope))
+            .build();
+    check(httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+  }
+
+  private static void check(HttpResponse<String> response) throws IOException {
+    if (response.statusCode() / 100 != 2 || response.body().contains("Fault>")) {
+      throw new IOException(
+          "Call to [" + response.uri() + "] failed with status " + response.statusCode());
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to isolate Test Bed callback addresses from each other.
+ *
+ * <p>Each callback address has its own limit of concurrent calls. The limit is adapted to the
+ * observed latency (AIMD): it grows by one per window of calls answered within
+ * "callback.latency.target" milliseconds, and is halved when a call fails or is slower than that.
+ * Calls beyond the limit are rejected immediately rather than queued, so a slow Test Bed cannot tie
+ * up the threads serving healthy ones. After "callback.circuit.failureThreshold" consecutive
+ * failures the address' circuit opens and calls are rejected for "callback.circuit.openDuration"
+ * milliseconds, after which a single trial call decides whether it closes again.
+ */
+@Component
+public class CallbackGuard {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(CallbackGuard.class);
+
+  private final Map<String, CallbackState> states = new ConcurrentHashMap<>();
+
+  @Autowired private MeterRegistry meterRegistry = null;
+
+  @Value("${callback.limit.initial:4}")
+  private int initialLimit;
+
+  @Value("${callback.limit.min:1}")
+  private int minLimit;
+
+  @Value("${callback.limit.max:64}")
+  private int maxLimit;
+
+  @Value("${callback.latency.target:2000}")
+  private long latencyTarget;
+
+  @Value("${callback.circuit.failureThreshold:5}")
+  private int failureThreshold;
+
+  @Value("${callback.circuit.openDuration:10000}")
+  private long openDuration;
+
+  /**
+   * Make a call to a Test Bed callback address, if its limit and circuit allow it.
+   *
+   * @param callbackAddress The callback address.
+   * @param call The call to make.
+   * @return The call's result.
+   * @param <T> The type of the result.
+   * @throws CallbackRejectedException If the call was not made.
+   */
+  public <T> T call(String callbackAddress, Supplier<T> call) {
+    return call(callbackAddress, false, call);
+  }
+
+  /**
+   * Make a call to a Test Bed callback address, if its limit and circuit allow it.
+   *
+   * <p>Sheddable calls (e.g. log messages) may only use half of the limit, keeping the rest for
+   * the notifications that test sessions wait for, and are never used as a circuit's trial call.
+   *
+   * @param callbackAddress The callback address.
+   * @param sheddable Whether the call is of low priority.
+   * @param call The call to make.
+   * @return The call's result.
+   * @param <T> The type of the result.
+   * @throws CallbackRejectedException If the call was not made.
+   */
+  public <T> T call(String callbackAddress, boolean sheddable, Supplier<T> call) {
+    CallbackState state = states.computeIfAbsent(callbackAddress, this::register);
+    state.acquire(sheddable);
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      T result = call.get();
+      success = true;
+      return result;
+    } finally {
+      state.release(success, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+  }
+
+  private CallbackState register(String callbackAddress) {
+    CallbackState state = new CallbackState(callbackAddress);
+    Gauge.builder("testbed.callback.limit", state, s -> s.limit)
+        .tag("callback", callbackAddress)
+        .description("The adaptive limit of concurrent calls to a Test Bed callback address")
+        .register(meterRegistry);
+    Gauge.builder("testbed.callback.inflight", state, s -> s.inFlight)
+        .tag("callback", callbackAddress)
+        .register(meterRegistry);
+    Gauge.builder("testbed.callback.circuit", state, s -> s.circuit.ordinal())
+        .tag("callback", callbackAddress)
+        .description("The state of the circuit (0 closed, 1 half-open, 2 open)")
+        .register(meterRegistry);
+    FunctionCounter.builder("testbed.callback.rejected", state.rejectedOpen, LongAdder::sum)
+        .tag("callback", callbackAddress)
+        .tag("reason", "circuit_open")
+        .register(meterRegistry);
+    FunctionCounter.builder("testbed.callback.rejected", state.rejectedLimit, LongAdder::sum)
+        .tag("callback", callbackAddress)
+        .tag("reason", "limit")
+        .register(meterRegistry);
+    return state;
+  }
+
+  /** The state of a circuit. */
+  enum Circuit {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+  }
+
+  /** The limit and circuit of one callback address. */
+  private final class CallbackState {
+
+    private final String callbackAddress;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder rejectedOpen = new LongAdder();
+    private final LongAdder rejectedLimit = new LongAdder();
+    private double limit = initialLimit;
+    private int inFlight;
+    private int consecutiveFailures;
+    private Circuit circuit = Circuit.CLOSED;
+    private long openedAt;
+
+    private CallbackState(String callbackAddress) {
+      this.callbackAddress = callbackAddress;
+    }
+
+    private void acquire(boolean sheddable) {
+      lock.lock();
+      try {
+        if (circuit == Circuit.OPEN) {
+          if (sheddable || System.currentTimeMillis() - openedAt < openDuration) {
+            rejectedOpen.increment();
+            throw new CallbackRejectedException(callbackAddress, "its circuit is open");
+          }
+          circuit = Circuit.HALF_OPEN;
+        } else if (circuit == Circuit.HALF_OPEN && (sheddable || inFlight > 0)) {
+          // Only the trial call is allowed until it completes.
+          rejectedOpen.increment();
+          throw new CallbackRejectedException(callbackAddress, "its circuit is half-open");
+        }
+        int capacity = sheddable ? Math.max(1, (int) limit / 2) : (int) limit;
+        if (inFlight >= capacity) {
+          rejectedLimit.increment();
+          throw new CallbackRejectedException(
+              callbackAddress, String.format("%d calls are in progress", inFlight));
+        }
+        inFlight += 1;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void release(boolean success, long latency) {
+      lock.lock();
+      try {
+        inFlight -= 1;
+        if (success) {
+          consecutiveFailures = 0;
+          if (circuit == Circuit.HALF_OPEN) {
+            circuit = Circuit.CLOSED;
+            LOG.info("Circuit of Test Bed callback [{}] closed", callbackAddress);
+          }
+        } else {
+          consecutiveFailures += 1;
+        }
+        if (success && latency <= latencyTarget) {
+          limit = Math.min(maxLimit, limit + 1 / limit);
+        } else {
+          limit = Math.max(minLimit, limit / 2);
+        }
+        if (!success && (circuit == Circuit.HALF_OPEN || consecutiveFailures >= failureThreshold)) {
+          circuit = Circuit.OPEN;
+          openedAt = System.currentTimeMillis();
+          LOG.warn(
+              "Circuit of Test Bed callback [{}] opened after {} consecutive failure(s)",
+              callbackAddress,
+              consecutiveFailures);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+/** Exception raised when a call to a Test Bed callback address is not made to protect it. */
+public class CallbackRejectedException extends IllegalStateException {
+
+  /**
+   * Constructor.
+   *
+   * @param callbackAddress The callback address.
+   * @param reason The reason the call was rejected.
+   */
+  public CallbackRejectedException(String callbackAddress, String reason) {
+    super(String.format("Call to Test Bed callback [%s] rejected as %s.", callbackAddress, reason));
+  }
+}
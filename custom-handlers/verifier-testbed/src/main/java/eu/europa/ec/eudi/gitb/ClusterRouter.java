@@ -0,0 +1,574 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to spread test sessions across the nodes of a cluster.
+ *
+ * <p>When "cluster.enabled" is set, the nodes listed in "cluster.nodes" (base URLs such as
+ * "http://host:7001/app", including this node's "cluster.self") share the test sessions: each
+ * session is owned by one node, chosen by consistent hashing of its ID, and requests concerning a
+ * session received by another node are forwarded to the owner through the internal "/cluster"
+ * endpoints. When a node shuts down it leaves the cluster, handing its sessions and pending
+ * notifications over to their new owners, and it rejoins once started again (taking over the
+ * sessions it owns from the other nodes).
+ *
+ * <p>A node is dropped from the cluster after "cluster.failureThreshold" consecutive failed calls,
+ * not on a single failure. Every "cluster.healthInterval" the configured nodes are probed: failed
+ * probes count as failed calls, a configured node that answers and considers itself a member is
+ * added back, and this node joins again any node that no longer lists it.
+ *
+ * <p>The internal endpoints require the shared "cluster.secret", and only the nodes listed in
+ * "cluster.nodes" may join. Sessions are handed over with their string values only, and writes to
+ * a session wait while it is being handed over, after which they are forwarded to its new owner.
+ *
+ * <p>When cluster mode is disabled every session is local.
+ */
+@Component
+public class ClusterRouter implements SmartLifecycle {
+
+  /** Header marking requests forwarded by another node, which must be handled locally. */
+  public static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+
+  /** Header carrying the cluster's shared secret. */
+  public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(ClusterRouter.class);
+
+  @Autowired private StateManager stateManager = null;
+  @Autowired private NotificationOutbox notificationOutbox = null;
+  @Autowired private HttpClient httpClient = null;
+  @Autowired private Json json = null;
+
+  @Value("${cluster.enabled:false}")
+  private boolean enabled;
+
+  @Value("${cluster.nodes:}")
+  private String nodes;
+
+  @Value("${cluster.self:}")
+  private String self;
+
+  @Value("${cluster.virtualNodes:100}")
+  private int virtualNodes;
+
+  @Value("${cluster.secret:}")
+  private String secret;
+
+  @Value("${cluster.timeout:5000}")
+  private long timeout;
+
+  @Value("${cluster.failureThreshold:3}")
+  private int failureThreshold;
+
+  @Value("${cluster.healthInterval:10000}")
+  private long healthInterval;
+
+  private final Set<String> members = ConcurrentHashMap.newKeySet();
+  private final Set<String> configured = ConcurrentHashMap.newKeySet();
+  private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+  private final ReentrantLock membershipLock = new ReentrantLock();
+  private final ReentrantLock[] sessionLocks =
+      Stream.generate(ReentrantLock::new).limit(64).toArray(ReentrantLock[]::new);
+  private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 0);
+  private volatile boolean running;
+  private ScheduledExecutorService healthChecks;
+
+  /**
+   * @return Whether cluster mode is enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return This node's base URL.
+   */
+  public String getSelf() {
+    return self;
+  }
+
+  /**
+   * @return The nodes currently in the cluster.
+   */
+  public Set<String> getMembers() {
+    return Set.copyOf(members);
+  }
+
+  /**
+   * @return The nodes currently in the cluster, other than this one.
+   */
+  public List<String> getPeers() {
+    return members.stream().filter(node -> !node.equals(self)).sorted().toList();
+  }
+
+  /**
+   * Get the node owning a session.
+   *
+   * @param sessionId The test session ID.
+   * @return The owner's base URL (this node's if cluster mode is disabled).
+   */
+  public String ownerOf(String sessionId) {
+    if (!enabled) {
+      return self;
+    }
+    String owner = ring.ownerOf(sessionId);
+    return owner == null ? self : owner;
+  }
+
+  /**
+   * Check whether a session is owned by this node.
+   *
+   * @param sessionId The test session ID.
+   * @return Whether the session is local.
+   */
+  public boolean isLocal(String sessionId) {
+    return !enabled || self.equals(ownerOf(sessionId));
+  }
+
+  /**
+   * Create a session on the node owning it.
+   *
+   * @param sessionId The test session ID.
+   * @param callbackURL The session's callback URL.
+   */
+  public void createSession(String sessionId, String callbackURL) {
+    ReentrantLock lock = sessionLock(sessionId);
+    lock.lock();
+    try {
+      while (!isLocal(sessionId)) {
+        String owner = ownerOf(sessionId);
+        ObjectNode body = json.getReader().createObjectNode().put("callbackURL", callbackURL);
+        if (call(owner, "PUT", "/cluster/sessions/" + sessionId, body) != null) {
+          LOG.info("Created session [{}] on its owner [{}]", sessionId, owner);
+          return;
+        }
+      }
+      stateManager.createSession(sessionId, callbackURL);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Destroy a session on the node owning it.
+   *
+   * @param sessionId The test session ID.
+   */
+  public void destroySession(String sessionId) {
+    ReentrantLock lock = sessionLock(sessionId);
+    lock.lock();
+    try {
+      while (!isLocal(sessionId)) {
+        if (call(ownerOf(sessionId), "DELETE", "/cluster/sessions/" + sessionId, null) != null) {
+          return;
+        }
+      }
+      stateManager.destroySession(sessionId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Forward a GET request to another node, to be handled there locally.
+   *
+   * @param node The node's base URL.
+   * @param pathAndQuery The path (relative to the base URL) and query of the request.
+   * @param wait The time (in milliseconds) the node may spend waiting before it responds (e.g. for
+   *     notifications to be delivered), added to "cluster.timeout".
+   * @return The response body, completed with null if the node could not be reached.
+   */
+  public CompletableFuture<String> forward(String node, String pathAndQuery, long wait) {
+    return httpClient
+        .sendAsync(
+            request(node, "GET", pathAndQuery, null, timeout + Math.max(wait, 0)),
+            HttpResponse.BodyHandlers.ofString())
+        .handle(
+            (response, failure) -> {
+              Throwable cause =
+                  failure instanceof CompletionException ? failure.getCause() : failure;
+              if (cause instanceof IOException e) {
+                failed(node, e);
+                return null;
+              } else if (cause != null) {
+                throw new IllegalStateException("Unable to call cluster node " + node, cause);
+              }
+              return body(node, "GET", pathAndQuery, response);
+            });
+  }
+
+  /**
+   * Check the secret provided with an internal request. The secret is compared in constant time.
+   *
+   * @param providedSecret The value of the secret header.
+   * @return Whether the request may be served.
+   */
+  public boolean isAuthorised(String providedSecret) {
+    return enabled
+        && !secret.isEmpty()
+        && providedSecret != null
+        && MessageDigest.isEqual(
+            secret.getBytes(StandardCharsets.UTF_8),
+            providedSecret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Check whether a node is listed in "cluster.nodes".
+   *
+   * @param node The node's base URL.
+   * @return The check result.
+   */
+  public boolean isConfigured(String node) {
+    return configured.contains(node);
+  }
+
+  /**
+   * Add a node to the cluster.
+   *
+   * @param node The node's base URL.
+   * @throws IllegalArgumentException If the node is not listed in "cluster.nodes".
+   */
+  public void join(String node) {
+    if (!isConfigured(node)) {
+      throw new IllegalArgumentException(
+          String.format("Node [%s] is not listed in cluster.nodes", node));
+    }
+    failures.remove(node);
+    updateMembers(() -> members.add(node));
+    LOG.info("Node [{}] joined the cluster", node);
+    // Move the sessions that the new node now owns.
+    int moved = 0;
+    for (String sessionId : List.copyOf(stateManager.getAllSessions().keySet())) {
+      if (!isLocal(sessionId) && handOffSession(sessionId)) {
+        moved += 1;
+      }
+    }
+    if (moved > 0) {
+      LOG.info("Handed off {} session(s) after node [{}] joined", moved, node);
+    }
+  }
+
+  /**
+   * Remove a node from the cluster.
+   *
+   * @param node The node's base URL.
+   */
+  public void leave(String node) {
+    failures.remove(node);
+    updateMembers(() -> members.remove(node));
+    LOG.info("Node [{}] left the cluster", node);
+  }
+
+  /**
+   * Probe the configured nodes: count failed probes, add back the nodes that answer as members, and
+   * join again the nodes that no longer list this node.
+   */
+  void checkHealth() {
+    if (!members.contains(self)) {
+      return;
+    }
+    ObjectNode body = json.getReader().createObjectNode().put("node", self);
+    for (String node : configured) {
+      if (node.equals(self)) {
+        continue;
+      }
+      String response = call(node, "GET", "/cluster/members", null);
+      if (response == null) {
+        continue;
+      }
+      Set<String> peerMembers;
+      try {
+        peerMembers =
+            Set.copyOf(Arrays.asList(json.getReader().readValue(response, String[].class)));
+      } catch (JsonProcessingException e) {
+        LOG.warn("Unexpected members list from cluster node [{}]: {}", node, e.getMessage());
+        continue;
+      }
+      if (!peerMembers.contains(node)) {
+        // The node is leaving (or has not joined yet).
+        continue;
+      }
+      if (!members.contains(node)) {
+        LOG.info("Cluster node [{}] is reachable again", node);
+        join(node);
+      }
+      if (!peerMembers.contains(self)) {
+        LOG.info("Joining cluster node [{}] again", node);
+        call(node, "POST", "/cluster/join", body);
+      }
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    if (!enabled) {
+      return;
+    }
+    if (self.isBlank()) {
+      throw new IllegalStateException("cluster.self must be set when cluster.enabled is set");
+    }
+    if (secret.isBlank()) {
+      throw new IllegalStateException("cluster.secret must be set when cluster.enabled is set");
+    }
+    Arrays.stream(nodes.split(","))
+        .map(String::trim)
+        .filter(node -> !node.isEmpty())
+        .forEach(configured::add);
+    configured.add(self);
+    updateMembers(() -> members.addAll(configured));
+    ObjectNode body = json.getReader().createObjectNode().put("node", self);
+    for (String peer : getPeers()) {
+      // Peers that keep failing are dropped, and are added back by the health checks.
+      call(peer, "POST", "/cluster/join", body);
+    }
+    LOG.info("Joined cluster with members {}", getMembers());
+    if (healthInterval > 0) {
+      healthChecks =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "cluster-health");
+                thread.setDaemon(true);
+                return thread;
+              });
+      healthChecks.scheduleWithFixedDelay(
+          () -> {
+            try {
+              checkHealth();
+            } catch (RuntimeException e) {
+              LOG.warn("Cluster health check failed", e);
+            }
+          },
+          healthInterval,
+          healthInterval,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (healthChecks != null) {
+      healthChecks.shutdownNow();
+    }
+    if (!enabled || !members.contains(self)) {
+      return;
+    }
+    ObjectNode body = json.getReader().createObjectNode().put("node", self);
+    for (String peer : getPeers()) {
+      call(peer, "POST", "/cluster/leave", body);
+    }
+    List<String> sessions = List.copyOf(stateManager.getAllSessions().keySet());
+    leave(self);
+    if (getMembers().isEmpty()) {
+      return;
+    }
+    int sessionCount = 0;
+    for (String sessionId : sessions) {
+      if (handOffSession(sessionId)) {
+        sessionCount += 1;
+      }
+    }
+    int notificationCount =
+        notificationOutbox.handOff(
+            (notification, reportXml) -> {
+              ObjectNode notificationBody =
+                  json.getReader()
+                      .createObjectNode()
+                      .put("sessionId", notification.sessionId())
+                      .put("callId", notification.callId())
+                      .put("callback", notification.callback())
+                      .put("report", reportXml);
+              String owner = ownerOf(notification.sessionId());
+              return call(owner, "POST", "/cluster/notifications", notificationBody) != null;
+            });
+    LOG.info(
+        "Handed off {} session(s) and {} pending notification(s)", sessionCount, notificationCount);
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Send a session's state to its new owner. Writes to the session through this router wait until
+   * the hand-off completes, and are then forwarded to the new owner.
+   *
+   * <p>Only string values (such as the callback URL) are handed over, as other values would not
+   * keep their type through JSON. Other values are dropped with a warning.
+   */
+  private boolean handOffSession(String sessionId) {
+    ReentrantLock lock = sessionLock(sessionId);
+    lock.lock();
+    try {
+      Map<String, Object> session = stateManager.getAllSessions().get(sessionId);
+      if (session == null || isLocal(sessionId)) {
+        return false;
+      }
+      ObjectNode body = json.getReader().createObjectNode();
+      ObjectNode values = body.putObject("values");
+      List<String> dropped = new ArrayList<>();
+      for (String key : List.copyOf(session.keySet())) {
+        Object value = stateManager.getSessionInfo(sessionId, key);
+        if (!(value instanceof String text)) {
+          dropped.add(key);
+        } else if (StateManager.SessionData.CALLBACK_URL.equals(key)) {
+          body.put("callbackURL", text);
+        } else {
+          values.put(key, text);
+        }
+      }
+      String owner = ownerOf(sessionId);
+      if (call(owner, "PUT", "/cluster/sessions/" + sessionId, body) == null) {
+        LOG.warn("Unable to hand off session [{}] to [{}]", sessionId, owner);
+        return false;
+      }
+      if (!dropped.isEmpty()) {
+        LOG.warn(
+            "Values {} of session [{}] are not strings and were not handed off",
+            dropped,
+            sessionId);
+      }
+      stateManager.destroySession(sessionId);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private ReentrantLock sessionLock(String sessionId) {
+    return sessionLocks[Math.floorMod(sessionId.hashCode(), sessionLocks.length)];
+  }
+
+  private void updateMembers(Runnable update) {
+    membershipLock.lock();
+    try {
+      update.run();
+      ring = new ConsistentHashRing(members, virtualNodes);
+    } finally {
+      membershipLock.unlock();
+    }
+  }
+
+  /**
+   * Make an internal call to another node.
+   *
+   * @return The response body, or null if the node could not be reached (in which case it is
+   *     removed from the cluster after "cluster.failureThreshold" consecutive failures).
+   */
+  private String call(String node, String method, String path, ObjectNode body) {
+    HttpResponse<String> response;
+    try {
+      response =
+          httpClient.send(
+              request(node, method, path, body, timeout), HttpResponse.BodyHandlers.ofString());
+    } catch (IOException e) {
+      failed(node, e);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while calling cluster node " + node, e);
+    }
+    return body(node, method, path, response);
+  }
+
+  private HttpRequest request(
+      String node, String method, String path, ObjectNode body, long requestTimeout) {
+    try {
+      return HttpRequest.newBuilder(URI.create(node + path))
+          .timeout(Duration.ofMillis(requestTimeout))
+          .header(FORWARDED_HEADER, self)
+          .header(SECRET_HEADER, secret)
+          .header("Content-Type", "application/json")
+          .method(
+              method,
+              body == null
+                  ? HttpRequest.BodyPublishers.noBody()
+                  : HttpRequest.BodyPublishers.ofString(json.getReader().writeValueAsString(body)))
+          .build();
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Check the response of a node that could be reached. */
+  private String body(String node, String method, String path, HttpResponse<String> response) {
+    failures.remove(node);
+    if (response.statusCode() / 100 != 2) {
+      throw new IllegalStateException(
+          String.format(
+              "Cluster node [%s] answered %s %s with status %d",
+              node, method, path, response.statusCode()));
+    }
+    return response.body();
+  }
+
+  /** Count a failed call, and remove the node once it failed too many times in a row. */
+  private void failed(String node, IOException e) {
+    int count = failures.merge(node, 1, Integer::sum);
+    if (!members.contains(node)) {
+      LOG.debug("Cluster node [{}] is unreachable: {}", node, e.getMessage());
+    } else if (count >= failureThreshold) {
+      LOG.warn(
+          "Cluster node [{}] failed {} consecutive calls, removing it: {}",
+          node,
+          count,
+          e.getMessage());
+      leave(node);
+    } else {
+      LOG.warn(
+          "Call to cluster node [{}] failed ({} of {}): {}",
+          node,
+          count,
+          failureThreshold,
+          e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring assigning keys (test session IDs) to cluster nodes.
+ *
+ * <p>Each node is placed on the ring at several points ("virtual nodes") so that keys are spread
+ * evenly, and removing a node only moves the keys it owned.
+ */
+final class ConsistentHashRing {
+
+  private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param nodes The nodes on the ring.
+   * @param virtualNodes The number of points per node.
+   */
+  ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+    for (String node : nodes) {
+      for (int i = 0; i < virtualNodes; i++) {
+        ring.put(hash(node + "#" + i), node);
+      }
+    }
+  }
+
+  /**
+   * Get the node owning the given key.
+   *
+   * @param key The key.
+   * @return The owner (null if the ring is empty).
+   */
+  String ownerOf(String key) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+    return (entry == null ? ring.firstEntry() : entry).getValue();
+  }
+
+  private static long hash(String value) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      return ByteBuffer.wrap(digest).getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
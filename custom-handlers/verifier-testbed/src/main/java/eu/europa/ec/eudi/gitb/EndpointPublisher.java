@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.cxf.jaxws.EndpointImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Component used to publish the SOAP endpoints defined in {@link ServiceConfig}.
+ *
+ * <p>Publishing an endpoint builds its service model from the GITB types, which accounts for a
+ * large part of the application's startup time. The endpoints are therefore lazy beans, published
+ * by this component either once the application's beans are created (the default) or, when
+ * "endpoints.lazy" is set, upon the first request received for any of the SOAP services.
+ */
+@Component
+public class EndpointPublisher extends OncePerRequestFilter implements SmartInitializingSingleton {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(EndpointPublisher.class);
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  @Autowired private ObjectProvider<EndpointImpl> endpoints = null;
+
+  @Value("${endpoints.lazy:false}")
+  private boolean lazy;
+
+  @Value("${cxf.path:/services}")
+  private String cxfPath;
+
+  private volatile boolean published;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (!lazy) {
+      publish();
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return published || !request.getServletPath().startsWith(cxfPath);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    publish();
+    filterChain.doFilter(request, response);
+  }
+
+  /** Publish the endpoints, unless they are already published. */
+  public void publish() {
+    if (published) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (!published) {
+        long start = System.nanoTime();
+        long count = endpoints.stream().count();
+        published = true;
+        LOG.info(
+            "Published {} endpoint(s) in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
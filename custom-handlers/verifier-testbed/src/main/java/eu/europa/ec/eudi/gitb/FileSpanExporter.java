@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Span exporter writing finished spans to a local file, one JSON object per line.
+ *
+ * <p>This allows a session's trace to be inspected without running a tracing backend. The exporter
+ * only writes spans when the "tracing.file.path" property is set, and is used alongside the OTLP
+ * exporter if that is also configured. It is always registered and checks the property when
+ * exporting, so that the property can be set at runtime in applications processed ahead-of-time.
+ */
+@Component
+public class FileSpanExporter implements SpanExporter {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(FileSpanExporter.class);
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  @Autowired private Json json = null;
+
+  @Value("${tracing.file.path:}")
+  private String path = null;
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    if (path == null || path.isBlank()) {
+      return CompletableResultCode.ofSuccess();
+    }
+    // A lock rather than synchronisation so that virtual threads are not pinned while writing.
+    lock.lock();
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(
+            Path.of(path),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND)) {
+      for (SpanData span : spans) {
+        writer.write(toJson(span));
+        writer.newLine();
+      }
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      LOG.warn("Unable to write {} span(s) to [{}]", spans.size(), path, e);
+      return CompletableResultCode.ofFailure();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  private String toJson(SpanData span) throws JsonProcessingException {
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("traceId", span.getTraceId());
+    line.put("spanId", span.getSpanId());
+    line.put("parentSpanId", span.getParentSpanId());
+    line.put("name", span.getName());
+    line.put("kind", span.getKind().name());
+    line.put("startEpochNanos", span.getStartEpochNanos());
+    line.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000);
+    line.put("status", span.getStatus().getStatusCode().name());
+    line.put("attributes", attributes);
+    return json.getReader().writeValueAsString(line);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Configuration class for the HTTP client used to make outgoing calls (looking up inputs provided
+ * as URIs, polling and reading event feeds).
+ */
+@Configuration
+public class HttpClientConfig {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(HttpClientConfig.class);
+
+  /**
+   * The HTTP client shared by all outgoing calls, so that connections are reused across calls.
+   * Like the per-call clients it replaces, it does not follow redirects.
+   *
+   * <p>When virtual threads are enabled the client's own work, such as reading response bodies, is
+   * also done on virtual threads. As Spring Boot does, the setting is ignored before Java 21.
+   *
+   * @param virtualThreads Whether virtual threads are enabled.
+   * @return The client.
+   */
+  @Bean
+  public HttpClient httpClient(
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    var builder = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10));
+    if (virtualThreads) {
+      if (Runtime.version().feature() >= 21) {
+        builder.executor(new VirtualThreadTaskExecutor("http-client-"));
+      } else {
+        LOG.warn(
+            "Virtual threads require Java 21 or later (running {}): outgoing HTTP calls use"
+                + " platform threads",
+            Runtime.version());
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to poll an HTTP resource until a condition on its response is met.
+ *
+ * <p>Polling takes place within the handler so that a test case needs a single 'send' step instead
+ * of a loop of HTTP calls and delays driven by the test bed. The delay between attempts grows
+ * exponentially while the response stays the same and is reset as soon as the response changes.
+ * Each delay is jittered so that concurrent sessions do not poll in lockstep.
+ */
+@Component
+public class HttpPoller {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(HttpPoller.class);
+
+  /** The smallest delay between attempts (and timeout of an attempt). */
+  private static final long MIN_DELAY_MILLIS = 1;
+
+  private static final Duration MIN_TIMEOUT = Duration.ofMillis(MIN_DELAY_MILLIS);
+
+  /** Client shared with other outgoing calls so that connections are reused between attempts. */
+  @Autowired private HttpClient httpClient = null;
+
+  @Autowired private Json json = null;
+  @Autowired private SessionTracing sessionTracing = null;
+
+  /**
+   * Poll the given resource until its response satisfies the provided condition or the deadline
+   * expires.
+   *
+   * @param request The poll's configuration.
+   * @return The outcome of the poll, including the last response received.
+   */
+  public PollResult poll(PollRequest request) {
+    // Resolved up front so that an invalid expression is reported before any attempt is made.
+    String pointer = request.expression() == null ? null : toJsonPointer(request.expression());
+    long start = System.nanoTime();
+    long deadline = start + request.timeout().toNanos();
+    long delay = initialDelay(request);
+    int attempts = 0;
+    String previousBody = null;
+    HttpResponse<String> response = null;
+    while (true) {
+      attempts += 1;
+      try {
+        response = send(request, remaining(deadline));
+        if (isSatisfied(request, pointer, response)) {
+          LOG.info("Poll of [{}] succeeded after {} attempt(s)", request.uri(), attempts);
+          return new PollResult(true, response, attempts, elapsed(start));
+        }
+        if (!Objects.equals(previousBody, response.body())) {
+          // Progress was observed so check again soon.
+          delay = initialDelay(request);
+        } else {
+          delay = backoff(request, delay);
+        }
+        previousBody = response.body();
+      } catch (IOException e) {
+        LOG.warn("Poll attempt {} of [{}] failed: {}", attempts, request.uri(), e.getMessage());
+        // The previous response is stale: do not report it as the last one received.
+        response = null;
+        previousBody = null;
+        delay = backoff(request, delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while polling " + request.uri(), e);
+      }
+      long remaining = remaining(deadline).toMillis();
+      if (remaining <= 0) {
+        LOG.info("Poll of [{}] timed out after {} attempt(s)", request.uri(), attempts);
+        return new PollResult(false, response, attempts, elapsed(start));
+      }
+      // Equal jitter: wait between half and the full computed delay.
+      long half = Math.max(delay / 2, 1);
+      long sleep = Math.min(half + ThreadLocalRandom.current().nextLong(half + 1), remaining);
+      try {
+        Thread.sleep(sleep);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while polling " + request.uri(), e);
+      }
+    }
+  }
+
+  /**
+   * The delay to start from, at least one millisecond so that the exponential backoff grows even
+   * when no initial delay is configured.
+   */
+  private static long initialDelay(PollRequest request) {
+    return Math.max(request.initialDelay().toMillis(), MIN_DELAY_MILLIS);
+  }
+
+  /** The delay following the given one, doubled up to the maximum (and never below 1ms). */
+  private static long backoff(PollRequest request, long delay) {
+    return Math.max(Math.min(delay * 2, request.maxDelay().toMillis()), MIN_DELAY_MILLIS);
+  }
+
+  private static Duration remaining(long deadline) {
+    return Duration.ofNanos(deadline - System.nanoTime());
+  }
+
+  /**
+   * Send one attempt. Its timeout is capped to the time left before the poll's deadline so that a
+   * hanging attempt cannot extend the poll beyond its configured timeout.
+   */
+  private HttpResponse<String> send(PollRequest request, Duration remaining)
+      throws IOException, InterruptedException {
+    Duration timeout = request.maxDelay().plusSeconds(10);
+    if (remaining.compareTo(timeout) < 0) {
+      timeout = remaining.compareTo(MIN_TIMEOUT) < 0 ? MIN_TIMEOUT : remaining;
+    }
+    var builder = HttpRequest.newBuilder().uri(request.uri()).timeout(timeout).GET();
+    request.headers().forEach(builder::header);
+    try {
+      return sessionTracing.observeRequest(
+          "http.poll.attempt",
+          builder,
+          () -> {
+            try {
+              return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IllegalStateException("Interrupted while polling " + request.uri(), e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Check whether the received response satisfies the poll's condition.
+   *
+   * <p>When neither an expected status nor an expression is set any 2xx response is accepted.
+   */
+  private boolean isSatisfied(PollRequest request, String pointer, HttpResponse<String> response) {
+    if (request.expectedStatus() != null) {
+      if (response.statusCode() != request.expectedStatus()) {
+        return false;
+      }
+    } else if (response.statusCode() / 100 != 2) {
+      return false;
+    }
+    if (pointer == null) {
+      return true;
+    }
+    JsonNode node;
+    try {
+      node = json.getReader().readTree(response.body()).at(pointer);
+    } catch (JsonProcessingException e) {
+      return false;
+    }
+    if (node.isMissingNode() || node.isNull()) {
+      return false;
+    } else if (request.expectedValue() != null) {
+      return request.expectedValue().equals(node.asText());
+    } else {
+      return !(node.isBoolean() && !node.booleanValue()) && !node.asText().isEmpty();
+    }
+  }
+
+  /**
+   * Convert a simple JSONPath expression (e.g. "$.logs[0].level" or "$['a.b'][0]") to a JSON
+   * pointer, escaping '~' and '/' in member names as per RFC 6901. Expressions that are already
+   * JSON pointers (i.e. start with '/') are returned as-is.
+   *
+   * @throws IllegalArgumentException If the expression is not a supported JSONPath.
+   */
+  static String toJsonPointer(String expression) {
+    if (expression.startsWith("/") || expression.isEmpty()) {
+      return expression;
+    }
+    var pointer = new StringBuilder();
+    int i = expression.startsWith("$") ? 1 : 0;
+    boolean first = true;
+    while (i < expression.length()) {
+      char c = expression.charAt(i);
+      String token;
+      if (c == '[') {
+        int end;
+        if (i + 1 < expression.length()
+            && (expression.charAt(i + 1) == '\'' || expression.charAt(i + 1) == '"')) {
+          char quote = expression.charAt(i + 1);
+          end = expression.indexOf(quote, i + 2);
+          if (end < 0 || end + 1 >= expression.length() || expression.charAt(end + 1) != ']') {
+            throw new IllegalArgumentException("Unterminated member name in " + expression);
+          }
+          token = expression.substring(i + 2, end);
+          end += 1;
+        } else {
+          end = expression.indexOf(']', i);
+          if (end < 0) {
+            throw new IllegalArgumentException("Unterminated index in " + expression);
+          }
+          token = expression.substring(i + 1, end);
+        }
+        i = end + 1;
+      } else {
+        if (c == '.') {
+          i += 1;
+        } else if (!first) {
+          throw new IllegalArgumentException("Unexpected '" + c + "' in " + expression);
+        }
+        int end = i;
+        while (end < expression.length()
+            && expression.charAt(end) != '.'
+            && expression.charAt(end) != '[') {
+          end += 1;
+        }
+        token = expression.substring(i, end);
+        i = end;
+      }
+      pointer.append('/').append(token.replace("~", "~0").replace("/", "~1"));
+      first = false;
+    }
+    return pointer.toString();
+  }
+
+  private static long elapsed(long start) {
+    return Duration.ofNanos(System.nanoTime() - start).toMillis();
+  }
+
+  /**
+   * The configuration of a poll.
+   *
+   * @param uri The URI to poll.
+   * @param headers The HTTP headers to send with each attempt.
+   * @param expression A JSONPath or JSON pointer to evaluate on the response body (optional).
+   * @param expectedValue The value the expression must resolve to (optional, any truthy value
+   *     otherwise).
+   * @param expectedStatus The HTTP status the response must have (optional, any 2xx otherwise).
+   * @param timeout The overall time allowed for the poll.
+   * @param initialDelay The delay before the second attempt and after each observed change.
+   * @param maxDelay The upper bound for the delay between attempts.
+   */
+  public record PollRequest(
+      URI uri,
+      Map<String, String> headers,
+      String expression,
+      String expectedValue,
+      Integer expectedStatus,
+      Duration timeout,
+      Duration initialDelay,
+      Duration maxDelay) {}
+
+  /**
+   * The outcome of a poll.
+   *
+   * @param satisfied Whether the condition was met before the deadline.
+   * @param lastResponse The last response received (null if no attempt succeeded).
+   * @param attempts The number of attempts made.
+   * @param elapsedMillis The total time spent polling.
+   */
+  public record PollResult(
+      boolean satisfied, HttpResponse<String> lastResponse, int attempts, long elapsedMillis) {}
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+/** Exception raised when an input exceeds the maximum size allowed for inputs. */
+public class InputTooLargeException extends IllegalArgumentException {
+
+  /**
+   * Constructor.
+   *
+   * @param inputName The name of the input.
+   * @param maxSize The maximum size of inputs.
+   */
+  public InputTooLargeException(String inputName, long maxSize) {
+    super(
+        String.format(
+            "Input [%s] exceeds the maximum allowed size of %d bytes.", inputName, maxSize));
+  }
+}
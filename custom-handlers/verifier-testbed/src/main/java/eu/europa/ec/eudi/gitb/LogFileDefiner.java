@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import ch.qos.logback.core.PropertyDefinerBase;
+
+/**
+ * Logback property definer used by logback-spring.xml to write logs to a file only when one is
+ * configured ("logging.file.name" or "logging.file.path"), as Spring Boot's default configuration
+ * does.
+ *
+ * <p>Spring Boot exposes the configured file as the "LOG_FILE" system property before configuring
+ * Logback. The defined value ("file" or "none") selects the resource (logback-file.xml or
+ * logback-none.xml) included by the configuration.
+ */
+public class LogFileDefiner extends PropertyDefinerBase {
+
+  /** The property holding the log file set by Spring Boot. */
+  static final String LOG_FILE = "LOG_FILE";
+
+  @Override
+  public String getPropertyValue() {
+    var logFile = getContext() != null ? getContext().getProperty(LOG_FILE) : null;
+    if (logFile == null) {
+      logFile = System.getProperty(LOG_FILE);
+    }
+    return logFile == null || logFile.isBlank() ? "none" : "file";
+  }
+}
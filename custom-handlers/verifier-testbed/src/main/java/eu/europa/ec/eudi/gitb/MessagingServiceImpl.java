@@ -23,6 +23,12 @@ import com.gitb.tr.TAR;
 import com.gitb.tr.TestResultType;
 import jakarta.annotation.Resource;
 import jakarta.xml.ws.WebServiceContext;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,8 +41,14 @@ public class MessagingServiceImpl implements MessagingService {
   /** Logger. */
   private static final Logger LOG = LoggerFactory.getLogger(MessagingServiceImpl.class);
 
-  @Autowired private StateManager stateManager = null;
+  /** The 'send' operation used to poll a URI until a condition is met. */
+  private static final String OPERATION_POLL = "poll";
+
   @Autowired private Utils utils = null;
+  @Autowired private HttpPoller httpPoller = null;
+  @Autowired private SessionTracing sessionTracing = null;
+  @Autowired private SessionDiagnostics sessionDiagnostics = null;
+  @Autowired private ClusterRouter clusterRouter = null;
   @Resource private WebServiceContext wsContext = null;
 
   /**
@@ -71,14 +83,22 @@ public class MessagingServiceImpl implements MessagingService {
    */
   @Override
   public InitiateResponse initiate(InitiateRequest parameters) {
-    InitiateResponse response = new InitiateResponse();
-    // Get the ReplyTo address for the test bed callbacks based on WS-Addressing.
-    String replyToAddress = utils.getReplyToAddressFromHeaders(wsContext).orElseThrow();
     // Get the test session ID to use for tracking session state.
     String sessionId = utils.getTestSessionIdFromHeaders(wsContext).orElseThrow();
-    stateManager.createSession(sessionId, replyToAddress);
-    LOG.info("Initiated a new session [{}] with callback address [{}]", sessionId, replyToAddress);
-    return response;
+    return sessionTracing.observe(
+        sessionId,
+        "gitb.messaging.initiate",
+        () -> {
+          InitiateResponse response = new InitiateResponse();
+          // Get the ReplyTo address for the test bed callbacks based on WS-Addressing.
+          String replyToAddress = utils.getReplyToAddressFromHeaders(wsContext).orElseThrow();
+          clusterRouter.createSession(sessionId, replyToAddress);
+          LOG.info(
+              "Initiated a new session [{}] with callback address [{}]",
+              sessionId,
+              replyToAddress);
+          return response;
+        });
   }
 
   /**
@@ -120,19 +140,36 @@ public class MessagingServiceImpl implements MessagingService {
    * whether or not the communication was successful. This report could however include additional
    * information that would be reported back to the test bed.
    *
+   * <p>When the "operation" input is set to "poll", the service polls the provided "uri" until its
+   * response satisfies the given condition or the "timeout" expires (see {@link HttpPoller}). This
+   * replaces test case loops of HTTP calls and delays with a single step.
+   *
    * @param parameters The input parameters and configuration to consider for the send operation.
    * @return A status report for the call that will be returned to the test bed.
    */
   @Override
   public SendResponse send(SendRequest parameters) {
+    return sessionTracing.observe(
+        parameters.getSessionId(), "gitb.messaging.send", () -> doSend(parameters));
+  }
+
+  private SendResponse doSend(SendRequest parameters) {
     LOG.info("Received 'send' command from test bed for session [{}]", parameters.getSessionId());
-    TAR report = utils.createReport(TestResultType.SUCCESS);
-    AnyContent responseData = new AnyContent();
-    responseData.setName("response");
-    responseData
-        .getItem()
-        .add(utils.createAnyContentSimple("payload", "simple", ValueEmbeddingEnumeration.BASE_64));
-    report.getContext().getItem().add(responseData);
+    String operation = utils.getOptionalString(parameters.getInput(), "operation").orElse("");
+    TAR report;
+    if (OPERATION_POLL.equals(operation)) {
+      report = poll(parameters);
+    } else {
+      report = utils.createReport(TestResultType.SUCCESS);
+      AnyContent responseData = new AnyContent();
+      responseData.setName("response");
+      responseData
+          .getItem()
+          .add(
+              utils.createAnyContentSimple(
+                  "payload", "simple", ValueEmbeddingEnumeration.BASE_64));
+      report.getContext().getItem().add(responseData);
+    }
 
     // Return report.
     SendResponse response = new SendResponse();
@@ -140,6 +177,83 @@ public class MessagingServiceImpl implements MessagingService {
     return response;
   }
 
+  /**
+   * Poll a URI until a condition on its response is met.
+   *
+   * <p>The returned report's "response" map mirrors the output of the HttpMessagingV2 handler
+   * ("status" and "body") so that test cases can use either interchangeably. It also includes the
+   * number of "attempts" made and the "elapsed" time in milliseconds.
+   *
+   * @param parameters The send request's parameters.
+   * @return The report (SUCCESS if the condition was met before the timeout, FAILURE otherwise).
+   */
+  private TAR poll(SendRequest parameters) {
+    var inputs = parameters.getInput();
+    URI uri;
+    try {
+      uri = new URI(utils.getRequiredString(inputs, "uri"));
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("The provided 'uri' input was not a valid URI.", e);
+    }
+    Map<String, String> headers = new LinkedHashMap<>();
+    utils
+        .getSingleOptionalInputForName(inputs, "headers")
+        .ifPresent(map -> map.getItem().forEach(h -> headers.put(h.getName(), utils.asString(h))));
+    var request =
+        new HttpPoller.PollRequest(
+            uri,
+            headers,
+            utils.getOptionalString(inputs, "expression").orElse(null),
+            utils.getOptionalString(inputs, "expectedValue").orElse(null),
+            utils.getOptionalString(inputs, "expectedStatus").map(Integer::valueOf).orElse(null),
+            millisInput(inputs, "timeout", 60000),
+            millisInput(inputs, "initialDelay", 500),
+            millisInput(inputs, "maxDelay", 10000));
+    LOG.info("Polling [{}] for session [{}]", uri, parameters.getSessionId());
+    var result = httpPoller.poll(request);
+
+    TAR report =
+        utils.createReport(result.satisfied() ? TestResultType.SUCCESS : TestResultType.FAILURE);
+    AnyContent responseData = new AnyContent();
+    responseData.setName("response");
+    responseData.setType("map");
+    if (result.lastResponse() != null) {
+      responseData
+          .getItem()
+          .add(
+              utils.createAnyContentSimple(
+                  "status",
+                  String.valueOf(result.lastResponse().statusCode()),
+                  ValueEmbeddingEnumeration.STRING));
+      responseData
+          .getItem()
+          .add(
+              utils.createAnyContentSimple(
+                  "body", result.lastResponse().body(), ValueEmbeddingEnumeration.STRING));
+    }
+    report.getContext().getItem().add(responseData);
+    report
+        .getContext()
+        .getItem()
+        .add(
+            utils.createAnyContentSimple(
+                "attempts", String.valueOf(result.attempts()), ValueEmbeddingEnumeration.STRING));
+    report
+        .getContext()
+        .getItem()
+        .add(
+            utils.createAnyContentSimple(
+                "elapsed",
+                String.valueOf(result.elapsedMillis()),
+                ValueEmbeddingEnumeration.STRING));
+    return report;
+  }
+
+  private Duration millisInput(List<AnyContent> inputs, String name, long defaultMillis) {
+    return Duration.ofMillis(
+        utils.getOptionalString(inputs, name).map(Long::parseLong).orElse(defaultMillis));
+  }
+
   /**
    * The beginTransaction operation is called by the test bed with a transaction starts.
    *
@@ -180,9 +294,15 @@ public class MessagingServiceImpl implements MessagingService {
    */
   @Override
   public Void finalize(FinalizeRequest parameters) {
-    LOG.info("Finalising session [{}]", parameters.getSessionId());
-    // Cleanup in-memory state for the completed session.
-    stateManager.destroySession(parameters.getSessionId());
-    return new Void();
+    return sessionTracing.observe(
+        parameters.getSessionId(),
+        "gitb.messaging.finalize",
+        () -> {
+          LOG.info("Finalising session [{}]", parameters.getSessionId());
+          // Cleanup in-memory state for the completed session.
+          clusterRouter.destroySession(parameters.getSessionId());
+          sessionDiagnostics.disable(parameters.getSessionId());
+          return new Void();
+        });
   }
 }
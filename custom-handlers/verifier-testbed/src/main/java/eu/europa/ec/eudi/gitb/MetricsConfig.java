@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class responsible for publishing the service's own metrics.
+ *
+ * <p>Besides these, the SOAP endpoints and the Test Bed callback client are timed by CXF
+ * ("cxf.server.requests" and "cxf.client.requests").
+ */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * The metrics of active test sessions and the memory they hold.
+   *
+   * @return The binder.
+   */
+  @Bean
+  public MeterBinder sessionMetrics(StateManager stateManager) {
+    return registry -> {
+      Gauge.builder("testbed.sessions.active", stateManager, StateManager::getSessionCount)
+          .description("The number of active test sessions")
+          .register(registry);
+      Gauge.builder("testbed.sessions.memory", stateManager, StateManager::getTotalBytes)
+          .description("The estimated bytes held in memory for active test sessions")
+          .baseUnit("bytes")
+          .register(registry);
+      FunctionCounter.builder(
+              "testbed.sessions.offloaded", stateManager, StateManager::getSpilledValues)
+          .tag("action", "spilled")
+          .register(registry);
+      FunctionCounter.builder(
+              "testbed.sessions.offloaded", stateManager, StateManager::getEvictedValues)
+          .tag("action", "evicted")
+          .register(registry);
+    };
+  }
+
+  /**
+   * The metrics of the notification outbox.
+   *
+   * @return The binder.
+   */
+  @Bean
+  public MeterBinder outboxMetrics(NotificationOutbox outbox) {
+    return registry -> {
+      Gauge.builder("testbed.outbox.pending", outbox, NotificationOutbox::getPending)
+          .description("The notifications waiting to be delivered to the Test Bed")
+          .register(registry);
+      FunctionCounter.builder(
+              "testbed.outbox.notifications", outbox, NotificationOutbox::getDelivered)
+          .tag("outcome", "delivered")
+          .register(registry);
+      FunctionCounter.builder(
+              "testbed.outbox.notifications", outbox, NotificationOutbox::getRetried)
+          .tag("outcome", "retried")
+          .register(registry);
+      FunctionCounter.builder(
+              "testbed.outbox.notifications", outbox, NotificationOutbox::getAbandoned)
+          .tag("outcome", "abandoned")
+          .register(registry);
+    };
+  }
+
+  /**
+   * The metrics of the log messages sent to the Test Bed.
+   *
+   * @return The binder.
+   */
+  @Bean
+  public MeterBinder logMessageMetrics(TestBedNotifier notifier) {
+    return registry -> {
+      Gauge.builder("testbed.log.queued", notifier, TestBedNotifier::getLogsQueued)
+          .description("The log messages waiting to be sent to the Test Bed")
+          .register(registry);
+      FunctionCounter.builder("testbed.log.dropped", notifier, TestBedNotifier::getLogsDroppedRate)
+          .tag("reason", "rate")
+          .register(registry);
+      FunctionCounter.builder("testbed.log.dropped", notifier, TestBedNotifier::getLogsDroppedQueue)
+          .tag("reason", "queue")
+          .register(registry);
+      FunctionCounter.builder(
+              "testbed.log.dropped", notifier, TestBedNotifier::getLogsDroppedCallback)
+          .tag("reason", "callback")
+          .register(registry);
+    };
+  }
+
+  /**
+   * The metrics of the validation report cache.
+   *
+   * @return The binder.
+   */
+  @Bean
+  public MeterBinder validationCacheMetrics(ValidationResultCache cache) {
+    return registry -> {
+      FunctionCounter.builder("validation.cache.requests", cache, ValidationResultCache::getHits)
+          .tag("result", "hit")
+          .register(registry);
+      FunctionCounter.builder("validation.cache.requests", cache, ValidationResultCache::getMisses)
+          .tag("result", "miss")
+          .register(registry);
+      Gauge.builder("validation.cache.size", cache, ValidationResultCache::getSize)
+          .register(registry);
+    };
+  }
+
+  /**
+   * The metrics of validation admission control, per validator.
+   *
+   * @return The binder.
+   */
+  @Bean
+  public MeterBinder validationAdmissionMetrics(ValidationAdmission admission) {
+    return registry -> {
+      for (String validator : List.of("text", "issuer", "verifier")) {
+        ValidationAdmission.Limiter limiter = admission.getLimiter(validator);
+        Gauge.builder("validation.in.progress", limiter, ValidationAdmission.Limiter::getInProgress)
+            .tag("validator", validator)
+            .description("The number of validations in progress")
+            .register(registry);
+        FunctionCounter.builder(
+                "validation.rejected", limiter, ValidationAdmission.Limiter::getOverloaded)
+            .tag("validator", validator)
+            .tag("reason", "overloaded")
+            .register(registry);
+        FunctionCounter.builder(
+                "validation.rejected", limiter, ValidationAdmission.Limiter::getTooLarge)
+            .tag("validator", validator)
+            .tag("reason", "too_large")
+            .register(registry);
+      }
+    };
+  }
+
+  /**
+   * The metrics of the cross-session performance statistics.
+   *
+   * @return The binder.
+   */
+  @Bean
+  public MeterBinder performanceStatsMetrics(PerformanceStats stats) {
+    return registry -> {
+      Gauge.builder("stats.series", stats, PerformanceStats::getSeriesCount)
+          .description("The number of series of performance statistics")
+          .register(registry);
+      FunctionCounter.builder("stats.evicted", stats, PerformanceStats::getEvicted)
+          .description("The series evicted to make room for new series")
+          .register(registry);
+    };
+  }
+}
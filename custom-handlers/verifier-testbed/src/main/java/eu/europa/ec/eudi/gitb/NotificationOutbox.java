@@ -0,0 +1,828 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to deliver notifications to the Test Bed reliably.
+ *
+ * <p>Each notification is recorded in an append-only journal (and its report stored once per
+ * distinct content) before delivery is attempted, so that notifications survive a restart of the
+ * service. Failed deliveries are retried with exponential backoff until "outbox.maxAge" expires,
+ * after which the notification is abandoned and a FAILURE report is sent in its place (if
+ * possible). Notifications are delivered in order per Test Bed callback address and session, so a
+ * session never receives a later notification before an earlier one, while a failing session or
+ * callback does not hold up the others.
+ *
+ * <p>Journal records are forced to disk in groups ("outbox.sync"): a thread forcing the journal
+ * covers every record appended before it started, so concurrent notifications share one force
+ * rather than each waiting for its own behind the journal lock.
+ *
+ * <p>A report notified to several sessions is stored once and, while its notifications are
+ * pending, unmarshalled only once and shared by their deliveries.
+ *
+ * <p>The outbox directory is locked so that it is never shared by two instances. If it cannot be
+ * used (e.g. it is not writable or another instance holds it), a temporary directory is used in its
+ * place, from which notifications are not resumed after a restart.
+ */
+@Component
+public class NotificationOutbox {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(NotificationOutbox.class);
+
+  private static final String ENQUEUED = "enqueued";
+
+  @Autowired private Utils utils = null;
+  @Autowired private Json json = null;
+
+  @Value("${outbox.directory:${java.io.tmpdir}/verifier-testbed-outbox}")
+  private String directory;
+
+  @Value("${outbox.initialDelay:500}")
+  private long initialDelay;
+
+  @Value("${outbox.maxDelay:30000}")
+  private long maxDelay;
+
+  @Value("${outbox.maxAge:600000}")
+  private long maxAge;
+
+  @Value("${outbox.threads:4}")
+  private int threads;
+
+  @Value("${outbox.sync:true}")
+  private boolean sync;
+
+  @Value("${outbox.compactAfter:1048576}")
+  private long compactAfter;
+
+  private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+  private final Map<String, SharedReport> reports = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Outcome>> outcomes = new ConcurrentHashMap<>();
+  private final ReentrantLock journalLock = new ReentrantLock();
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private final AtomicLong synced = new AtomicLong();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder retried = new LongAdder();
+  private final LongAdder abandoned = new LongAdder();
+
+  private Path outboxDirectory;
+  private Path journalFile;
+  private Path reportDirectory;
+  private FileLock directoryLock;
+  private FileChannel journal;
+
+  /** The number of records appended to the journal. Guarded by the journal lock. */
+  private long appended;
+  private ScheduledExecutorService scheduler;
+  private Delivery delivery;
+
+  /**
+   * Open the journal, and resume the delivery of the notifications it holds.
+   *
+   * @param delivery The function delivering a notification to the Test Bed.
+   */
+  public void start(Delivery delivery) {
+    this.delivery = delivery;
+    this.scheduler =
+        Executors.newScheduledThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "notification-outbox");
+              thread.setDaemon(true);
+              return thread;
+            });
+    List<Notification> replayed;
+    journalLock.lock();
+    try {
+      outboxDirectory = Path.of(directory);
+      if (!lockDirectory(outboxDirectory)) {
+        outboxDirectory = Files.createTempDirectory("verifier-testbed-outbox");
+        LOG.warn(
+            "Using [{}] as notification outbox instead of [{}]: pending notifications will not be"
+                + " resumed after a restart",
+            outboxDirectory,
+            directory);
+        if (!lockDirectory(outboxDirectory)) {
+          throw new IOException("Unable to use " + outboxDirectory);
+        }
+      }
+      journalFile = outboxDirectory.resolve("journal.ndjson");
+      reportDirectory = outboxDirectory.resolve("reports");
+      replayed = replay();
+      compact(replayed);
+      journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to open notification outbox in " + outboxDirectory, e);
+    } finally {
+      journalLock.unlock();
+    }
+    if (!replayed.isEmpty()) {
+      LOG.info("Resuming delivery of {} notification(s) from the outbox", replayed.size());
+    }
+    pending.addAndGet(replayed.size());
+    retainReports(replayed);
+    replayed.forEach(this::submit);
+  }
+
+  /** Stop delivering notifications. Pending notifications are delivered after the next start. */
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+    journalLock.lock();
+    try {
+      if (journal != null) {
+        journal.close();
+      }
+      if (directoryLock != null) {
+        directoryLock.channel().close();
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to close the outbox journal: {}", e.getMessage());
+    } finally {
+      journalLock.unlock();
+    }
+  }
+
+  /**
+   * Stop delivering notifications and hand the pending ones over to another node, e.g. when this
+   * node leaves a cluster.
+   *
+   * <p>Notifications the target accepts are removed from the journal. The others stay in it and are
+   * delivered once this node starts again. Delivery is at least once: a notification whose delivery
+   * was in progress may be delivered by both nodes.
+   *
+   * @param target The node receiving the notifications.
+   * @return The number of notifications handed over.
+   */
+  public int handOff(HandOff target) {
+    scheduler.shutdownNow();
+    try {
+      scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    journalLock.lock();
+    try {
+      if (!journal.isOpen()) {
+        // Closed by the interruption of a delivery thread writing to it.
+        journal =
+            FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to reopen the outbox journal: {}", e.getMessage());
+    } finally {
+      journalLock.unlock();
+    }
+    int handedOff = 0;
+    for (Lane lane : lanes.values()) {
+      List<Notification> notifications;
+      lane.lock.lock();
+      try {
+        notifications = List.copyOf(lane.queue);
+      } finally {
+        lane.lock.unlock();
+      }
+      for (Notification notification : notifications) {
+        try {
+          String xml =
+              Files.readString(reportDirectory.resolve(notification.reportDigest() + ".xml"));
+          if (target.accept(notification, xml)) {
+            releaseReport(notification);
+            recordOutcome(notification, Outcome.HANDED_OFF);
+            handedOff += 1;
+          }
+        } catch (IOException e) {
+          LOG.warn("Unable to hand off notification [{}]", notification.id(), e);
+        }
+      }
+    }
+    return handedOff;
+  }
+
+  /**
+   * Record a notification and schedule its delivery.
+   *
+   * @param sessionId The session ID to notify the Test Bed for.
+   * @param callId The 'receive' call ID to notify the Test Bed for.
+   * @param callback The Test Bed's callback address.
+   * @param report The report to notify the Test Bed with.
+   * @return The outcome of the delivery, completed once delivered or abandoned.
+   */
+  public CompletableFuture<Outcome> enqueue(
+      String sessionId, String callId, String callback, TAR report) {
+    return enqueueAll(List.of(new Recipient(sessionId, callback)), callId, report).get(0);
+  }
+
+  /**
+   * Record the same notification for several recipients and schedule their delivery.
+   *
+   * <p>The report is serialised and stored once, and the notifications are journaled together.
+   *
+   * @param recipients The sessions to notify and their callback addresses.
+   * @param callId The 'receive' call ID to notify the Test Bed for.
+   * @param report The report to notify the Test Bed with.
+   * @return The outcome of each delivery (in the order of the recipients), completed once
+   *     delivered or abandoned.
+   */
+  public List<CompletableFuture<Outcome>> enqueueAll(
+      List<Recipient> recipients, String callId, TAR report) {
+    String xml = utils.marshalReport(report);
+    String digest = digest(xml);
+    long now = System.currentTimeMillis();
+    List<Notification> notifications =
+        recipients.stream()
+            .map(
+                recipient ->
+                    new Notification(
+                        UUID.randomUUID().toString(),
+                        recipient.sessionId(),
+                        callId,
+                        recipient.callback(),
+                        digest,
+                        now))
+            .toList();
+    List<CompletableFuture<Outcome>> results = new ArrayList<>(notifications.size());
+    long position = 0;
+    journalLock.lock();
+    try {
+      Path reportFile = reportDirectory.resolve(digest + ".xml");
+      if (!Files.exists(reportFile)) {
+        Path temporary = reportDirectory.resolve(digest + ".tmp");
+        Files.writeString(temporary, xml);
+        Files.move(temporary, reportFile, StandardCopyOption.ATOMIC_MOVE);
+      }
+      for (Notification notification : notifications) {
+        position = append(new JournalRecord(ENQUEUED, notification.id(), notification));
+      }
+      for (Notification notification : notifications) {
+        var result = new CompletableFuture<Outcome>();
+        outcomes.put(notification.id(), result);
+        results.add(result);
+      }
+      pending.addAndGet(notifications.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to record notifications", e);
+    } finally {
+      journalLock.unlock();
+    }
+    try {
+      sync(position);
+    } catch (IOException e) {
+      // Not delivered, as they may not survive a restart.
+      notifications.forEach(notification -> recordOutcome(notification, Outcome.ABANDONED));
+      throw new UncheckedIOException("Unable to record notifications", e);
+    }
+    retainReports(notifications);
+    notifications.forEach(this::submit);
+    return results;
+  }
+
+  /**
+   * @return The number of notifications not yet delivered or abandoned.
+   */
+  public int getPending() {
+    return pending.get();
+  }
+
+  /**
+   * @return The number of notifications delivered.
+   */
+  public long getDelivered() {
+    return delivered.sum();
+  }
+
+  /**
+   * @return The number of failed delivery attempts that were retried.
+   */
+  public long getRetried() {
+    return retried.sum();
+  }
+
+  /**
+   * @return The number of notifications abandoned after "outbox.maxAge".
+   */
+  public long getAbandoned() {
+    return abandoned.sum();
+  }
+
+  /** Add a notification to its lane, starting the lane's delivery if it is idle. */
+  private void submit(Notification notification) {
+    String key = notification.callback() + "|" + notification.sessionId();
+    lanes.compute(
+        key,
+        (k, lane) -> {
+          Lane target = lane == null ? new Lane(key) : lane;
+          target.lock.lock();
+          try {
+            target.queue.add(notification);
+            if (!target.active) {
+              target.active = true;
+              scheduler.execute(() -> drain(target));
+            }
+          } finally {
+            target.lock.unlock();
+          }
+          return target;
+        });
+  }
+
+  /** Deliver a lane's notifications in order until it is empty or a delivery must be retried. */
+  private void drain(Lane lane) {
+    while (true) {
+      Notification head;
+      lane.lock.lock();
+      try {
+        head = lane.queue.peek();
+      } finally {
+        lane.lock.unlock();
+      }
+      if (head == null) {
+        lanes.computeIfPresent(
+            lane.key,
+            (k, current) -> {
+              current.lock.lock();
+              try {
+                if (current.queue.isEmpty()) {
+                  current.active = false;
+                  return null;
+                }
+                scheduler.execute(() -> drain(current));
+                return current;
+              } finally {
+                current.lock.unlock();
+              }
+            });
+        return;
+      }
+      try {
+        delivery.deliver(head, loadReport(head));
+        complete(lane, head, Outcome.DELIVERED);
+        delivered.increment();
+      } catch (Exception e) {
+        long age = System.currentTimeMillis() - head.createdAt();
+        if (age + lane.delay > maxAge) {
+          LOG.warn(
+              "Abandoning notification for session [{}] to [{}] after {} ms: {}",
+              head.sessionId(),
+              head.callback(),
+              age,
+              e.getMessage());
+          sendFailure(head);
+          complete(lane, head, Outcome.ABANDONED);
+          abandoned.increment();
+        } else {
+          // Equal jitter: wait between half and the full delay.
+          long half = Math.max(lane.delay / 2, 1);
+          long wait = half + ThreadLocalRandom.current().nextLong(half + 1);
+          LOG.warn(
+              "Notification for session [{}] to [{}] failed, retrying in {} ms: {}",
+              head.sessionId(),
+              head.callback(),
+              wait,
+              e.getMessage());
+          retried.increment();
+          lane.delay = Math.min(lane.delay * 2, maxDelay);
+          scheduler.schedule(() -> drain(lane), wait, TimeUnit.MILLISECONDS);
+          return;
+        }
+      }
+    }
+  }
+
+  /** Record the outcome of a lane's head notification and move on to the next one. */
+  private void complete(Lane lane, Notification notification, Outcome outcome) {
+    releaseReport(notification);
+    recordOutcome(notification, outcome);
+    lane.lock.lock();
+    try {
+      lane.queue.poll();
+      lane.delay = initialDelay;
+    } finally {
+      lane.lock.unlock();
+    }
+  }
+
+  /** Journal the final outcome of a notification and complete its future. */
+  private void recordOutcome(Notification notification, Outcome outcome) {
+    long position = 0;
+    journalLock.lock();
+    try {
+      position = append(new JournalRecord(outcome.journalType, notification.id(), null));
+    } catch (IOException e) {
+      LOG.warn("Unable to record outcome of notification [{}]", notification.id(), e);
+    } finally {
+      try {
+        if (pending.decrementAndGet() == 0) {
+          compactIfLarge();
+        }
+      } finally {
+        journalLock.unlock();
+      }
+    }
+    try {
+      sync(position);
+    } catch (IOException e) {
+      // The notification is delivered again after a restart.
+      LOG.warn("Unable to record outcome of notification [{}]", notification.id(), e);
+    }
+    CompletableFuture<Outcome> result = outcomes.remove(notification.id());
+    if (result != null) {
+      result.complete(outcome);
+    }
+  }
+
+  /** Let the Test Bed know that a notification could not be delivered, if it can be reached. */
+  private void sendFailure(Notification notification) {
+    try {
+      delivery.deliver(notification, utils.createReport(TestResultType.FAILURE));
+    } catch (Exception e) {
+      LOG.debug("Unable to notify failure for session [{}]", notification.sessionId(), e);
+    }
+  }
+
+  /** Get the report of a notification, unmarshalling it once for all its pending notifications. */
+  private TAR loadReport(Notification notification) throws IOException {
+    SharedReport shared = reports.get(notification.reportDigest());
+    if (shared == null) {
+      return readReport(notification);
+    }
+    shared.lock.lock();
+    try {
+      if (shared.report == null) {
+        shared.report = readReport(notification);
+      }
+      return shared.report;
+    } finally {
+      shared.lock.unlock();
+    }
+  }
+
+  private TAR readReport(Notification notification) throws IOException {
+    return utils.unmarshalReport(
+        Files.readString(reportDirectory.resolve(notification.reportDigest() + ".xml")));
+  }
+
+  /** Share the reports of notifications about to be submitted until they are delivered. */
+  private void retainReports(List<Notification> notifications) {
+    for (Notification notification : notifications) {
+      reports.compute(
+          notification.reportDigest(),
+          (digest, shared) -> {
+            SharedReport target = shared == null ? new SharedReport() : shared;
+            target.references += 1;
+            return target;
+          });
+    }
+  }
+
+  /** Drop the shared report of a notification once no pending notification refers to it. */
+  private void releaseReport(Notification notification) {
+    reports.computeIfPresent(
+        notification.reportDigest(),
+        (digest, shared) -> --shared.references > 0 ? shared : null);
+  }
+
+  /**
+   * Append a record to the journal. The journal lock must be held.
+   *
+   * @return The record's position, to pass to {@link #sync(long)}.
+   */
+  private long append(JournalRecord record) throws IOException {
+    write(journal, record);
+    return ++appended;
+  }
+
+  /**
+   * Wait until the journal records up to the given position are on disk, if "outbox.sync" is set.
+   * The journal lock must not be held.
+   */
+  private void sync(long position) throws IOException {
+    if (!sync) {
+      return;
+    }
+    syncLock.lock();
+    try {
+      if (synced.get() >= position) {
+        // Forced along with the records of another thread.
+        return;
+      }
+      long target;
+      FileChannel channel;
+      journalLock.lock();
+      try {
+        target = appended;
+        channel = journal;
+      } finally {
+        journalLock.unlock();
+      }
+      try {
+        channel.force(false);
+      } catch (ClosedChannelException e) {
+        // Unless the journal was compacted (and forced) in the meantime.
+        if (synced.get() < position) {
+          throw e;
+        }
+        return;
+      }
+      synced.accumulateAndGet(target, Math::max);
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  /** Compact the journal if no notifications are pending. The journal lock must be held. */
+  private void compactIfLarge() {
+    try {
+      if (journal.size() > compactAfter) {
+        compact(List.of());
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to compact the outbox journal: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Create and lock the outbox directory, so that no other instance uses it.
+   *
+   * @return Whether the directory can be used.
+   */
+  private boolean lockDirectory(Path candidate) {
+    FileChannel channel;
+    try {
+      Files.createDirectories(candidate.resolve("reports"));
+      channel =
+          FileChannel.open(
+              candidate.resolve("outbox.lock"),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      LOG.warn("Unable to use [{}] as notification outbox: {}", candidate, e.getMessage());
+      return false;
+    }
+    try {
+      directoryLock = channel.tryLock();
+    } catch (IOException | OverlappingFileLockException e) {
+      directoryLock = null;
+    }
+    if (directoryLock == null) {
+      LOG.warn("Notification outbox [{}] is in use by another instance", candidate);
+      try {
+        channel.close();
+      } catch (IOException e) {
+        LOG.debug("Unable to close [{}]", candidate, e);
+      }
+      return false;
+    }
+    return true;
+  }
+
+  private void write(FileChannel channel, JournalRecord record) throws IOException {
+    String line = json.getReader().writeValueAsString(record) + "\n";
+    ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Read the journal to find the notifications that were neither delivered nor abandoned.
+   *
+   * @return The pending notifications, in the order they were enqueued.
+   */
+  private List<Notification> replay() throws IOException {
+    Map<String, Notification> notifications = new LinkedHashMap<>();
+    if (Files.exists(journalFile)) {
+      try (Stream<String> lines = Files.lines(journalFile)) {
+        lines
+            .filter(line -> !line.isBlank())
+            .forEach(
+                line -> {
+                  try {
+                    JournalRecord record = json.getReader().readValue(line, JournalRecord.class);
+                    if (ENQUEUED.equals(record.type())) {
+                      notifications.put(record.id(), record.notification());
+                    } else {
+                      notifications.remove(record.id());
+                    }
+                  } catch (IOException e) {
+                    // A record only partially written before a crash.
+                    LOG.warn("Skipping unreadable outbox journal record: {}", e.getMessage());
+                  }
+                });
+      }
+    }
+    return List.copyOf(notifications.values());
+  }
+
+  /**
+   * Rewrite the journal with only the given pending notifications, and delete unreferenced
+   * reports. The journal lock must be held.
+   */
+  private void compact(List<Notification> notifications) throws IOException {
+    Path temporary = outboxDirectory.resolve("journal.tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (Notification notification : notifications) {
+        write(channel, new JournalRecord(ENQUEUED, notification.id(), notification));
+      }
+      channel.force(true);
+    }
+    boolean open = journal != null;
+    if (open) {
+      journal.close();
+    }
+    Files.move(
+        temporary,
+        journalFile,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    if (open) {
+      journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    // The records that were kept have been forced, and the others are no longer needed.
+    synced.accumulateAndGet(appended, Math::max);
+    Set<String> referenced =
+        notifications.stream().map(n -> n.reportDigest() + ".xml").collect(Collectors.toSet());
+    try (Stream<Path> reports = Files.list(reportDirectory)) {
+      for (Path report : reports.toList()) {
+        if (!referenced.contains(report.getFileName().toString())) {
+          Files.deleteIfExists(report);
+        }
+      }
+    }
+  }
+
+  private static String digest(String xml) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256").digest(xml.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** The delivery of a notification to the Test Bed. */
+  @FunctionalInterface
+  public interface Delivery {
+
+    /**
+     * Deliver a notification.
+     *
+     * @param notification The notification.
+     * @param report The report to notify the Test Bed with.
+     * @throws Exception If the notification could not be delivered.
+     */
+    void deliver(Notification notification, TAR report) throws Exception;
+  }
+
+  /** A node to hand pending notifications over to. */
+  @FunctionalInterface
+  public interface HandOff {
+
+    /**
+     * Pass a notification to the node.
+     *
+     * @param notification The notification.
+     * @param reportXml The report to notify the Test Bed with, as XML.
+     * @return Whether the node accepted the notification.
+     */
+    boolean accept(Notification notification, String reportXml);
+  }
+
+  /** The final outcome of a notification. */
+  public enum Outcome {
+    DELIVERED("delivered"),
+    ABANDONED("abandoned"),
+    HANDED_OFF("handed_off");
+
+    private final String journalType;
+
+    Outcome(String journalType) {
+      this.journalType = journalType;
+    }
+  }
+
+  /**
+   * A session to notify.
+   *
+   * @param sessionId The session ID to notify the Test Bed for.
+   * @param callback The Test Bed's callback address.
+   */
+  public record Recipient(String sessionId, String callback) {}
+
+  /**
+   * A notification recorded in the outbox.
+   *
+   * @param id The notification's unique ID.
+   * @param sessionId The session ID to notify the Test Bed for.
+   * @param callId The 'receive' call ID to notify the Test Bed for.
+   * @param callback The Test Bed's callback address.
+   * @param reportDigest The SHA-256 digest of the report's XML, under which it is stored.
+   * @param createdAt The time the notification was enqueued (epoch milliseconds).
+   */
+  public record Notification(
+      String id,
+      String sessionId,
+      String callId,
+      String callback,
+      String reportDigest,
+      long createdAt) {}
+
+  /**
+   * A line of the journal.
+   *
+   * @param type The type of record ("enqueued", "delivered" or "abandoned").
+   * @param id The notification's ID.
+   * @param notification The notification (for "enqueued" records only).
+   */
+  record JournalRecord(String type, String id, Notification notification) {}
+
+  /** A report and the number of pending notifications referring to it. */
+  private static final class SharedReport {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int references;
+    private TAR report;
+  }
+
+  /** The notifications of one callback address and session, delivered in order. */
+  private final class Lane {
+
+    private final String key;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Notification> queue = new ArrayDeque<>();
+    private boolean active;
+    private long delay = initialDelay;
+
+    private Lane(String key) {
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.cxf.jaxws.EndpointImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to record the size of the SOAP requests and responses of the service endpoints.
+ *
+ * <p>Sizes are counted on the wire as the payloads are streamed, so they are also available for
+ * chunked messages that carry no content length. They are recorded as the "cxf.server.request.size"
+ * and "cxf.server.response.size" distributions (in bytes), tagged with the endpoint's address.
+ */
+@Component
+public class PayloadSizeMetrics {
+
+  @Autowired private MeterRegistry meterRegistry = null;
+
+  /**
+   * Record the payload sizes of the given endpoint.
+   *
+   * @param endpoint The endpoint (to be called before it is published).
+   */
+  public void register(EndpointImpl endpoint) {
+    endpoint.getInInterceptors().add(new RequestSizeInterceptor());
+    endpoint.getOutInterceptors().add(new ResponseSizeInterceptor());
+  }
+
+  private DistributionSummary summary(String name, Message message) {
+    String address = message.getExchange().getEndpoint().getEndpointInfo().getAddress();
+    return DistributionSummary.builder(name)
+        .baseUnit("bytes")
+        .tag("uri", address)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /** Interceptor that counts the bytes read from the request. */
+  private static class RequestSizeInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    RequestSizeInterceptor() {
+      super(Phase.RECEIVE);
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+      InputStream in = message.getContent(InputStream.class);
+      if (in != null) {
+        var counting = new CountingInputStream(in);
+        message.setContent(InputStream.class, counting);
+        message.getExchange().put(CountingInputStream.class, counting);
+      }
+    }
+  }
+
+  /**
+   * Interceptor that records the request's size (fully read once the response is prepared) and
+   * counts the bytes written to the response.
+   */
+  private class ResponseSizeInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    ResponseSizeInterceptor() {
+      super(Phase.PRE_STREAM);
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+      CountingInputStream request = message.getExchange().get(CountingInputStream.class);
+      if (request != null) {
+        summary("cxf.server.request.size", message).record(request.count);
+      }
+      OutputStream out = message.getContent(OutputStream.class);
+      if (out != null) {
+        var responseSize = summary("cxf.server.response.size", message);
+        message.setContent(OutputStream.class, new CountingOutputStream(out, responseSize));
+      }
+    }
+  }
+
+  /** Stream that counts the bytes read through it. */
+  private static class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        count += n;
+      }
+      return n;
+    }
+  }
+
+  /** Stream that counts the bytes written through it and records the total when closed. */
+  private static class CountingOutputStream extends FilterOutputStream {
+
+    private final DistributionSummary summary;
+    private long count;
+    private boolean closed;
+
+    CountingOutputStream(OutputStream out, DistributionSummary summary) {
+      super(out);
+      this.summary = summary;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        summary.record(count);
+      }
+      super.close();
+    }
+  }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.gitb.tr.TestResultType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component aggregating the timing and outcome of validations across test sessions.
+ *
+ * <p>Statistics are kept per series, i.e. per validator, expected event and system under test
+ * (SUT), so that trends such as a wallet's response latency degrading over many runs can be seen
+ * beyond individual test reports. Each series holds the durations of its validations and of the
+ * phases reported by the validators (e.g. "wallet_response") in histograms over a rolling window
+ * of "stats.window" milliseconds, split into "stats.slots" slots: the oldest slot is recycled as
+ * time passes. Histogram buckets grow exponentially, so percentiles are accurate to within
+ * {@value #BUCKET_GROWTH_PERCENT}% whatever the magnitude of the durations.
+ *
+ * <p>At most "stats.maxSeries" series are kept: to make room for a new series, the series without
+ * measurements within the window are evicted, or else the least recently recorded one.
+ */
+@Component
+public class PerformanceStats {
+
+  /** The metric of the validations' durations. */
+  public static final String VALIDATION = "validation";
+
+  /** The metric of the durations of validations answered with a cached report. */
+  public static final String VALIDATION_CACHED = "validation_cached";
+
+  /** The growth (in percent) of the upper bound of each histogram bucket over the previous one. */
+  private static final int BUCKET_GROWTH_PERCENT = 20;
+
+  private static final double LOG_GROWTH = Math.log(1 + BUCKET_GROWTH_PERCENT / 100.0);
+
+  /** Enough buckets for durations up to a day in milliseconds. */
+  private static final int BUCKETS = (int) Math.ceil(Math.log(86_400_000) / LOG_GROWTH) + 1;
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(PerformanceStats.class);
+
+  private final Map<Key, Series> series = new ConcurrentHashMap<>();
+  private final ReentrantLock creation = new ReentrantLock();
+  private final LongAdder evicted = new LongAdder();
+  private boolean warnedOfLimit;
+
+  @Value("${stats.window:3600000}")
+  private long window;
+
+  @Value("${stats.slots:12}")
+  private int slots;
+
+  @Value("${stats.maxSeries:1000}")
+  private int maxSeries;
+
+  /**
+   * Record the outcome and duration of a validation.
+   *
+   * @param key The validation's series.
+   * @param result The validation's result.
+   * @param startNanos The start of the validation, as given by {@link System#nanoTime()}.
+   */
+  public void recordValidation(Key key, TestResultType result, long startNanos) {
+    recordValidation(key, result, startNanos, false);
+  }
+
+  /**
+   * Record the outcome and duration of a validation, possibly answered with a cached report. The
+   * durations of cached validations are kept apart ({@value #VALIDATION_CACHED}), so that they do
+   * not skew the distribution of actual validations.
+   *
+   * @param key The validation's series.
+   * @param result The validation's result.
+   * @param startNanos The start of the validation, as given by {@link System#nanoTime()}.
+   * @param cached Whether the report was taken from the cache rather than validated.
+   */
+  public void recordValidation(Key key, TestResultType result, long startNanos, boolean cached) {
+    long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    getSeries(key)
+        .record(
+            System.currentTimeMillis(),
+            cached ? VALIDATION_CACHED : VALIDATION,
+            durationMillis,
+            result);
+  }
+
+  /**
+   * Record the duration of a phase reported by a validation.
+   *
+   * @param key The validation's series.
+   * @param phase The phase's name.
+   * @param durationMillis The phase's duration.
+   */
+  public void recordPhase(Key key, String phase, long durationMillis) {
+    getSeries(key).record(System.currentTimeMillis(), phase, durationMillis, null);
+  }
+
+  private Series getSeries(Key key) {
+    Series existing = series.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    creation.lock();
+    try {
+      if (!series.containsKey(key) && series.size() >= maxSeries) {
+        evict(System.currentTimeMillis());
+      }
+      return series.computeIfAbsent(key, k -> new Series());
+    } finally {
+      creation.unlock();
+    }
+  }
+
+  /**
+   * Make room for a new series, by evicting the series without measurements within the window or,
+   * if there are none, the least recently recorded series.
+   */
+  private void evict(long now) {
+    Key leastRecent = null;
+    long leastRecentTime = Long.MAX_VALUE;
+    for (Map.Entry<Key, Series> entry : series.entrySet()) {
+      long lastRecorded = entry.getValue().lastRecorded;
+      if (now - lastRecorded >= window) {
+        series.remove(entry.getKey());
+        evicted.increment();
+      } else if (lastRecorded < leastRecentTime) {
+        leastRecent = entry.getKey();
+        leastRecentTime = lastRecorded;
+      }
+    }
+    if (series.size() >= maxSeries && leastRecent != null) {
+      series.remove(leastRecent);
+      evicted.increment();
+      if (!warnedOfLimit) {
+        warnedOfLimit = true;
+        LOG.warn(
+            "Performance statistics are limited to {} series, evicting the least recently"
+                + " recorded series",
+            maxSeries);
+      }
+    }
+  }
+
+  /**
+   * Summarise the series matching the given criteria.
+   *
+   * @param validator The validator (any if null).
+   * @param expectedEvent The expected event (any if null).
+   * @param sut The system under test (any if null).
+   * @param windowMillis The period to summarise, up to the configured window (the whole window if
+   *     0 or less).
+   * @return The summaries of the matching series that have data within the period.
+   */
+  public List<SeriesSummary> query(
+      String validator, String expectedEvent, String sut, long windowMillis) {
+    long slotMillis = slotMillis();
+    long now = System.currentTimeMillis() / slotMillis;
+    long period = windowMillis <= 0 ? window : Math.min(windowMillis, window);
+    long oldest = now - Math.max(1, (period + slotMillis - 1) / slotMillis) + 1;
+    List<SeriesSummary> summaries = new ArrayList<>();
+    series.forEach(
+        (key, value) -> {
+          if (matches(validator, key.validator())
+              && matches(expectedEvent, key.expectedEvent())
+              && matches(sut, key.sut())) {
+            SeriesSummary summary = value.summarise(key, oldest);
+            if (summary != null) {
+              summaries.add(summary);
+            }
+          }
+        });
+    return summaries;
+  }
+
+  private static boolean matches(String criterion, String value) {
+    return criterion == null || criterion.equals(value);
+  }
+
+  private long slotMillis() {
+    return Math.max(1, window / Math.max(1, slots));
+  }
+
+  /** The number of series currently tracked. */
+  public int getSeriesCount() {
+    return series.size();
+  }
+
+  /** The number of series evicted to make room for new series. */
+  public long getEvicted() {
+    return evicted.sum();
+  }
+
+  /** The statistics of a series, in slots recycled as the window rolls. */
+  private final class Series {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Slot[] ring = new Slot[Math.max(1, slots)];
+    private volatile long lastRecorded = System.currentTimeMillis();
+
+    void record(long now, String metric, long durationMillis, TestResultType result) {
+      long index = now / slotMillis();
+      lastRecorded = now;
+      lock.lock();
+      try {
+        Slot slot = ring[(int) (index % ring.length)];
+        if (slot == null || slot.index != index) {
+          slot = new Slot(index);
+          ring[(int) (index % ring.length)] = slot;
+        }
+        slot.histograms.computeIfAbsent(metric, m -> new Histogram()).record(durationMillis);
+        if (result != null) {
+          slot.outcomes.merge(result.name(), 1L, Long::sum);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    SeriesSummary summarise(Key key, long oldest) {
+      Map<String, Histogram> merged = new LinkedHashMap<>();
+      Map<String, Long> outcomes = new LinkedHashMap<>();
+      lock.lock();
+      try {
+        for (Slot slot : ring) {
+          if (slot != null && slot.index >= oldest) {
+            slot.histograms.forEach(
+                (metric, histogram) ->
+                    merged.computeIfAbsent(metric, m -> new Histogram()).add(histogram));
+            slot.outcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (merged.isEmpty()) {
+        return null;
+      }
+      Map<String, Distribution> metrics = new LinkedHashMap<>();
+      merged.forEach((metric, histogram) -> metrics.put(metric, histogram.toDistribution()));
+      return new SeriesSummary(key.validator(), key.expectedEvent(), key.sut(), outcomes, metrics);
+    }
+  }
+
+  /** The measurements of a series within one slot of the window. */
+  private static final class Slot {
+    private final long index;
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, Long> outcomes = new LinkedHashMap<>();
+
+    Slot(long index) {
+      this.index = index;
+    }
+  }
+
+  /** A histogram of durations in exponentially growing buckets. */
+  private static final class Histogram {
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    void record(long value) {
+      long clamped = Math.max(0, value);
+      counts[bucket(clamped)]++;
+      count++;
+      sum += clamped;
+      min = Math.min(min, clamped);
+      max = Math.max(max, clamped);
+    }
+
+    void add(Histogram other) {
+      for (int i = 0; i < BUCKETS; i++) {
+        counts[i] += other.counts[i];
+      }
+      count += other.count;
+      sum += other.sum;
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+    }
+
+    Distribution toDistribution() {
+      return new Distribution(
+          count,
+          min,
+          max,
+          (double) sum / count,
+          percentile(0.5),
+          percentile(0.9),
+          percentile(0.95),
+          percentile(0.99));
+    }
+
+    /** Estimate a percentile as the upper bound of its bucket, within the observed range. */
+    private long percentile(double quantile) {
+      long rank = Math.max(1, (long) Math.ceil(quantile * count));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.max(min, Math.min(max, upperBound(i)));
+        }
+      }
+      return max;
+    }
+
+    private static int bucket(long value) {
+      if (value <= 1) {
+        return 0;
+      }
+      return Math.min(BUCKETS - 1, (int) Math.ceil(Math.log(value) / LOG_GROWTH));
+    }
+
+    private static long upperBound(int bucket) {
+      return (long) Math.floor(Math.exp(bucket * LOG_GROWTH));
+    }
+  }
+
+  /**
+   * The series a validation's statistics are aggregated in.
+   *
+   * @param validator The validator (e.g. "verifier").
+   * @param expectedEvent The expected event or rule set (null if not applicable).
+   * @param sut The system under test, as provided through the "sut" input (null if not provided).
+   */
+  public record Key(String validator, String expectedEvent, String sut) {
+    public Key {
+      Objects.requireNonNull(validator);
+    }
+  }
+
+  /**
+   * The statistics of a series over a period.
+   *
+   * @param validator The validator.
+   * @param expectedEvent The expected event or rule set.
+   * @param sut The system under test.
+   * @param outcomes The number of validations per result (SUCCESS, WARNING, FAILURE).
+   * @param metrics The distributions of the durations of validations ("validation") and phases.
+   */
+  public record SeriesSummary(
+      String validator,
+      String expectedEvent,
+      String sut,
+      Map<String, Long> outcomes,
+      Map<String, Distribution> metrics) {}
+
+  /**
+   * The distribution of durations (in milliseconds).
+   *
+   * @param count The number of measurements.
+   * @param min The smallest duration.
+   * @param max The largest duration.
+   * @param mean The mean duration.
+   * @param p50 The median.
+   * @param p90 The 90th percentile.
+   * @param p95 The 95th percentile.
+   * @param p99 The 99th percentile.
+   */
+  public record Distribution(
+      long count, long min, long max, double mean, long p50, long p90, long p95, long p99) {}
+}
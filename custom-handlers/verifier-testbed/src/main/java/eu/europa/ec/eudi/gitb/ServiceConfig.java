@@ -23,8 +23,13 @@ import org.apache.cxf.Bus;
 import org.apache.cxf.jaxws.EndpointImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
-/** Configuration class responsible for creating the Spring beans required by the service. */
+/**
+ * Configuration class responsible for creating the Spring beans required by the service.
+ *
+ * <p>Endpoints are lazy beans, published by the {@link EndpointPublisher}.
+ */
 @Configuration
 public class ServiceConfig {
 
@@ -34,11 +39,15 @@ public class ServiceConfig {
    * @return The endpoint.
    */
   @Bean
+  @Lazy
   public EndpointImpl messagingService(
-      Bus cxfBus, MessagingServiceImpl messagingServiceImplementation) {
+      Bus cxfBus,
+      MessagingServiceImpl messagingServiceImplementation,
+      PayloadSizeMetrics payloadSizeMetrics) {
     EndpointImpl endpoint = new EndpointImpl(cxfBus, messagingServiceImplementation);
     endpoint.setServiceName(new QName("http://www.gitb.com/ms/v1/", "MessagingServiceService"));
     endpoint.setEndpointName(new QName("http://www.gitb.com/ms/v1/", "MessagingServicePort"));
+    payloadSizeMetrics.register(endpoint);
     endpoint.publish("/messaging");
     return endpoint;
   }
@@ -49,11 +58,15 @@ public class ServiceConfig {
    * @return The endpoint.
    */
   @Bean
+  @Lazy
   public EndpointImpl validationService(
-      Bus cxfBus, ValidationServiceImpl validationServiceImplementation) {
+      Bus cxfBus,
+      ValidationServiceImpl validationServiceImplementation,
+      PayloadSizeMetrics payloadSizeMetrics) {
     EndpointImpl endpoint = new EndpointImpl(cxfBus, validationServiceImplementation);
     endpoint.setServiceName(new QName("http://www.gitb.com/vs/v1/", "ValidationService"));
     endpoint.setEndpointName(new QName("http://www.gitb.com/vs/v1/", "ValidationServicePort"));
+    payloadSizeMetrics.register(endpoint);
     endpoint.publish("/validation");
     return endpoint;
   }
@@ -64,21 +77,29 @@ public class ServiceConfig {
    * @return The endpoint.
    */
   @Bean
+  @Lazy
   public EndpointImpl logsValidationService(
-      Bus cxfBus, VerifierValidationService verifierValidationService) {
+      Bus cxfBus,
+      VerifierValidationService verifierValidationService,
+      PayloadSizeMetrics payloadSizeMetrics) {
     EndpointImpl endpoint = new EndpointImpl(cxfBus, verifierValidationService);
     endpoint.setServiceName(new QName("http://www.gitb.com/vs/v1/", "ValidationService"));
     endpoint.setEndpointName(new QName("http://www.gitb.com/vs/v1/", "ValidationServicePort"));
+    payloadSizeMetrics.register(endpoint);
     endpoint.publish("/log/validation");
     return endpoint;
   }
 
   @Bean
+  @Lazy
   public EndpointImpl issuanceValidationService(
-      Bus cxfBus, IssuerValidationService issuerValidationService) {
+      Bus cxfBus,
+      IssuerValidationService issuerValidationService,
+      PayloadSizeMetrics payloadSizeMetrics) {
     EndpointImpl endpoint = new EndpointImpl(cxfBus, issuerValidationService);
     endpoint.setServiceName(new QName("http://www.gitb.com/vs/v1/", "ValidationService"));
     endpoint.setEndpointName(new QName("http://www.gitb.com/vs/v1/", "ValidationServicePort"));
+    payloadSizeMetrics.register(endpoint);
     endpoint.publish("/log/validation/issuance");
     return endpoint;
   }
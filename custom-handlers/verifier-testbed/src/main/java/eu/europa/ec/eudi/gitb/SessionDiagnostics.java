@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to enable verbose (debug) logging for individual test sessions.
+ *
+ * <p>Detailed diagnostics, such as the parsing of each issuer log line, are logged at debug level
+ * and are therefore not logged by default. They are logged for a session when diagnostics are
+ * enabled for it, either explicitly (see {@link #enable(String)}) or because it is sampled (see
+ * "logging.diagnostics.sampleRate"). Sampling is decided from the session ID so that either all or
+ * none of a session's diagnostics are logged.
+ *
+ * <p>The session is identified from the logging MDC (see {@link SessionTracing#MDC_SESSION_ID}).
+ * Only the application's own loggers are affected, and only their debug (and trace) messages: other
+ * levels are left to the configured logger levels.
+ */
+@Component
+public class SessionDiagnostics {
+
+  /** The prefix of the loggers for which diagnostics are enabled. */
+  private static final String LOGGER_PREFIX = "eu.europa.ec.eudi.";
+
+  private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+  private final TurboFilter filter =
+      new TurboFilter() {
+        @Override
+        public FilterReply decide(
+            Marker marker,
+            Logger logger,
+            Level level,
+            String format,
+            Object[] params,
+            Throwable t) {
+          if (Level.DEBUG.isGreaterOrEqual(level)
+              && logger.getName().startsWith(LOGGER_PREFIX)
+              && isEnabled(MDC.get(SessionTracing.MDC_SESSION_ID))) {
+            return FilterReply.ACCEPT;
+          }
+          return FilterReply.NEUTRAL;
+        }
+      };
+
+  @Value("${logging.diagnostics.sampleRate:0}")
+  private double sampleRate;
+
+  @PostConstruct
+  void install() {
+    filter.setName("session-diagnostics");
+    filter.start();
+    loggerContext().addTurboFilter(filter);
+  }
+
+  @PreDestroy
+  void uninstall() {
+    loggerContext().getTurboFilterList().remove(filter);
+  }
+
+  /**
+   * Enable diagnostics for the given session.
+   *
+   * @param sessionId The session ID.
+   */
+  public void enable(String sessionId) {
+    sessions.add(sessionId);
+  }
+
+  /**
+   * Disable diagnostics for the given session (if enabled explicitly).
+   *
+   * @param sessionId The session ID.
+   */
+  public void disable(String sessionId) {
+    sessions.remove(sessionId);
+  }
+
+  /**
+   * @return The sessions for which diagnostics were enabled explicitly.
+   */
+  public Set<String> getEnabledSessions() {
+    return Set.copyOf(sessions);
+  }
+
+  /**
+   * Check whether diagnostics are enabled for the given session.
+   *
+   * @param sessionId The session ID (null for work not related to a session).
+   * @return The check result.
+   */
+  public boolean isEnabled(String sessionId) {
+    if (sessionId == null) {
+      return false;
+    }
+    return sessions.contains(sessionId) || isSampled(sessionId);
+  }
+
+  private boolean isSampled(String sessionId) {
+    if (sampleRate <= 0) {
+      return false;
+    } else if (sampleRate >= 1) {
+      return true;
+    }
+    var crc = new CRC32();
+    crc.update(sessionId.getBytes(StandardCharsets.UTF_8));
+    return crc.getValue() % 10_000 < sampleRate * 10_000;
+  }
+
+  private static LoggerContext loggerContext() {
+    return (LoggerContext) LoggerFactory.getILoggerFactory();
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.Kind;
+import io.micrometer.observation.transport.ReceiverContext;
+import io.micrometer.observation.transport.SenderContext;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to trace the work done for test sessions.
+ *
+ * <p>The calls the test bed makes for a session (initiate, validations, finalize) and the
+ * notifications sent back to it are unrelated requests. To see them as a single trace, each one is
+ * observed as a continuation of a trace whose identifier is derived from the GITB test session
+ * identifier: all spans of a session share the same trace ID and carry the session ID as the
+ * "gitb.session.id" attribute. The session ID is also set as the "sessionId" entry of the logging
+ * MDC while the work is done.
+ *
+ * <p>Observations are propagated to asynchronous work (see {@link AsyncConfig}) and outgoing HTTP
+ * requests created with {@link #observeRequest} carry the W3C trace context.
+ */
+@Component
+public class SessionTracing {
+
+  /** The MDC key under which the session ID is set. */
+  public static final String MDC_SESSION_ID = "sessionId";
+
+  @Autowired private ObservationRegistry observationRegistry = null;
+
+  /**
+   * Observe work done for a test session.
+   *
+   * @param sessionId The test session ID (if null the work starts a trace of its own).
+   * @param name The name of the observation.
+   * @param work The work to observe.
+   * @return The work's result.
+   * @param <T> The type of the result.
+   */
+  public <T> T observe(String sessionId, String name, Supplier<T> work) {
+    var context =
+        new ReceiverContext<String>(
+            (carrier, key) -> "traceparent".equals(key) ? carrier : null, Kind.SERVER);
+    if (sessionId != null) {
+      context.setCarrier(traceParentFor(sessionId));
+    }
+    return Observation.createNotStarted(name, () -> context, observationRegistry)
+        .highCardinalityKeyValue("gitb.session.id", String.valueOf(sessionId))
+        .observe(
+            () -> {
+              String previous = MDC.get(MDC_SESSION_ID);
+              if (sessionId != null) {
+                MDC.put(MDC_SESSION_ID, sessionId);
+              }
+              try {
+                return work.get();
+              } finally {
+                if (previous == null) {
+                  MDC.remove(MDC_SESSION_ID);
+                } else {
+                  MDC.put(MDC_SESSION_ID, previous);
+                }
+              }
+            });
+  }
+
+  /**
+   * Observe an outgoing HTTP request, adding the trace context headers to it before it is sent.
+   *
+   * @param name The name of the observation.
+   * @param request The request's builder (headers are added to it).
+   * @param call The call sending the request built from the builder.
+   * @return The call's result.
+   * @param <T> The type of the result.
+   */
+  public <T> T observeRequest(String name, HttpRequest.Builder request, Supplier<T> call) {
+    var context =
+        new SenderContext<HttpRequest.Builder>(
+            (carrier, key, value) -> carrier.header(key, value), Kind.CLIENT);
+    context.setCarrier(request);
+    return Observation.createNotStarted(name, () -> context, observationRegistry).observe(call);
+  }
+
+  /**
+   * Build the W3C trace parent of a session, deriving the trace and parent span IDs from the
+   * session ID.
+   */
+  private static String traceParentFor(String sessionId) {
+    byte[] hash;
+    try {
+      hash =
+          MessageDigest.getInstance("SHA-256").digest(sessionId.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    var hex = HexFormat.of();
+    return "00-" + hex.formatHex(hash, 0, 16) + "-" + hex.formatHex(hash, 16, 24) + "-01";
+  }
+}
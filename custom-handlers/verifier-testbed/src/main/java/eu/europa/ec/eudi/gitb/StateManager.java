@@ -15,12 +15,26 @@
  */
 package eu.europa.ec.eudi.gitb;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -31,6 +45,17 @@ import org.springframework.stereotype.Component;
  *
  * <p>This implementation stores session information in memory. An alternative solution that would
  * be fault-tolerant could store test session data in a DB.
+ *
+ * <p>Sessions are kept in concurrent maps rather than behind a lock, so that concurrent sessions do
+ * not contend with each other and virtual threads are not pinned while accessing session state.
+ *
+ * <p>The size of each stored value is estimated, and totals are kept per session and overall. When
+ * a session exceeds "state.session.maxBytes", or all sessions together exceed "state.maxBytes", the
+ * largest values are written to "state.spill.directory" (and read back transparently when looked
+ * up) or, if spilling is not configured or the value is not serializable, evicted. This prevents a
+ * single runaway session from exhausting the service's memory. The callback URL is never offloaded,
+ * and as it is currently the only value the service stores itself, offloading only applies to
+ * further values stored by custom handlers.
  */
 @Component
 public class StateManager {
@@ -39,10 +64,25 @@ public class StateManager {
   private static final Logger LOG = LoggerFactory.getLogger(StateManager.class);
 
   /** The map of in-memory active sessions. */
-  private final Map<String, Map<String, Object>> sessions = new HashMap<>();
+  private final Map<String, Map<String, Object>> sessions = new ConcurrentHashMap<>();
+
+  /** The estimated footprint of each active session. */
+  private final Map<String, Footprint> footprints = new ConcurrentHashMap<>();
+
+  /** The estimated bytes held in memory for all sessions. */
+  private final AtomicLong totalBytes = new AtomicLong();
+
+  private final LongAdder spilledValues = new LongAdder();
+  private final LongAdder evictedValues = new LongAdder();
+
+  @Value("${state.session.maxBytes:1048576}")
+  private long maxSessionBytes;
+
+  @Value("${state.maxBytes:67108864}")
+  private long maxTotalBytes;
 
-  /** Lock object to use for synchronisation. */
-  private final Object lock = new Object();
+  @Value("${state.spill.directory:}")
+  private String spillDirectory;
 
   /**
    * Create a new session.
@@ -58,11 +98,11 @@ public class StateManager {
     if (sessionId == null) {
       sessionId = UUID.randomUUID().toString();
     }
-    synchronized (lock) {
-      Map<String, Object> sessionInfo = new HashMap<>();
-      sessionInfo.put(SessionData.CALLBACK_URL, callbackURL);
-      sessions.put(sessionId, sessionInfo);
-    }
+    destroySession(sessionId);
+    Map<String, Object> sessionInfo = new ConcurrentHashMap<>();
+    footprints.put(sessionId, new Footprint(sessionInfo));
+    sessions.put(sessionId, sessionInfo);
+    setSessionInfo(sessionId, SessionData.CALLBACK_URL, callbackURL);
     return sessionId;
   }
 
@@ -72,26 +112,65 @@ public class StateManager {
    * @param sessionId The session ID to remove.
    */
   public void destroySession(String sessionId) {
-    synchronized (lock) {
-      sessions.remove(sessionId);
+    sessions.remove(sessionId);
+    Footprint footprint = footprints.remove(sessionId);
+    if (footprint != null) {
+      footprint.lock.lock();
+      try {
+        // Concurrent updates that looked the session up before its removal are rejected.
+        footprint.destroyed = true;
+        totalBytes.addAndGet(-footprint.bytes);
+        footprint.bytes = 0;
+      } finally {
+        footprint.lock.unlock();
+      }
+      footprint.values.values().forEach(StateManager::deleteSpilled);
     }
   }
 
   /**
    * Get a given item of information linked to a specific session.
    *
+   * <p>A value spilled to disk is read back under the session's lock. If it can no longer be read,
+   * it is discarded (as if it had been evicted) and null is returned.
+   *
    * @param sessionId The session ID we want to lookup.
    * @param infoKey The key of the value that we want to retrieve.
    * @return The retrieved value.
    */
   public Object getSessionInfo(String sessionId, String infoKey) {
-    synchronized (lock) {
-      Object value = null;
-      if (sessions.containsKey(sessionId)) {
-        value = sessions.get(sessionId).get(infoKey);
-      }
+    Map<String, Object> sessionInfo = sessions.get(sessionId);
+    Object value = sessionInfo == null ? null : sessionInfo.get(infoKey);
+    if (!(value instanceof SpilledValue)) {
       return value;
     }
+    Footprint footprint = footprints.get(sessionId);
+    if (footprint == null) {
+      return null;
+    }
+    footprint.lock.lock();
+    try {
+      // The value may have been replaced, or the session destroyed, since it was looked up.
+      value = footprint.destroyed ? null : footprint.values.get(infoKey);
+      if (!(value instanceof SpilledValue spilled)) {
+        return value;
+      }
+      try {
+        return spilled.read();
+      } catch (IOException e) {
+        release(footprint, infoKey, footprint.values.remove(infoKey));
+        evictedValues.increment();
+        LOG.warn(
+            "Discarded value [{}] of session [{}] that could not be read back from [{}]: {}",
+            infoKey,
+            sessionId,
+            spilled.file(),
+            e.getMessage());
+        return null;
+      }
+    } finally {
+      footprint.lock.unlock();
+    }
   }
 
   /**
@@ -99,25 +178,322 @@ public class StateManager {
    *
    * @param sessionId The session ID to set the information for.
    * @param infoKey The information key.
-   * @param infoValue The information value.
+   * @param infoValue The information value (null to remove the information).
    */
   public void setSessionInfo(String sessionId, String infoKey, Object infoValue) {
-    synchronized (lock) {
-      sessions.get(sessionId).put(infoKey, infoValue);
+    Footprint footprint = footprints.get(sessionId);
+    if (footprint == null) {
+      throw new IllegalArgumentException(String.format("Session [%s] does not exist.", sessionId));
+    }
+    footprint.lock.lock();
+    try {
+      if (footprint.destroyed) {
+        throw new IllegalArgumentException(
+            String.format("Session [%s] does not exist.", sessionId));
+      }
+      Map<String, Object> sessionInfo = footprint.values;
+      release(footprint, infoKey, sessionInfo.remove(infoKey));
+      if (infoValue != null) {
+        long size = estimateSize(infoValue);
+        if (size > maxSessionBytes && !SessionData.CALLBACK_URL.equals(infoKey)) {
+          // Too large to be kept in memory at all.
+          SpilledValue spilled = spill(infoValue, size);
+          if (spilled == null) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Value [%s] of session [%s] exceeds the session quota of %d bytes.",
+                    infoKey, sessionId, maxSessionBytes));
+          }
+          sessionInfo.put(infoKey, spilled);
+          footprint.spilledBytes += size;
+        } else {
+          sessionInfo.put(infoKey, infoValue);
+          footprint.sizes.put(infoKey, size);
+          footprint.bytes += size;
+          totalBytes.addAndGet(size);
+          while (footprint.bytes > maxSessionBytes && offloadLargest(sessionId, footprint)) {
+            // Keep offloading until the session is within its quota.
+          }
+        }
+      }
+    } finally {
+      footprint.lock.unlock();
+    }
+    if (totalBytes.get() > maxTotalBytes) {
+      enforceTotalLimit();
     }
   }
 
   /**
    * Get all the active sessions.
    *
+   * <p>Values that were spilled to disk are returned as {@link SpilledValue} placeholders; use
+   * {@link #getSessionInfo(String, String)} to read them.
+   *
    * @return An unmodifiable map of the sessions.
    */
   public Map<String, Map<String, Object>> getAllSessions() {
-    synchronized (lock) {
-      return Collections.unmodifiableMap(sessions);
+    return Collections.unmodifiableMap(sessions);
+  }
+
+  /**
+   * Get the number of active sessions.
+   *
+   * @return The number of sessions.
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Get the estimated bytes held in memory for all sessions.
+   *
+   * @return The number of bytes.
+   */
+  public long getTotalBytes() {
+    return totalBytes.get();
+  }
+
+  /**
+   * Get the number of values spilled to disk to respect the quotas.
+   *
+   * @return The number of values.
+   */
+  public long getSpilledValues() {
+    return spilledValues.sum();
+  }
+
+  /**
+   * Get the number of values discarded to respect the quotas.
+   *
+   * @return The number of values.
+   */
+  public long getEvictedValues() {
+    return evictedValues.sum();
+  }
+
+  /**
+   * Get the sessions with the largest estimated footprint.
+   *
+   * @param limit The maximum number of sessions to return.
+   * @return The sessions' footprints, largest first.
+   */
+  public List<SessionFootprint> getTopSessions(int limit) {
+    return footprints.entrySet().stream()
+        .map(
+            entry -> {
+              Footprint footprint = entry.getValue();
+              footprint.lock.lock();
+              try {
+                return new SessionFootprint(
+                    entry.getKey(),
+                    footprint.bytes,
+                    footprint.spilledBytes,
+                    sessions.getOrDefault(entry.getKey(), Map.of()).size());
+              } finally {
+                footprint.lock.unlock();
+              }
+            })
+        .sorted(Comparator.comparingLong(SessionFootprint::bytes).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  /**
+   * Offload values from the largest sessions until all sessions are within the overall quota.
+   *
+   * <p>The sessions are ranked once, and values are offloaded from each in turn (largest first), so
+   * that the cost is linear in the number of sessions and values rather than quadratic.
+   */
+  private void enforceTotalLimit() {
+    for (SessionFootprint candidate : getTopSessions(Integer.MAX_VALUE)) {
+      if (totalBytes.get() <= maxTotalBytes) {
+        return;
+      }
+      Footprint footprint = footprints.get(candidate.sessionId());
+      if (footprint == null) {
+        continue;
+      }
+      footprint.lock.lock();
+      try {
+        while (!footprint.destroyed
+            && totalBytes.get() > maxTotalBytes
+            && offloadLargest(candidate.sessionId(), footprint)) {
+          // Keep offloading until all sessions are within the quota or this one has nothing left.
+        }
+      } finally {
+        footprint.lock.unlock();
+      }
+    }
+    if (totalBytes.get() > maxTotalBytes) {
+      LOG.warn(
+          "Session state ({} bytes) exceeds its quota ({} bytes) but no value can be offloaded",
+          totalBytes.get(),
+          maxTotalBytes);
+    }
+  }
+
+  /**
+   * Spill (or evict) the largest in-memory value of a session. The session's lock must be held.
+   *
+   * @return Whether a value was offloaded.
+   */
+  private boolean offloadLargest(String sessionId, Footprint footprint) {
+    Map<String, Object> sessionInfo = footprint.values;
+    String largest =
+        footprint.sizes.entrySet().stream()
+            .filter(entry -> !SessionData.CALLBACK_URL.equals(entry.getKey()))
+            .max(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .orElse(null);
+    if (largest == null) {
+      return false;
+    }
+    Object value = sessionInfo.get(largest);
+    long size = footprint.sizes.get(largest);
+    release(footprint, largest, value);
+    SpilledValue spilled = spill(value, size);
+    if (spilled != null) {
+      sessionInfo.put(largest, spilled);
+      footprint.spilledBytes += size;
+      spilledValues.increment();
+      LOG.info("Spilled value [{}] of session [{}] ({} bytes) to disk", largest, sessionId, size);
+    } else {
+      sessionInfo.remove(largest);
+      evictedValues.increment();
+      LOG.warn("Evicted value [{}] of session [{}] ({} bytes)", largest, sessionId, size);
+    }
+    return true;
+  }
+
+  /** Stop accounting for a value that was removed or replaced. The session's lock must be held. */
+  private void release(Footprint footprint, String infoKey, Object previous) {
+    Long size = footprint.sizes.remove(infoKey);
+    if (size != null) {
+      footprint.bytes -= size;
+      totalBytes.addAndGet(-size);
+    }
+    if (previous instanceof SpilledValue spilled) {
+      footprint.spilledBytes -= spilled.size();
+      deleteSpilled(spilled);
+    }
+  }
+
+  /**
+   * Write a value to the spill directory.
+   *
+   * @return The placeholder to store, or null if the value cannot be spilled.
+   */
+  private SpilledValue spill(Object value, long size) {
+    if (spillDirectory.isBlank() || !(value instanceof Serializable)) {
+      return null;
+    }
+    try {
+      Path directory = Files.createDirectories(Path.of(spillDirectory));
+      Path file = directory.resolve(UUID.randomUUID() + ".bin");
+      try (var out = new ObjectOutputStream(Files.newOutputStream(file))) {
+        out.writeObject(value);
+      }
+      return new SpilledValue(file, size);
+    } catch (IOException e) {
+      LOG.warn("Unable to spill session value to [{}]: {}", spillDirectory, e.getMessage());
+      return null;
+    }
+  }
+
+  private static void deleteSpilled(Object value) {
+    if (value instanceof SpilledValue spilled) {
+      try {
+        Files.deleteIfExists(spilled.file());
+      } catch (IOException e) {
+        LOG.warn("Unable to delete spilled session value [{}]", spilled.file());
+      }
+    }
+  }
+
+  /**
+   * Estimate the bytes a value occupies in memory.
+   *
+   * <p>The estimate covers strings, binary content, boxed primitives, arrays, collections and maps
+   * (recursively). Other objects are counted with a fixed overhead.
+   *
+   * @param value The value.
+   * @return The estimated size in bytes.
+   */
+  static long estimateSize(Object value) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof CharSequence text) {
+      return 40 + 2L * text.length();
+    } else if (value instanceof byte[] bytes) {
+      return 16 + bytes.length;
+    } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+      return 16;
+    } else if (value instanceof Object[] array) {
+      long size = 16 + 4L * array.length;
+      for (Object item : array) {
+        size += estimateSize(item);
+      }
+      return size;
+    } else if (value instanceof Collection<?> collection) {
+      long size = 48 + 16L * collection.size();
+      for (Object item : collection) {
+        size += estimateSize(item);
+      }
+      return size;
+    } else if (value instanceof Map<?, ?> map) {
+      long size = 48 + 32L * map.size();
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        size += estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+      }
+      return size;
+    } else {
+      return 64;
+    }
+  }
+
+  /** The estimated footprint of a session, guarded by its lock. */
+  private static final class Footprint {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Object> values;
+    private final Map<String, Long> sizes = new HashMap<>();
+    private long bytes;
+    private long spilledBytes;
+    private boolean destroyed;
+
+    private Footprint(Map<String, Object> values) {
+      this.values = values;
     }
   }
 
+  /**
+   * Placeholder for a session value that was written to disk.
+   *
+   * @param file The file holding the serialized value.
+   * @param size The estimated in-memory size of the value.
+   */
+  public record SpilledValue(Path file, long size) {
+
+    private Object read() throws IOException {
+      try (var in = new ObjectInputStream(Files.newInputStream(file))) {
+        return in.readObject();
+      } catch (ClassNotFoundException e) {
+        throw new IOException("Unknown class of spilled session value", e);
+      }
+    }
+  }
+
+  /**
+   * The estimated footprint of a session.
+   *
+   * @param sessionId The test session ID.
+   * @param bytes The estimated bytes held in memory.
+   * @param spilledBytes The estimated bytes of the values spilled to disk.
+   * @param values The number of values stored.
+   */
+  public record SessionFootprint(String sessionId, long bytes, long spilledBytes, int values) {}
+
   /** Constants used to identify data maintained as part of a session's state. */
   public static class SessionData {
 
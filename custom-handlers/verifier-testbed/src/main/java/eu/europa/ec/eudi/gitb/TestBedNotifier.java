@@ -20,8 +20,19 @@ import com.gitb.ms.LogRequest;
 import com.gitb.ms.MessagingClient;
 import com.gitb.ms.NotifyForMessageRequest;
 import com.gitb.tr.TAR;
-import com.gitb.tr.TestResultType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import org.apache.cxf.endpoint.Client;
 import org.apache.cxf.frontend.ClientProxy;
 import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
@@ -29,14 +40,17 @@ import org.apache.cxf.transport.http.HTTPConduit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.stereotype.Component;
 
 /**
  * Component used to notify the Test Bed of received queries.
  *
  * <p>The main reason of defining this as a separate component is to facilitate making these
- * notifications asynchronous (see the notifyTestBed method that is marked as async).
+ * notifications asynchronous. Notifications are delivered through the {@link NotificationOutbox} so
+ * that they survive Test Bed outages and restarts of this service, while log messages are sent on a
+ * separate, rate-limited lane so that they never delay the notifications test sessions wait for.
  *
  * <p>As an example, the configuration of a proxy to be used for this call is provided that can be
  * optionally set on the call-back service proxy via configuration properties (set in
@@ -51,43 +65,195 @@ public class TestBedNotifier {
       new ConcurrentHashMap<>();
 
   @Autowired private ProxyInfo proxy = null;
-  @Autowired private Utils utils = null;
+  @Autowired private MeterRegistry meterRegistry = null;
+  @Autowired private SessionTracing sessionTracing = null;
+  @Autowired private NotificationOutbox notificationOutbox = null;
+  @Autowired private CallbackGuard callbackGuard = null;
+  @Autowired private TaskDecorator taskDecorator = null;
+
+  @Value("${notifier.log.rate:20}")
+  private double logRate;
+
+  @Value("${notifier.log.burst:100}")
+  private int logBurst;
+
+  @Value("${notifier.log.queueSize:1000}")
+  private int logQueueSize;
+
+  @Value("${notifier.log.threads:2}")
+  private int logThreads;
+
+  private final ReentrantLock logBucketLock = new ReentrantLock();
+  private final LongAdder logsDroppedRate = new LongAdder();
+  private final LongAdder logsDroppedQueue = new LongAdder();
+  private final LongAdder logsDroppedCallback = new LongAdder();
+  private double logTokens;
+  private long logRefilledAt;
+  private ThreadPoolExecutor logExecutor;
+
+  /** Start delivering the notifications recorded in the outbox, and log messages. */
+  @PostConstruct
+  public void start() {
+    logExecutor =
+        new ThreadPoolExecutor(
+            logThreads,
+            logThreads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(logQueueSize),
+            runnable -> {
+              Thread thread = new Thread(runnable, "testbed-log");
+              thread.setDaemon(true);
+              return thread;
+            });
+    logTokens = logBurst;
+    logRefilledAt = System.nanoTime();
+    notificationOutbox.start(this::deliver);
+  }
+
+  /** Stop sending log messages. */
+  @PreDestroy
+  public void stop() {
+    logExecutor.shutdown();
+  }
 
   /**
    * Send a log message to the Test Bed at a given severity level.
    *
+   * <p>Log messages are sent asynchronously on their own lane, separate from the notifications
+   * that test sessions wait for. They are rate limited, and dropped (and counted) when the rate
+   * limit is exceeded, too many are queued, or the callback is too busy to accept them.
+   *
    * @param sessionId The session identifier.
    * @param callbackAddress The Test Bed's callback address to use.
    * @param message The log message.
    * @param level The severity level.
    */
-  @Async
   public void sendLogMessage(
       String sessionId, String callbackAddress, String message, LogLevel level) {
+    if (!tryAcquireLogPermit()) {
+      logsDroppedRate.increment();
+      LOG.debug("Log message for session [{}] dropped as the rate limit was exceeded", sessionId);
+      return;
+    }
     var logRequest = new LogRequest();
     logRequest.setSessionId(sessionId);
     logRequest.setMessage(message);
     logRequest.setLevel(level);
-    getMessagingClient(callbackAddress).log(logRequest);
+    try {
+      logExecutor.execute(
+          taskDecorator.decorate(
+              () -> {
+                try {
+                  timed(
+                      "log",
+                      callbackAddress,
+                      true,
+                      () -> getMessagingClient(callbackAddress).log(logRequest));
+                } catch (CallbackRejectedException e) {
+                  logsDroppedCallback.increment();
+                  LOG.debug("Log message for session [{}] dropped: {}", sessionId, e.getMessage());
+                } catch (RuntimeException e) {
+                  LOG.warn("Unable to send log message for session [{}]", sessionId, e);
+                }
+              }));
+    } catch (RejectedExecutionException e) {
+      logsDroppedQueue.increment();
+      LOG.debug("Log message for session [{}] dropped as the queue is full", sessionId);
+    }
+  }
+
+  /**
+   * @return The number of log messages dropped because the rate limit was exceeded.
+   */
+  public long getLogsDroppedRate() {
+    return logsDroppedRate.sum();
+  }
+
+  /**
+   * @return The number of log messages dropped because too many were queued.
+   */
+  public long getLogsDroppedQueue() {
+    return logsDroppedQueue.sum();
+  }
+
+  /**
+   * @return The number of log messages dropped because the callback was too busy.
+   */
+  public long getLogsDroppedCallback() {
+    return logsDroppedCallback.sum();
+  }
+
+  /**
+   * @return The number of log messages waiting to be sent.
+   */
+  public int getLogsQueued() {
+    return logExecutor == null ? 0 : logExecutor.getQueue().size();
+  }
+
+  /** Take a permit from the log messages' token bucket, refilled at "notifier.log.rate". */
+  private boolean tryAcquireLogPermit() {
+    logBucketLock.lock();
+    try {
+      long now = System.nanoTime();
+      logTokens = Math.min(logBurst, logTokens + (now - logRefilledAt) / 1e9 * logRate);
+      logRefilledAt = now;
+      if (logTokens < 1) {
+        return false;
+      }
+      logTokens -= 1;
+      return true;
+    } finally {
+      logBucketLock.unlock();
+    }
   }
 
   /**
    * Notify the Test Bed for a given session.
    *
+   * <p>The notification is recorded in the outbox and delivered asynchronously, being retried if
+   * the Test Bed cannot be reached.
+   *
    * @param sessionId The session ID to notify the test bed for.
    * @param callId The 'receive' call ID to notify the Test Bed for.
    * @param report The report to notify the Test Bed with.
    */
-  @Async
   public void notifyTestBed(String sessionId, String callId, String callback, TAR report) {
-    try {
-      LOG.info("Notifying Test Bed for session [{}]", sessionId);
-      callTestBed(sessionId, callId, report, callback);
-    } catch (Exception e) {
-      LOG.warn("Error while notifying test bed for session [{}]", sessionId, e);
-      callTestBed(sessionId, callId, utils.createReport(TestResultType.FAILURE), callback);
-      throw new IllegalStateException(e);
-    }
+    notificationOutbox.enqueue(sessionId, callId, callback, report);
+  }
+
+  /**
+   * Notify the Test Bed for several sessions with the same report.
+   *
+   * <p>The report is serialised once, and the notifications are delivered in parallel within the
+   * limits of the outbox and of each callback address.
+   *
+   * @param recipients The sessions to notify and their callback addresses.
+   * @param callId The 'receive' call ID to notify the Test Bed for.
+   * @param report The report to notify the Test Bed with.
+   * @return The outcome of each notification, in the order of the recipients.
+   */
+  public List<CompletableFuture<NotificationOutbox.Outcome>> notifyTestBed(
+      List<NotificationOutbox.Recipient> recipients, String callId, TAR report) {
+    return notificationOutbox.enqueueAll(recipients, callId, report);
+  }
+
+  /**
+   * Deliver a notification from the outbox.
+   *
+   * @param notification The notification.
+   * @param report The report to notify the Test Bed with.
+   */
+  private void deliver(NotificationOutbox.Notification notification, TAR report) {
+    sessionTracing.observe(
+        notification.sessionId(),
+        "gitb.notify",
+        () -> {
+          LOG.info("Notifying Test Bed for session [{}]", notification.sessionId());
+          callTestBed(
+              notification.sessionId(), notification.callId(), report, notification.callback());
+          return null;
+        });
   }
 
   /**
@@ -104,7 +270,42 @@ public class TestBedNotifier {
     request.setSessionId(sessionId);
     request.setCallId(callId);
     request.setReport(report);
-    getMessagingClient(callbackAddress).notifyForMessage(request);
+    timed(
+        "notifyForMessage",
+        callbackAddress,
+        false,
+        () -> getMessagingClient(callbackAddress).notifyForMessage(request));
+  }
+
+  /**
+   * Make a call to the Test Bed, recording its latency and outcome.
+   *
+   * <p>The call is guarded by the callback address' adaptive limit and circuit breaker (see {@link
+   * CallbackGuard}), and is rejected with a {@link CallbackRejectedException} if they do not allow
+   * it.
+   *
+   * @param operation The called operation.
+   * @param callbackAddress The address on which the call is to be made.
+   * @param sheddable Whether the call is of low priority (see {@link CallbackGuard}).
+   * @param call The call to make.
+   */
+  private void timed(String operation, String callbackAddress, boolean sheddable, Runnable call) {
+    callbackGuard.call(
+        callbackAddress,
+        sheddable,
+        () -> {
+          Timer.Sample sample = Timer.start(meterRegistry);
+          String outcome = "failure";
+          try {
+            call.run();
+            outcome = "success";
+          } finally {
+            sample.stop(
+                meterRegistry.timer(
+                    "testbed.callback", "operation", operation, "outcome", outcome));
+          }
+          return null;
+        });
   }
 
   /**
@@ -18,19 +18,30 @@ package eu.europa.ec.eudi.gitb;
 import com.gitb.core.*;
 import com.gitb.tr.*;
 import com.gitb.tr.ObjectFactory;
+import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
 import jakarta.xml.ws.WebServiceContext;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
 import org.apache.cxf.headers.Header;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Element;
 
@@ -46,7 +57,21 @@ public class Utils {
   public static final QName TEST_SESSION_ID_QNAME =
       new QName("http://www.gitb.com", "TestSessionIdentifier", "gitb");
 
+  /** Element name used when serialising a report to XML. */
+  public static final QName REPORT_QNAME =
+      new QName("http://www.gitb.com/tr/v1/", "TestStepReport");
+
   @Autowired private ObjectFactory objectFactory;
+  @Autowired private SessionTracing sessionTracing;
+  @Autowired private HttpClient httpClient;
+
+  @Value("${logging.payload.maxLength:2000}")
+  private int maxLoggedLength;
+
+  @Value("${validation.input.maxSize:16777216}")
+  private long maxInputSize;
+
+  private volatile JAXBContext reportContext;
 
   /**
    * Create a report for the given result.
@@ -62,13 +87,91 @@ public class Utils {
     report.setContext(new AnyContent());
     report.getContext().setType("map");
     report.setResult(result);
+    report.setDate(now());
+    return report;
+  }
+
+  /**
+   * Deserialise a report kept as XML (see {@link #marshalReport(TAR)}) as a new report that
+   * carries the current time as its date. Keeping a report as XML allows it to be returned again
+   * without rebuilding it, and without the risk of its receivers modifying the kept report.
+   *
+   * @param xml The report's XML representation.
+   * @return The report.
+   */
+  public TAR restoreReport(String xml) {
+    TAR report = unmarshalReport(xml);
+    report.setDate(now());
+    return report;
+  }
+
+  private static XMLGregorianCalendar now() {
     try {
-      report.setDate(
-          DatatypeFactory.newInstance().newXMLGregorianCalendar(new GregorianCalendar()));
+      return DatatypeFactory.newInstance().newXMLGregorianCalendar(new GregorianCalendar());
     } catch (DatatypeConfigurationException e) {
       throw new IllegalStateException(e);
     }
-    return report;
+  }
+
+  /**
+   * Serialise the given report to XML.
+   *
+   * @param report The report to serialise.
+   * @return The report's XML representation.
+   */
+  public String marshalReport(TAR report) {
+    try {
+      var writer = new StringWriter();
+      var marshaller = reportContext().createMarshaller();
+      marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+      marshaller.marshal(new JAXBElement<>(REPORT_QNAME, TAR.class, report), writer);
+      return writer.toString();
+    } catch (JAXBException e) {
+      throw new IllegalStateException("Unable to serialise report", e);
+    }
+  }
+
+  /**
+   * Deserialise a report from the XML produced by {@link #marshalReport(TAR)}.
+   *
+   * @param xml The report's XML representation.
+   * @return The report.
+   */
+  public TAR unmarshalReport(String xml) {
+    try {
+      return reportContext()
+          .createUnmarshaller()
+          .unmarshal(new StreamSource(new StringReader(xml)), TAR.class)
+          .getValue();
+    } catch (JAXBException e) {
+      throw new IllegalStateException("Unable to deserialise report", e);
+    }
+  }
+
+  private JAXBContext reportContext() throws JAXBException {
+    if (reportContext == null) {
+      // Creating a JAXB context is costly so it is done once (contexts are thread-safe).
+      reportContext = JAXBContext.newInstance(TAR.class);
+    }
+    return reportContext;
+  }
+
+  /**
+   * Abbreviate a value for logging, so that large payloads do not dominate the cost of logging.
+   *
+   * @param value The value to log.
+   * @return The value's string representation, truncated to "logging.payload.maxLength"
+   *     characters.
+   */
+  public String abbreviate(Object value) {
+    String text = String.valueOf(value);
+    if (text.length() <= maxLoggedLength) {
+      return text;
+    }
+    return text.substring(0, maxLoggedLength)
+        + "... ["
+        + (text.length() - maxLoggedLength)
+        + " more characters]";
   }
 
   /**
@@ -165,23 +268,16 @@ public class Utils {
       return null;
     } else if (content.getEmbeddingMethod() == ValueEmbeddingEnumeration.BASE_64) {
       // Value provided as BASE64 string.
+      checkBase64Size(content.getName(), content.getValue());
       return new String(Base64.getDecoder().decode(content.getValue()));
     } else if (content.getEmbeddingMethod() == ValueEmbeddingEnumeration.URI) {
       // Value provided as URI to look up.
-      try {
-        var request = HttpRequest.newBuilder().uri(new URI(content.getValue())).GET().build();
-        return HttpClient.newHttpClient()
-            .send(request, HttpResponse.BodyHandlers.ofString())
-            .body();
-      } catch (URISyntaxException e) {
-        throw new IllegalArgumentException(
-            String.format("The provided value [%s] was not a valid URI.", content.getValue()), e);
-      } catch (IOException | InterruptedException e) {
-        throw new IllegalArgumentException(
-            String.format("Error while calling URI [%s]", content.getValue()), e);
-      }
+      return new String(fetchBytes(content.getName(), content.getValue()), StandardCharsets.UTF_8);
     } else {
       // Value provided as String.
+      if (content.getValue().length() > maxInputSize) {
+        throw new InputTooLargeException(content.getName(), maxInputSize);
+      }
       return content.getValue();
     }
   }
@@ -209,21 +305,11 @@ public class Utils {
     if (input.getEmbeddingMethod() == null
         || input.getEmbeddingMethod() == ValueEmbeddingEnumeration.BASE_64) {
       // Base64 encoded string.
+      checkBase64Size(inputName, input.getValue());
       return Base64.getDecoder().decode(input.getValue());
     } else if (input.getEmbeddingMethod() == ValueEmbeddingEnumeration.URI) {
       // Remote URI to read from.
-      try {
-        var request = HttpRequest.newBuilder().uri(new URI(input.getValue())).GET().build();
-        return HttpClient.newHttpClient()
-            .send(request, HttpResponse.BodyHandlers.ofByteArray())
-            .body();
-      } catch (URISyntaxException e) {
-        throw new IllegalArgumentException(
-            String.format("The provided value [%s] was not a valid URI.", input.getValue()), e);
-      } catch (IOException | InterruptedException e) {
-        throw new IllegalArgumentException(
-            String.format("Error while calling URI [%s]", input.getValue()), e);
-      }
+      return fetchBytes(inputName, input.getValue());
     } else {
       throw new IllegalArgumentException(
           String.format(
@@ -231,6 +317,81 @@ public class Utils {
     }
   }
 
+  /**
+   * Check the decoded size of a BASE64 value before decoding it.
+   *
+   * @param inputName The name of the input.
+   * @param value The BASE64 value.
+   */
+  private void checkBase64Size(String inputName, String value) {
+    if (value.length() / 4L * 3L > maxInputSize) {
+      throw new InputTooLargeException(inputName, maxInputSize);
+    }
+  }
+
+  /**
+   * Look up the content of the given URI, reading at most the maximum input size.
+   *
+   * <p>Responses declaring a larger Content-Length are rejected without reading their body: closing
+   * the body's stream cancels the exchange rather than downloading the body to discard it.
+   *
+   * @param inputName The name of the input.
+   * @param uri The URI to call.
+   * @return The response body.
+   */
+  private byte[] fetchBytes(String inputName, String uri) {
+    AtomicBoolean declaredTooLarge = new AtomicBoolean();
+    InputStream body =
+        fetch(
+            uri,
+            info -> {
+              declaredTooLarge.set(
+                  info.headers().firstValueAsLong("Content-Length").orElse(-1) > maxInputSize);
+              return HttpResponse.BodySubscribers.ofInputStream();
+            });
+    try (body) {
+      if (declaredTooLarge.get()) {
+        throw new InputTooLargeException(inputName, maxInputSize);
+      }
+      byte[] bytes = body.readNBytes((int) Math.min(maxInputSize + 1, Integer.MAX_VALUE - 8));
+      if (bytes.length > maxInputSize) {
+        throw new InputTooLargeException(inputName, maxInputSize);
+      }
+      return bytes;
+    } catch (IOException e) {
+      throw new IllegalArgumentException(String.format("Error while calling URI [%s]", uri), e);
+    }
+  }
+
+  /**
+   * Look up the content of the given URI.
+   *
+   * @param uri The URI to call.
+   * @param bodyHandler The handler used to read the response body.
+   * @return The response body.
+   * @param <T> The type of the response body.
+   */
+  private <T> T fetch(String uri, HttpResponse.BodyHandler<T> bodyHandler) {
+    HttpRequest.Builder request;
+    try {
+      request = HttpRequest.newBuilder().uri(new URI(uri)).GET();
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException(
+          String.format("The provided value [%s] was not a valid URI.", uri), e);
+    }
+    return sessionTracing.observeRequest(
+        "uri.fetch",
+        request,
+        () -> {
+          try {
+            return httpClient.send(request.build(), bodyHandler).body();
+          } catch (IOException | InterruptedException e) {
+            throw new IllegalArgumentException(
+                String.format("Error while calling URI [%s]", uri), e);
+          }
+        });
+  }
+
   /**
    * Get a single optional input for the provided name as a string value.
    *
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestAssertionGroupReportsType;
+import com.gitb.tr.TestResultType;
+import com.gitb.tr.ValidationCounters;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to limit the validations that run concurrently.
+ *
+ * <p>Each validator has its own limit ("validation.admission.[validator].maxConcurrent", or
+ * "validation.admission.maxConcurrent" for all validators), so that a burst of expensive
+ * validations cannot stall the others. A validation that cannot start within
+ * "validation.admission.maxWait" milliseconds is rejected with a FAILURE report explaining that the
+ * service is overloaded, as is a validation whose input exceeds the maximum input size (see {@link
+ * InputTooLargeException}). This keeps the service responsive under load instead of letting memory
+ * pressure degrade every session.
+ */
+@Component
+public class ValidationAdmission {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(ValidationAdmission.class);
+
+  private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+  @Autowired private Utils utils = null;
+  @Autowired private Environment environment = null;
+
+  @Value("${validation.admission.maxConcurrent:0}")
+  private int maxConcurrent;
+
+  @Value("${validation.admission.maxWait:500}")
+  private long maxWait;
+
+  /**
+   * Run the given validation if the validator's limit allows it.
+   *
+   * @param validator The name of the validator.
+   * @param validation The validation.
+   * @return The validation's report, or a FAILURE report if the validation was rejected.
+   */
+  public TAR admit(String validator, Supplier<TAR> validation) {
+    Limiter limiter = getLimiter(validator);
+    boolean acquired;
+    try {
+      acquired = limiter.permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    if (!acquired) {
+      limiter.overloaded.increment();
+      LOG.warn("Rejected [{}] validation as the validator is overloaded", validator);
+      return reject(
+          String.format(
+              "The service is overloaded (%d [%s] validations in progress). Please retry later.",
+              limiter.maxConcurrent, validator));
+    }
+    try {
+      return validation.get();
+    } catch (InputTooLargeException e) {
+      limiter.tooLarge.increment();
+      LOG.warn("Rejected [{}] validation: {}", validator, e.getMessage());
+      return reject(e.getMessage());
+    } finally {
+      limiter.permits.release();
+    }
+  }
+
+  /**
+   * Get the limiter of the given validator.
+   *
+   * @param validator The name of the validator.
+   * @return The limiter.
+   */
+  public Limiter getLimiter(String validator) {
+    return limiters.computeIfAbsent(
+        validator,
+        name -> {
+          int defaultLimit =
+              maxConcurrent > 0 ? maxConcurrent : 2 * Runtime.getRuntime().availableProcessors();
+          return new Limiter(
+              environment.getProperty(
+                  "validation.admission." + name + ".maxConcurrent", Integer.class, defaultLimit));
+        });
+  }
+
+  private TAR reject(String message) {
+    TAR report = utils.createReport(TestResultType.FAILURE);
+    report.setReports(new TestAssertionGroupReportsType());
+    utils.addReportItemError(message, report.getReports().getInfoOrWarningOrError());
+    report.setCounters(new ValidationCounters());
+    report.getCounters().setNrOfAssertions(BigInteger.ZERO);
+    report.getCounters().setNrOfWarnings(BigInteger.ZERO);
+    report.getCounters().setNrOfErrors(BigInteger.ONE);
+    return report;
+  }
+
+  /** The concurrency limit of a validator and its statistics. */
+  public static final class Limiter {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final LongAdder overloaded = new LongAdder();
+    private final LongAdder tooLarge = new LongAdder();
+
+    private Limiter(int maxConcurrent) {
+      this.maxConcurrent = maxConcurrent;
+      this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @return The maximum number of concurrent validations.
+     */
+    public int getMaxConcurrent() {
+      return maxConcurrent;
+    }
+
+    /**
+     * @return The number of validations in progress.
+     */
+    public int getInProgress() {
+      return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return The number of validations rejected because the validator was overloaded.
+     */
+    public long getOverloaded() {
+      return overloaded.sum();
+    }
+
+    /**
+     * @return The number of validations rejected because an input was too large.
+     */
+    public long getTooLarge() {
+      return tooLarge.sum();
+    }
+  }
+}
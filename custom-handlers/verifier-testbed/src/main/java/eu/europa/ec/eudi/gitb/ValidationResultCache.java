@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.gitb.tr.TAR;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component used to reuse validation reports for identical inputs.
+ *
+ * <p>Retried test sessions and re-runs of a test suite often submit exactly the same input to a
+ * validator. Reports are cached by validator, input digest and validation parameters so that such
+ * repeated validations return the previously built report (with a fresh date) instead of parsing
+ * and evaluating the input again. Reports are cached as XML, so that each validation receives a
+ * report of its own that it can modify without affecting the cached one.
+ *
+ * <p>The cache is bounded and discards its least recently used report when full.
+ */
+@Component
+public class ValidationResultCache {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(ValidationResultCache.class);
+
+  @Autowired private Utils utils = null;
+
+  @Value("${validation.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${validation.cache.maxInputLength:1048576}")
+  private int maxInputLength;
+
+  private final Map<String, String> reports;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Constructor.
+   *
+   * @param maxEntries The maximum number of reports to keep.
+   */
+  public ValidationResultCache(@Value("${validation.cache.maxEntries:500}") int maxEntries) {
+    reports =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /**
+   * Get the report for the given validation, validating only if no report is cached for it.
+   *
+   * @param validator The name of the validator.
+   * @param input The validated input.
+   * @param parameters The parameters that influence the validation's outcome (nulls allowed).
+   * @param validation The validation to run if no report is cached.
+   * @return The report.
+   */
+  public TAR get(String validator, String input, Supplier<TAR> validation, String... parameters) {
+    if (!enabled || input == null || input.length() > maxInputLength) {
+      return validation.get();
+    }
+    String key = key(validator, input, parameters);
+    String cached;
+    synchronized (reports) {
+      cached = reports.get(key);
+    }
+    if (cached != null) {
+      hits.increment();
+      LOG.info("Reusing cached [{}] validation report", validator);
+      return utils.restoreReport(cached);
+    }
+    misses.increment();
+    TAR report = validation.get();
+    String xml = utils.marshalReport(report);
+    synchronized (reports) {
+      reports.put(key, xml);
+    }
+    return report;
+  }
+
+  /**
+   * @return The number of validations answered from the cache.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return The number of validations that were not found in the cache.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return The number of cached reports.
+   */
+  public int getSize() {
+    synchronized (reports) {
+      return reports.size();
+    }
+  }
+
+  private String key(String validator, String input, String... parameters) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    var key = new StringBuilder(validator).append('|');
+    key.append(HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8))));
+    for (String parameter : parameters) {
+      key.append('|').append(Objects.toString(parameter, ""));
+    }
+    return key.toString();
+  }
+}
@@ -36,6 +36,9 @@ public class ValidationServiceImpl implements ValidationService {
   private static final Logger LOG = LoggerFactory.getLogger(ValidationServiceImpl.class);
 
   @Autowired private Utils utils = null;
+  @Autowired private SessionTracing sessionTracing = null;
+  @Autowired private ValidationAdmission validationAdmission = null;
+  @Autowired private PerformanceStats performanceStats = null;
 
   /**
    * The purpose of the getModuleDefinition call is to inform its caller on how the service is
@@ -64,9 +67,33 @@ public class ValidationServiceImpl implements ValidationService {
    */
   @Override
   public ValidationResponse validate(ValidateRequest parameters) {
+    return sessionTracing.observe(
+        parameters.getSessionId(), "gitb.validation.text", () -> doValidate(parameters));
+  }
+
+  private ValidationResponse doValidate(ValidateRequest parameters) {
     LOG.info(
         "Received 'validate' command from test bed for session [{}]", parameters.getSessionId());
+    long start = System.nanoTime();
+    String sut = utils.getOptionalString(parameters.getInput(), "sut").orElse(null);
+    boolean recorded = !WarmUp.isWarmUp(parameters.getSessionId());
     ValidationResponse result = new ValidationResponse();
+    result.setReport(
+        validationAdmission.admit(
+            "text",
+            () -> {
+              TAR report = validateTexts(parameters);
+              // Rejected validations are not recorded, as the SUT was not validated.
+              if (recorded) {
+                performanceStats.recordValidation(
+                    new PerformanceStats.Key("text", null, sut), report.getResult(), start);
+              }
+              return report;
+            }));
+    return result;
+  }
+
+  private TAR validateTexts(ValidateRequest parameters) {
     TAR report = utils.createReport(TestResultType.SUCCESS);
     // First extract the parameters and check to see if they are as expected.
     String providedText = utils.getRequiredString(parameters.getInput(), "text");
@@ -116,7 +143,6 @@ public class ValidationServiceImpl implements ValidationService {
       report.setResult(TestResultType.WARNING);
     }
     // Return the report.
-    result.setReport(report);
-    return result;
+    return report;
   }
 }
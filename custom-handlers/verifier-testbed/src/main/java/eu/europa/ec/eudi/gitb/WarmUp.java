@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.ms.FinalizeRequest;
+import com.gitb.ms.InitiateRequest;
+import com.gitb.ms.MessagingService;
+import com.gitb.ms.SendRequest;
+import com.gitb.vs.ValidateRequest;
+import com.gitb.vs.ValidationService;
+import jakarta.xml.ws.BindingProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Component used to warm up the application before it reports itself as ready.
+ *
+ * <p>The first calls after startup are much slower than later ones, as JAXB contexts, Jackson
+ * serialisers and CXF interceptor chains are initialised and code is not yet compiled. When enabled
+ * ("warmup.enabled"), rounds of synthetic calls are made over HTTP to the four SOAP endpoints
+ * using the sample payloads under "warmup/", until the time taken by a round converges. As this
+ * runs before the application is ready, the readiness probe only reports the application as ready
+ * once the warm-up completes.
+ *
+ * <p>Each round uses new session and transaction identifiers so that rounds are not answered from
+ * the validation report cache. Their sessions are recognised by {@link #isWarmUp(String)}, so that
+ * they are left out of the performance statistics.
+ */
+@Component
+public class WarmUp implements ApplicationRunner {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(WarmUp.class);
+
+  /** The prefix of the session identifiers of warm-up rounds. */
+  private static final String SESSION_PREFIX = "warmup-";
+
+  @Autowired private Utils utils = null;
+  @Autowired private Environment environment = null;
+
+  @Value("${warmup.enabled:false}")
+  private boolean enabled;
+
+  @Value("${warmup.maxRounds:200}")
+  private int maxRounds;
+
+  @Value("${warmup.maxDuration:60000}")
+  private long maxDuration;
+
+  @Value("${warmup.window:10}")
+  private int window;
+
+  @Value("${warmup.tolerance:0.1}")
+  private double tolerance;
+
+  @Value("${server.servlet.context-path:}")
+  private String contextPath;
+
+  @Value("${cxf.path:/services}")
+  private String cxfPath;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    String port = environment.getProperty("local.server.port");
+    if (!enabled || port == null) {
+      return;
+    }
+    String base = "http://localhost:" + port + contextPath + cxfPath;
+    var messaging = client(MessagingService.class, base + "/messaging");
+    var validation = client(ValidationService.class, base + "/validation");
+    var verifier = client(ValidationService.class, base + "/log/validation");
+    var issuer = client(ValidationService.class, base + "/log/validation/issuance");
+    String verifierEvents = sample("warmup/verifier-events.json");
+    String issuerLogs = sample("warmup/issuer-logs.json");
+
+    LOG.info("Warming up");
+    List<Long> rounds = new ArrayList<>();
+    long deadline = System.nanoTime() + Duration.ofMillis(maxDuration).toNanos();
+    try {
+      while (rounds.size() < maxRounds && System.nanoTime() < deadline) {
+        String id = SESSION_PREFIX + rounds.size();
+        long start = System.nanoTime();
+        callMessaging(messaging, id, base);
+        validation.validate(request(id, "text", "warm-up", "expected", "warm-up"));
+        verifier.validate(request(id, "text", verifierEvents.replace("{{id}}", id)));
+        issuer.validate(request(id, "text", issuerLogs.replace("{{id}}", id)));
+        rounds.add(System.nanoTime() - start);
+        if (hasConverged(rounds)) {
+          break;
+        }
+      }
+    } catch (RuntimeException e) {
+      // Warming up is an optimisation so failing must not prevent the application from starting.
+      LOG.warn("Warm-up stopped after {} round(s)", rounds.size(), e);
+      return;
+    }
+    LOG.info(
+        "Warm-up completed after {} round(s) (converged: {}): first round {} ms, last rounds {} ms",
+        rounds.size(),
+        hasConverged(rounds),
+        rounds.isEmpty() ? 0 : rounds.get(0) / 1_000_000,
+        rounds.size() < window ? 0 : median(rounds, rounds.size() - window) / 1_000_000);
+  }
+
+  /**
+   * Check whether a session is one of the warm-up rounds.
+   *
+   * @param sessionId The session ID.
+   * @return Whether the session is a warm-up round.
+   */
+  public static boolean isWarmUp(String sessionId) {
+    return sessionId != null && sessionId.startsWith(SESSION_PREFIX);
+  }
+
+  /**
+   * Check whether the time taken by rounds has converged, i.e. whether the median of the last
+   * window of rounds is within the tolerance of the median of the window before it.
+   */
+  private boolean hasConverged(List<Long> rounds) {
+    if (rounds.size() < 2 * window) {
+      return false;
+    }
+    long last = median(rounds, rounds.size() - window);
+    long previous = median(rounds, rounds.size() - 2 * window);
+    return Math.abs(last - previous) <= tolerance * previous;
+  }
+
+  private long median(List<Long> rounds, int from) {
+    long[] values =
+        rounds.subList(from, from + window).stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(values);
+    return values[values.length / 2];
+  }
+
+  private void callMessaging(MessagingService messaging, String sessionId, String base) {
+    var context = ((BindingProvider) messaging).getRequestContext();
+    context.put(
+        Header.HEADER_LIST,
+        List.of(
+            new Header(Utils.REPLY_TO_QNAME, replyTo(base + "/warmup")),
+            new Header(
+                Utils.TEST_SESSION_ID_QNAME, element(Utils.TEST_SESSION_ID_QNAME, sessionId))));
+    try {
+      messaging.initiate(new InitiateRequest());
+    } finally {
+      context.remove(Header.HEADER_LIST);
+    }
+    var send = new SendRequest();
+    send.setSessionId(sessionId);
+    messaging.send(send);
+    var finalize = new FinalizeRequest();
+    finalize.setSessionId(sessionId);
+    messaging.finalize(finalize);
+  }
+
+  private ValidateRequest request(String sessionId, String... inputs) {
+    var request = new ValidateRequest();
+    request.setSessionId(sessionId);
+    for (int i = 0; i < inputs.length; i += 2) {
+      request
+          .getInput()
+          .add(
+              utils.createAnyContentSimple(
+                  inputs[i], inputs[i + 1], ValueEmbeddingEnumeration.STRING));
+    }
+    return request;
+  }
+
+  private Element replyTo(String address) {
+    Element replyTo = element(Utils.REPLY_TO_QNAME, null);
+    Element child =
+        replyTo
+            .getOwnerDocument()
+            .createElementNS(Utils.REPLY_TO_QNAME.getNamespaceURI(), "Address");
+    child.setTextContent(address);
+    replyTo.appendChild(child);
+    return replyTo;
+  }
+
+  private Element element(QName name, String text) {
+    Document document;
+    try {
+      var factory = DocumentBuilderFactory.newInstance();
+      factory.setNamespaceAware(true);
+      document = factory.newDocumentBuilder().newDocument();
+    } catch (ParserConfigurationException e) {
+      throw new IllegalStateException(e);
+    }
+    Element element = document.createElementNS(name.getNamespaceURI(), name.getLocalPart());
+    if (text != null) {
+      element.setTextContent(text);
+    }
+    document.appendChild(element);
+    return element;
+  }
+
+  private static <T> T client(Class<T> serviceClass, String address) {
+    var factory = new JaxWsProxyFactoryBean();
+    factory.setServiceClass(serviceClass);
+    factory.setAddress(address);
+    return serviceClass.cast(factory.create());
+  }
+
+  private static String sample(String path) throws IOException {
+    try (InputStream in = new ClassPathResource(path).getInputStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives the time an issuance spent in each of its phases from the issuer's logs.
+ *
+ * <p>Phases are delimited by markers, configured in order through the
+ * "issuer.phases.markers[i].name" and "issuer.phases.markers[i].pattern" properties. A marker is
+ * reached by the first log line whose message matches its pattern, and each phase runs from a
+ * reached marker to the next one reached.
+ */
+@Component
+public class IssuancePhases {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(IssuancePhases.class);
+
+  /** The largest step back between the times of day of markers not taken as a day's rollover. */
+  private static final Duration HALF_DAY = Duration.ofHours(12);
+
+  /** The markers of the EUDI PID issuer's logs, used when none are configured. */
+  private static final List<Marker> DEFAULT_MARKERS =
+      List.of(
+          new Marker("offer_created", "(?i)credential offer\\b.*\\bcreated"),
+          new Marker("token_issued", "(?i)\\btoken\\b.*\\bissued\\b"),
+          new Marker("credential_requested", "(?i)handling (deferred )?credential request"),
+          new Marker("credential_issued", "(?i)issued credential"));
+
+  @Autowired private Environment environment = null;
+  @Autowired private Json json = null;
+
+  private List<Marker> markers;
+  private Pattern[] patterns;
+
+  @PostConstruct
+  public void init() {
+    markers =
+        Binder.get(environment)
+            .bind("issuer.phases.markers", Bindable.listOf(Marker.class))
+            .orElse(DEFAULT_MARKERS);
+    patterns =
+        markers.stream().map(marker -> Pattern.compile(marker.pattern())).toArray(Pattern[]::new);
+    LOG.info("Issuance phase markers {}", markers.stream().map(Marker::name).toList());
+  }
+
+  /**
+   * Start tracking the markers reached by the lines of a log.
+   *
+   * @return The tracker, to feed with the log's parsed lines.
+   */
+  public Tracker newTracker() {
+    return new Tracker();
+  }
+
+  /**
+   * The markers reached by the lines of a log fed so far.
+   *
+   * <p>Timestamps without a date are placed on consecutive days, starting from the epoch's day: a
+   * marker whose time of day is more than twelve hours before the previous marker's is taken to
+   * follow midnight, rather than to precede it.
+   */
+  public final class Tracker {
+    private final String[] timestamps = new String[markers.size()];
+    private final Instant[] instants = new Instant[markers.size()];
+    private Instant lastTimeOfDay;
+
+    /**
+     * Feed the next parsed line of the log.
+     *
+     * @param line The parsed line.
+     */
+    public void accept(LogFormat.LogLine line) {
+      if (line.message() == null || line.timestamp() == null) {
+        return;
+      }
+      Instant instant = null;
+      for (int i = 0; i < patterns.length; i++) {
+        if (timestamps[i] == null && patterns[i].matcher(line.message()).find()) {
+          if (instant == null) {
+            instant = instantOf(line.timestamp());
+          }
+          timestamps[i] = line.timestamp();
+          instants[i] = instant;
+        }
+      }
+    }
+
+    private Instant instantOf(String timestamp) {
+      LocalTime time = timeOfDay(timestamp.trim());
+      if (time == null) {
+        return parse(timestamp);
+      }
+      LocalDate day =
+          lastTimeOfDay == null
+              ? LocalDate.EPOCH
+              : LocalDate.ofInstant(lastTimeOfDay, ZoneOffset.UTC);
+      Instant instant = time.atDate(day).toInstant(ZoneOffset.UTC);
+      if (lastTimeOfDay != null && instant.isBefore(lastTimeOfDay.minus(HALF_DAY))) {
+        instant = instant.plus(Duration.ofDays(1));
+      }
+      lastTimeOfDay = instant;
+      return instant;
+    }
+
+    /**
+     * The phases between consecutive reached markers, in order. Phases whose end precedes their
+     * start (lines logged out of order) are left out.
+     *
+     * @return The phases.
+     */
+    public List<Phase> phases() {
+      List<Phase> phases = new ArrayList<>();
+      int previous = -1;
+      for (int i = 0; i < instants.length; i++) {
+        if (instants[i] == null) {
+          continue;
+        }
+        if (previous >= 0 && !instants[i].isBefore(instants[previous])) {
+          phases.add(
+              new Phase(
+                  markers.get(previous).name(),
+                  markers.get(i).name(),
+                  Duration.between(instants[previous], instants[i]).toMillis()));
+        }
+        previous = i;
+      }
+      return phases;
+    }
+
+    /**
+     * The time from the first to the last reached marker.
+     *
+     * @return The total duration in milliseconds (null if no marker was reached).
+     */
+    public Long totalMillis() {
+      Instant first = null;
+      Instant last = null;
+      for (Instant instant : instants) {
+        if (instant != null) {
+          first = first == null || instant.isBefore(first) ? instant : first;
+          last = last == null || instant.isAfter(last) ? instant : last;
+        }
+      }
+      return first == null ? null : Duration.between(first, last).toMillis();
+    }
+
+    /**
+     * Build the timing of the issuance: the markers reached, the phases and the total duration.
+     *
+     * @return The timing as JSON.
+     */
+    public ObjectNode toJson() {
+      ObjectNode timing = json.getReader().createObjectNode();
+      ArrayNode reached = timing.putArray("markers");
+      for (int i = 0; i < timestamps.length; i++) {
+        if (timestamps[i] != null) {
+          reached.addObject().put("marker", markers.get(i).name()).put("timestamp", timestamps[i]);
+        }
+      }
+      ArrayNode phases = timing.putArray("phases");
+      for (Phase phase : phases()) {
+        phases
+            .addObject()
+            .put("phase", phase.name())
+            .put("from", phase.from())
+            .put("to", phase.to())
+            .put("durationMillis", phase.durationMillis());
+      }
+      Long total = totalMillis();
+      if (total != null) {
+        timing.put("totalMillis", total);
+      }
+      return timing;
+    }
+  }
+
+  /**
+   * Parse a log timestamp. Timestamps without a time zone are read as UTC, and timestamps without
+   * a date as of the epoch's day (see {@link Tracker} for logs spanning midnight). Timestamps of
+   * digits only are read as the time since the epoch, in seconds (up to 11 digits, i.e. until the
+   * year 5138), milliseconds (up to 14 digits), microseconds (up to 17 digits) or nanoseconds.
+   *
+   * @return The parsed timestamp (null if it cannot be parsed).
+   */
+  static Instant parse(String timestamp) {
+    String value = timestamp.trim();
+    try {
+      return OffsetDateTime.parse(value).toInstant();
+    } catch (DateTimeParseException e) {
+      // Not an ISO timestamp with offset.
+    }
+    try {
+      return LocalDateTime.parse(value.replace(',', '.').replace(' ', 'T'))
+          .toInstant(ZoneOffset.UTC);
+    } catch (DateTimeParseException e) {
+      // Not a local date and time.
+    }
+    LocalTime time = timeOfDay(value);
+    if (time != null) {
+      return time.atDate(LocalDate.EPOCH).toInstant(ZoneOffset.UTC);
+    }
+    if (!value.isEmpty() && value.chars().allMatch(Character::isDigit) && value.length() <= 19) {
+      try {
+        return ofEpoch(Long.parseLong(value), value.length());
+      } catch (NumberFormatException e) {
+        // Beyond the range of nanoseconds since the epoch.
+      }
+    }
+    return null;
+  }
+
+  /** The time of a timestamp without a date (null if it has one, or is not a time). */
+  private static LocalTime timeOfDay(String value) {
+    try {
+      return LocalTime.parse(value.replace(',', '.'));
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /** The instant a number of the given digits since the epoch stands for (see parse). */
+  private static Instant ofEpoch(long value, int digits) {
+    if (digits <= 11) {
+      return Instant.ofEpochSecond(value);
+    } else if (digits <= 14) {
+      return Instant.ofEpochMilli(value);
+    } else if (digits <= 17) {
+      return Instant.ofEpochSecond(0, value * 1000);
+    }
+    return Instant.ofEpochSecond(0, value);
+  }
+
+  /**
+   * A phase marker.
+   *
+   * @param name The marker's name.
+   * @param pattern The regular expression a log message must contain to reach the marker.
+   */
+  public record Marker(String name, String pattern) {}
+
+  /**
+   * A phase of an issuance.
+   *
+   * @param from The marker starting the phase.
+   * @param to The marker ending the phase.
+   * @param durationMillis The time spent in the phase.
+   */
+  public record Phase(String from, String to, long durationMillis) {
+
+    /** The phase's name, "[from]..[to]". */
+    public String name() {
+      return from + ".." + to;
+    }
+  }
+}
@@ -15,7 +15,9 @@
  */
 package eu.europa.ec.eudi.issuer.service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.gitb.core.AnyContent;
@@ -24,9 +26,17 @@ import com.gitb.tr.TAR;
 import com.gitb.tr.TestResultType;
 import com.gitb.vs.*;
 import com.gitb.vs.Void;
+import eu.europa.ec.eudi.gitb.PerformanceStats;
+import eu.europa.ec.eudi.gitb.SessionTracing;
 import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.gitb.ValidationAdmission;
+import eu.europa.ec.eudi.gitb.ValidationResultCache;
+import eu.europa.ec.eudi.gitb.WarmUp;
 import eu.europa.ec.eudi.issuer.dto.CredentialOfferLogsTO;
 import eu.europa.ec.eudi.verifier.utils.Json;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
@@ -38,6 +48,12 @@ import org.springframework.stereotype.Component;
 public class IssuerValidationService implements ValidationService {
   @Autowired private Utils utils;
   @Autowired private Json json;
+  @Autowired private ValidationResultCache validationResultCache;
+  @Autowired private SessionTracing sessionTracing;
+  @Autowired private ValidationAdmission validationAdmission;
+  @Autowired private LogFormatRegistry logFormatRegistry;
+  @Autowired private IssuancePhases issuancePhases;
+  @Autowired private PerformanceStats performanceStats;
 
   private Logger log = LoggerFactory.getLogger(IssuerValidationService.class);
 
@@ -48,11 +64,62 @@ public class IssuerValidationService implements ValidationService {
 
   @Override
   public ValidationResponse validate(ValidateRequest parameters) {
+    return sessionTracing.observe(
+        parameters.getSessionId(), "gitb.validation.issuer", () -> doValidate(parameters));
+  }
+
+  /**
+   * Validate archived issuer logs of a batch run.
+   *
+   * <p>Batch items bypass the result cache and admission limits of test sessions, and are not
+   * recorded in the live metrics and performance statistics.
+   *
+   * @param parameters The item's validation request.
+   * @return The validation's response.
+   */
+  public ValidationResponse validateBatchItem(ValidateRequest parameters) {
+    ValidationResponse result = new ValidationResponse();
+    result.setReport(validateInput(parameters, null, null));
+    return result;
+  }
+
+  private ValidationResponse doValidate(ValidateRequest parameters) {
     log.info(
         "Received 'validate' command from test bed for session [{}]", parameters.getSessionId());
 
-    TAR report = utils.createReport(TestResultType.SUCCESS);
+    long start = System.nanoTime();
+    var statsKey =
+        WarmUp.isWarmUp(parameters.getSessionId())
+            ? null
+            : new PerformanceStats.Key(
+                "issuer", null, utils.getOptionalString(parameters.getInput(), "sut").orElse(null));
+    AtomicBoolean validated = new AtomicBoolean();
+    ValidationResponse result = new ValidationResponse();
+    result.setReport(
+        validationAdmission.admit(
+            "issuer",
+            () -> {
+              TAR report = validateInput(parameters, statsKey, validated);
+              // Rejected validations are not recorded, as the SUT was not validated.
+              if (statsKey != null) {
+                performanceStats.recordValidation(
+                    statsKey, report.getResult(), start, !validated.get());
+              }
+              return report;
+            }));
+    return result;
+  }
 
+  /**
+   * Validate the request's inputs.
+   *
+   * @param statsKey The series to record the validation in (null for batch runs and warm-up
+   *     rounds, which are not recorded).
+   * @param validated Set once the logs are validated rather than answered from the cache (null for
+   *     batch runs, which are not cached).
+   */
+  private TAR validateInput(
+      ValidateRequest parameters, PerformanceStats.Key statsKey, AtomicBoolean validated) {
     String providedText = utils.getRequiredString(parameters.getInput(), "text");
     log.info("Retrieved issuer's logs from 'input' text.");
 
@@ -64,6 +131,28 @@ public class IssuerValidationService implements ValidationService {
       log.warn("None 'expected' text was received. Exception Message: {}", e.getMessage());
     }
 
+    String expected = expectedText;
+    String format = utils.getOptionalString(parameters.getInput(), "format").orElse(null);
+    if (validated == null) {
+      return validateLogs(providedText, format, null);
+    }
+    return validationResultCache.get(
+        "issuer",
+        providedText,
+        () -> {
+          validated.set(true);
+          return validateLogs(providedText, format, statsKey);
+        },
+        expected,
+        format);
+  }
+
+  private TAR validateLogs(String providedText, String format, PerformanceStats.Key statsKey) {
+    if (isStructured(providedText)) {
+      return validateStructuredLogs(providedText, statsKey);
+    }
+    TAR report = utils.createReport(TestResultType.SUCCESS);
+
     CredentialOfferLogsTO providedLogs;
     try {
       providedLogs = json.getReader().readValue(providedText, CredentialOfferLogsTO.class);
@@ -75,109 +164,220 @@ public class IssuerValidationService implements ValidationService {
       throw new RuntimeException(e);
     }
 
-    if (providedLogs.getSuccessful()) {
+    if (providedLogs.getSuccessful() && providedLogs.getLogs() != null) {
       report.setResult(TestResultType.SUCCESS);
     } else {
       report.setResult(TestResultType.FAILURE);
     }
     log.info("Added test result type to Report.");
+    if (providedLogs.getLogs() == null) {
+      log.warn("The issuer's logs document has no logs, failing the validation.");
+      providedLogs.setLogs(List.of());
+    }
 
-    AnyContent logs;
+    LogSummary summary = parseLines(providedLogs, format);
+    log.info("Created JSON Array from list of issuer's logs.");
+    addToReport(report, summary, providedLogs.getCount());
+    recordPhases(summary, statsKey);
+    return report;
+  }
+
+  /** Add the parsed logs and the issuance's phase timing to the report. */
+  private void addToReport(TAR report, LogSummary summary, long totalCount) {
     try {
-      ObjectNode logsJSON = fromListToJSONArray(providedLogs);
-      log.info("Created JSON Array from list of issuer's logs.");
-      logs = toContent(logsJSON);
-      report.getContext().getItem().add(logs);
+      report.getContext().getItem().add(toContent("Issuer's Logs", summary.toJson(totalCount)));
       log.info("Added issuer's logs to Report.");
+      report.getContext().getItem().add(toContent("Issuance timing", summary.timing.toJson()));
     } catch (JsonProcessingException e) {
       log.error("Failed to add issuer's log to Report. Exception Message: {}", e.getMessage());
       throw new RuntimeException(e);
     }
+  }
 
-    ValidationResponse result = new ValidationResponse();
-    result.setReport(report);
-    return result;
+  /**
+   * Check whether the provided text is a stream of structured log events (NDJSON) rather than the
+   * issuer's logs document, by reading its first object: only log events carry a timestamp, level
+   * or message, so a document missing its "logs" or "successful" fields is still read as one.
+   */
+  private boolean isStructured(String providedText) {
+    try (JsonParser parser = json.getReader().getFactory().createParser(providedText)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return false;
+      }
+      LogFormat.LogLine first = JsonLogFormat.read(parser);
+      return first.timestamp() != null || first.level() != null || first.message() != null;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Validate a stream of structured log events, one JSON object per line. Events are read with a
+   * streaming parser and the report fails if any of them has the ERROR level, as such logs do not
+   * state whether the issuance was successful.
+   */
+  private TAR validateStructuredLogs(String providedText, PerformanceStats.Key statsKey) {
+    LogSummary summary = new LogSummary(JsonLogFormat.NAME);
+    try (JsonParser parser = json.getReader().getFactory().createParser(providedText)) {
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        int start = (int) parser.currentTokenLocation().getCharOffset();
+        LogFormat.LogLine line = JsonLogFormat.read(parser);
+        int end = (int) parser.currentLocation().getCharOffset();
+        summary.add(line, providedText.substring(start, end));
+      }
+    } catch (IOException e) {
+      log.error("Failed to read issuer's structured logs. Exception Message: {}", e.getMessage());
+      throw new RuntimeException(e);
+    }
+    log.info("Loaded {} structured log event(s) of the issuer.", summary.entries.size());
+
+    TAR report =
+        utils.createReport(summary.error > 0 ? TestResultType.FAILURE : TestResultType.SUCCESS);
+    addToReport(report, summary, summary.entries.size());
+    recordPhases(summary, statsKey);
+    return report;
   }
 
-  private void debugMatch(String name, String regex, String logLine) {
-    Pattern p = Pattern.compile(regex);
-    Matcher m = p.matcher(logLine);
+  /**
+   * Record the issuance's phases in the cross-session statistics. Reports reused for identical
+   * logs are not recorded again, and nothing is recorded without a series (i.e. for batch runs and
+   * warm-up rounds).
+   */
+  private void recordPhases(LogSummary summary, PerformanceStats.Key statsKey) {
+    if (statsKey == null) {
+      return;
+    }
+    for (IssuancePhases.Phase phase : summary.timing.phases()) {
+      performanceStats.recordPhase(statsKey, phase.name(), phase.durationMillis());
+    }
+    Long total = summary.timing.totalMillis();
+    if (total != null) {
+      performanceStats.recordPhase(statsKey, "total", total);
+    }
+  }
+
+  /**
+   * Log how the given log line matches the log format. As this is costly and verbose it is only
+   * done when diagnostics are enabled for the session (see SessionDiagnostics).
+   */
+  private void debugMatch(String name, Pattern pattern, String logLine) {
+    Matcher m = pattern.matcher(logLine);
 
     if (!m.find()) {
-      log.error("{} not found in log.", name);
+      log.debug("{} not found in log.", name);
       return;
     }
 
-    log.info("{} found in: '{}'", name, m.group(0));
+    log.debug("{} found in: '{}'", name, utils.abbreviate(m.group(0)));
     int groupCount = m.groupCount();
     for (int i = 1; i <= groupCount; i++) {
       try {
-        log.info("  group({}): '{}'", i, m.group(i));
+        log.debug("  group({}): '{}'", i, utils.abbreviate(m.group(i)));
       } catch (Exception e) {
-        log.warn("  Failed to retrieve group({}). Exception: {}", i, e.getMessage());
+        log.debug("  Failed to retrieve group({}). Exception: {}", i, e.getMessage());
       }
     }
   }
 
-  private ObjectNode fromListToJSONArray(CredentialOfferLogsTO logs) {
-    int info_counter_logs = 0;
-    int warn_counter_logs = 0;
-    int error_counter_logs = 0;
+  private LogSummary parseLines(CredentialOfferLogsTO logs, String formatName) {
+    LogFormat format =
+        formatName != null
+            ? logFormatRegistry.get(formatName)
+            : logFormatRegistry.detect(logs.getLogs());
+    log.info("Parsing issuer's logs as format [{}].", format.name());
 
-    ObjectNode logsJsonObject = this.json.getReader().createObjectNode();
-
-    ArrayNode json = this.json.getReader().createArrayNode();
+    LogSummary summary = new LogSummary(format.name());
     for (String logLine : logs.getLogs()) {
-      debugMatch("Timestamp", "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2},\\d{3}).*", logLine);
-      debugMatch("Logger name", "^\\s*\\S+\\s+(\\S+).*", logLine);
-      debugMatch("Level", ".*\\b(INFO|WARN|ERROR|DEBUG|TRACE)\\b.*", logLine);
-      log.info("Checked if log matches expected format: {}", logLine);
-
-      Pattern p =
-          Pattern.compile(
-              "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2},\\d{3})\\s+([\\w\\.]+)\\s+(INFO|WARN|ERROR|DEBUG|TRACE)\\s+(?:,\\s*)?(.*)$");
-      Matcher m = p.matcher(logLine);
-
-      if (m.find()) {
-        ObjectNode logAsJSON = this.json.getReader().createObjectNode();
-        logAsJSON.put("timestamp", m.group(1));
-        logAsJSON.put("logger", m.group(2));
-        logAsJSON.put("level", m.group(3));
-        switch (m.group(3)) {
-          case "INFO" -> info_counter_logs++;
-          case "WARN" -> warn_counter_logs++;
-          case "ERROR" -> error_counter_logs++;
+      if (log.isDebugEnabled()) {
+        if (format instanceof PatternLogFormat patternFormat) {
+          debugMatch(format.name(), patternFormat.pattern(), logLine);
         }
-        logAsJSON.put("message", m.group(4));
-        logAsJSON.put("full_log", logLine);
-        json.add(logAsJSON);
-        log.debug(logAsJSON.toString());
+        log.debug("Checked if log matches expected format: {}", utils.abbreviate(logLine));
+      }
+
+      LogFormat.LogLine line = format.parse(logLine);
+      if (line != null) {
+        summary.add(line, logLine);
       } else {
-        log.warn(
+        summary.unmatched++;
+        log.debug(
             "Failed to retrieved required information (timestamp, logger name, level) from log {}",
-            logLine);
+            utils.abbreviate(logLine));
       }
     }
+    if (summary.unmatched > 0) {
+      log.warn(
+          "Failed to retrieve required information (timestamp, logger name, level) from {} log(s)",
+          summary.unmatched);
+    }
+    return summary;
+  }
 
-    logsJsonObject.set("logs", json);
+  /** The parsed lines of a log, their counts by level and the issuance phases they mark. */
+  private final class LogSummary {
+    private final String format;
+    private final ArrayNode entries = json.getReader().createArrayNode();
+    private final IssuancePhases.Tracker timing = issuancePhases.newTracker();
+    private int info;
+    private int warn;
+    private int error;
+    private int unmatched;
 
-    ObjectNode counter = this.json.getReader().createObjectNode();
-    counter.put("error_count", error_counter_logs);
-    counter.put("warn_count", warn_counter_logs);
-    counter.put("info_count", info_counter_logs);
-    counter.put("total_count", logs.getCount());
+    LogSummary(String format) {
+      this.format = format;
+    }
 
-    logsJsonObject.set("log_stats", counter);
+    void add(LogFormat.LogLine line, String fullLog) {
+      ObjectNode entry = json.getReader().createObjectNode();
+      putIfSet(entry, "timestamp", line.timestamp());
+      putIfSet(entry, "logger", line.logger());
+      putIfSet(entry, "level", line.level());
+      if (line.level() != null) {
+        switch (line.level()) {
+          case "INFO" -> info++;
+          case "WARN", "WARNING" -> warn++;
+          case "ERROR", "FATAL" -> error++;
+          default -> {}
+        }
+      }
+      putIfSet(entry, "message", line.message());
+      entry.put("full_log", fullLog);
+      entries.add(entry);
+      timing.accept(line);
+      if (log.isDebugEnabled()) {
+        log.debug(utils.abbreviate(entry));
+      }
+    }
 
-    return logsJsonObject;
+    ObjectNode toJson(long totalCount) {
+      ObjectNode logsJsonObject = json.getReader().createObjectNode();
+      logsJsonObject.put("format", format);
+      logsJsonObject.set("logs", entries);
+
+      ObjectNode counter = json.getReader().createObjectNode();
+      counter.put("error_count", error);
+      counter.put("warn_count", warn);
+      counter.put("info_count", info);
+      counter.put("total_count", totalCount);
+      logsJsonObject.set("log_stats", counter);
+      return logsJsonObject;
+    }
+
+    private static void putIfSet(ObjectNode entry, String name, String value) {
+      if (value != null) {
+        entry.put(name, value);
+      }
+    }
   }
 
-  private AnyContent toContent(ObjectNode logs) throws JsonProcessingException {
-    log.info("Adding logs to Result.");
-    log.debug("Logs: {}", logs.toString());
+  private AnyContent toContent(String name, ObjectNode logs) throws JsonProcessingException {
+    log.info("Adding {} to Result.", name);
+    if (log.isDebugEnabled()) {
+      log.debug("{}: {}", name, utils.abbreviate(logs));
+    }
 
     AnyContent result = new AnyContent();
-    result.setName("Issuer's Logs");
+    result.setName(name);
     result.setType("application/json");
     result.setEncoding("UTF-8");
     result
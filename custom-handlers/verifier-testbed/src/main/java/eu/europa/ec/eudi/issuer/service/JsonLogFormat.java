@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * The format of structured log lines, each a JSON object as written by logback's or log4j's JSON
+ * encoders (e.g. logstash-logback-encoder or ECS layouts).
+ *
+ * <p>Lines are read with a streaming parser that only keeps the values of the known fields, so no
+ * tree is built and no regular expression is evaluated.
+ */
+public final class JsonLogFormat implements LogFormat {
+
+  /** The name of the format. */
+  public static final String NAME = "json";
+
+  private final JsonFactory factory;
+
+  public JsonLogFormat(JsonFactory factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public LogLine parse(String line) {
+    if (!line.stripLeading().startsWith("{")) {
+      return null;
+    }
+    try (JsonParser parser = factory.createParser(line)) {
+      parser.nextToken();
+      LogLine parsed = read(parser);
+      return parsed.level() != null || parsed.message() != null ? parsed : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Read a log line from the object the given parser is positioned at (on its START_OBJECT
+   * token), leaving the parser on the object's END_OBJECT token.
+   *
+   * @param parser The parser.
+   * @return The parts of the log line.
+   * @throws IOException If the object cannot be parsed.
+   */
+  public static LogLine read(JsonParser parser) throws IOException {
+    String timestamp = null;
+    String logger = null;
+    String level = null;
+    String message = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      if (!parser.nextToken().isScalarValue()) {
+        parser.skipChildren();
+        continue;
+      }
+      switch (field) {
+        case "@timestamp", "timestamp", "time", "ts" -> timestamp = parser.getValueAsString();
+        case "logger_name", "logger", "loggerName", "log.logger" ->
+            logger = parser.getValueAsString();
+        case "level", "severity", "log.level" -> level = parser.getValueAsString();
+        case "message", "msg" -> message = parser.getValueAsString();
+        default -> {}
+      }
+    }
+    return new LogLine(
+        timestamp, logger, level == null ? null : level.toUpperCase(Locale.ROOT), message);
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+/** A format of issuer log lines, giving the timestamp, logger, level and message of a line. */
+public interface LogFormat {
+
+  /** The name of the format, as reported and as selected through the "format" input. */
+  String name();
+
+  /**
+   * Parse the given log line.
+   *
+   * @param line The line to parse.
+   * @return The parts of the line, or null if the line does not have this format.
+   */
+  LogLine parse(String line);
+
+  /**
+   * The parts of a log line. Parts that the format does not include are null.
+   *
+   * @param timestamp The line's timestamp, as written.
+   * @param logger The name of the logger.
+   * @param level The level, in upper case.
+   * @param message The message.
+   */
+  record LogLine(String timestamp, String logger, String level, String message) {}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+import eu.europa.ec.eudi.verifier.utils.Json;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of the log formats issuer logs can be written in.
+ *
+ * <p>Besides the built-in formats, formats can be configured as layout patterns through the
+ * "issuer.log.formats.&lt;name&gt;" properties, replacing built-in formats of the same name. All
+ * formats are compiled at startup. The format of a log is detected once, on a sample of its lines,
+ * and then used for all of its lines.
+ */
+@Component
+public class LogFormatRegistry {
+
+  /** The format of the EUDI PID issuer's logs, used when no format matches. */
+  public static final String DEFAULT_FORMAT = "pid-issuer";
+
+  /** The maximum number of detected formats kept. */
+  private static final int MAX_DETECTED = 256;
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(LogFormatRegistry.class);
+
+  @Autowired private Environment environment = null;
+  @Autowired private Json json = null;
+
+  @Value("${issuer.log.detection.sampleSize:20}")
+  private int sampleSize;
+
+  /** The formats, in the order they are preferred when detecting a log's format. */
+  private final Map<String, LogFormat> formats = new LinkedHashMap<>();
+
+  /**
+   * Detected formats by sample of lines. Logs polled repeatedly from an issuer only grow, so their
+   * sample (and format) stays the same between validations.
+   */
+  private final Map<List<String>, LogFormat> detected =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, LogFormat> eldest) {
+              return size() > MAX_DETECTED;
+            }
+          });
+
+  @PostConstruct
+  public void init() {
+    Map<String, String> configured =
+        Binder.get(environment)
+            .bind("issuer.log.formats", Bindable.mapOf(String.class, String.class))
+            .orElse(Map.of());
+    configured.forEach((name, layout) -> register(PatternLogFormat.ofLayout(name, layout)));
+    register(
+        PatternLogFormat.ofRegex(
+            DEFAULT_FORMAT,
+            "^(?<timestamp>\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2},\\d{3})"
+                + "\\s+(?<logger>[\\w\\.]+)\\s+(?<level>INFO|WARN|ERROR|DEBUG|TRACE)"
+                + "\\s+(?:,\\s*)?(?<message>.*)$"));
+    register(
+        PatternLogFormat.ofLayout(
+            "spring-boot",
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %logger : %m"));
+    register(
+        PatternLogFormat.ofLayout(
+            "logback", "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n"));
+    register(PatternLogFormat.ofLayout("log4j", "%d %-5p [%t] %c - %m%n"));
+    register(new JsonLogFormat(json.getReader().getFactory()));
+    LOG.info("Registered issuer log formats {}", formats.keySet());
+  }
+
+  private void register(LogFormat format) {
+    formats.putIfAbsent(format.name(), format);
+  }
+
+  /**
+   * Get a format by name.
+   *
+   * @param name The format's name.
+   * @return The format.
+   * @throws IllegalArgumentException If no such format is registered.
+   */
+  public LogFormat get(String name) {
+    LogFormat format = formats.get(name);
+    if (format == null) {
+      throw new IllegalArgumentException(
+          String.format("Unknown log format [%s]. Known formats are %s.", name, formats.keySet()));
+    }
+    return format;
+  }
+
+  /**
+   * Detect the format of the given log lines, as the format matching most of the first (non-blank)
+   * lines. Ties are resolved in favour of configured formats, then in the order of the built-in
+   * ones. The format detected for a sample is reused for logs with the same sample.
+   *
+   * @param lines The log lines.
+   * @return The detected format (the default format if none matches).
+   */
+  public LogFormat detect(List<String> lines) {
+    List<String> sample = new ArrayList<>();
+    for (int i = 0; i < lines.size() && sample.size() < sampleSize; i++) {
+      if (!lines.get(i).isBlank()) {
+        sample.add(lines.get(i));
+      }
+    }
+    LogFormat cached = detected.get(sample);
+    if (cached != null) {
+      return cached;
+    }
+    LogFormat best = formats.get(DEFAULT_FORMAT);
+    int bestMatches = 0;
+    for (LogFormat format : formats.values()) {
+      int matches = 0;
+      for (String line : sample) {
+        if (format.parse(line) != null) {
+          matches++;
+        }
+      }
+      if (matches > bestMatches) {
+        best = format;
+        bestMatches = matches;
+      }
+    }
+    LOG.debug(
+        "Detected log format [{}] ({}/{} sampled lines)", best.name(), bestMatches, sample.size());
+    detected.put(sample, best);
+    return best;
+  }
+}
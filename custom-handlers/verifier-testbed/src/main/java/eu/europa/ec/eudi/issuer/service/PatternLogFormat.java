@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A log format described by a regular expression with the named groups "timestamp", "logger",
+ * "level" and "message" (each optional).
+ *
+ * <p>Formats are usually compiled from logback or log4j layout patterns such as {@code %d
+ * [%thread] %-5level %logger{36} - %msg}, so that the issuer's own logging configuration can be
+ * used as-is. The pattern is compiled once, when the format is created.
+ */
+public final class PatternLogFormat implements LogFormat {
+
+  /** A conversion of a layout pattern: modifiers, conversion word and option. */
+  private static final Pattern CONVERSION =
+      Pattern.compile("%(-?\\d*(?:\\.-?\\d+)?)([a-zA-Z]+)(?:\\{([^}]*)})?");
+
+  private static final String LEVELS = "TRACE|DEBUG|INFO|WARN|WARNING|ERROR|FATAL";
+
+  /** The date format of %d when none is given (logback's and log4j's ISO8601). */
+  private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss,SSS";
+
+  private final String name;
+  private final Pattern pattern;
+  private final boolean hasTimestamp;
+  private final boolean hasLogger;
+  private final boolean hasLevel;
+  private final boolean hasMessage;
+
+  private PatternLogFormat(String name, String regex) {
+    this.name = name;
+    this.pattern = Pattern.compile(regex);
+    this.hasTimestamp = regex.contains("(?<timestamp>");
+    this.hasLogger = regex.contains("(?<logger>");
+    this.hasLevel = regex.contains("(?<level>");
+    this.hasMessage = regex.contains("(?<message>");
+  }
+
+  /**
+   * Create a format from a regular expression.
+   *
+   * @param name The format's name.
+   * @param regex The regular expression, with named groups for the parts of a line.
+   * @return The format.
+   */
+  public static PatternLogFormat ofRegex(String name, String regex) {
+    return new PatternLogFormat(name, regex);
+  }
+
+  /**
+   * Create a format from a logback or log4j layout pattern.
+   *
+   * <p>The date (%d), level (%p), logger (%c), thread (%t) and message (%m) conversions are
+   * supported, with their padding and truncation modifiers. Other conversions (e.g. %X or %pid)
+   * match a single token. Whitespace matches any amount of whitespace.
+   *
+   * @param name The format's name.
+   * @param layout The layout pattern.
+   * @return The format.
+   * @throws IllegalArgumentException If the layout cannot be compiled.
+   */
+  public static PatternLogFormat ofLayout(String name, String layout) {
+    return new PatternLogFormat(name, layoutToRegex(layout));
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  /** The compiled pattern, for diagnostics. */
+  public Pattern pattern() {
+    return pattern;
+  }
+
+  @Override
+  public LogLine parse(String line) {
+    Matcher m = pattern.matcher(line);
+    if (!m.find()) {
+      return null;
+    }
+    return new LogLine(
+        hasTimestamp ? m.group("timestamp") : null,
+        hasLogger ? m.group("logger") : null,
+        hasLevel ? m.group("level").toUpperCase(Locale.ROOT) : null,
+        hasMessage ? m.group("message") : null);
+  }
+
+  static String layoutToRegex(String layout) {
+    StringBuilder regex = new StringBuilder("^");
+    Set<String> groups = new HashSet<>();
+    int i = 0;
+    while (i < layout.length()) {
+      char c = layout.charAt(i);
+      if (c == '%' && layout.startsWith("%%", i)) {
+        regex.append('%');
+        i += 2;
+      } else if (c == '%') {
+        Matcher m = CONVERSION.matcher(layout).region(i, layout.length());
+        if (!m.lookingAt()) {
+          throw new IllegalArgumentException(
+              String.format("Invalid conversion at index %s of log layout [%s].", i, layout));
+        }
+        String conversion = conversion(m.group(2), m.group(3), groups);
+        // Padded values may start or end with spaces.
+        regex.append(m.group(1).isEmpty() ? conversion : "\\s*" + conversion + "\\s*");
+        i = m.end();
+      } else if (Character.isWhitespace(c)) {
+        regex.append("\\s+");
+        while (i < layout.length() && Character.isWhitespace(layout.charAt(i))) {
+          i++;
+        }
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+        i++;
+      }
+    }
+    return regex.append("$").toString();
+  }
+
+  private static String conversion(String word, String option, Set<String> groups) {
+    return switch (word) {
+      case "d", "date" -> group("timestamp", dateToRegex(dateFormat(option)), groups);
+      case "p", "le", "level" -> group("level", "(?i:" + LEVELS + ")", groups);
+      case "c", "lo", "logger" -> group("logger", "\\S+", groups);
+      case "t", "thread" -> ".+?";
+      case "m", "msg", "message" -> group("message", ".*", groups);
+      case "n" -> "";
+      default -> "\\S*";
+    };
+  }
+
+  /** Capture the given expression, unless an earlier conversion already captured the group. */
+  private static String group(String name, String expression, Set<String> groups) {
+    return groups.add(name) ? "(?<" + name + ">" + expression + ")" : "(?:" + expression + ")";
+  }
+
+  /** Extract the date format of a %d option, dropping the time zone that may follow it. */
+  private static String dateFormat(String option) {
+    if (option == null || option.isBlank() || option.equals("ISO8601")) {
+      return DEFAULT_DATE_FORMAT;
+    }
+    if (option.startsWith("\"")) {
+      int end = option.indexOf('"', 1);
+      return option.substring(1, end < 0 ? option.length() : end);
+    }
+    int comma = option.indexOf(',');
+    return (comma < 0 ? option : option.substring(0, comma)).trim();
+  }
+
+  /** Convert a date format (as used by SimpleDateFormat) to a regular expression. */
+  static String dateToRegex(String format) {
+    StringBuilder regex = new StringBuilder();
+    int i = 0;
+    while (i < format.length()) {
+      char c = format.charAt(i);
+      if (c == '\'') {
+        int end = format.indexOf('\'', i + 1);
+        end = end < 0 ? format.length() : end;
+        regex.append(Pattern.quote(format.substring(i + 1, end)));
+        i = end + 1;
+      } else if (Character.isLetter(c)) {
+        int end = i;
+        while (end < format.length() && format.charAt(end) == c) {
+          end++;
+        }
+        regex.append(dateField(c, end - i));
+        i = end;
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+        i++;
+      }
+    }
+    return regex.toString();
+  }
+
+  private static String dateField(char letter, int count) {
+    return switch (letter) {
+      case 'M' -> count >= 3 ? "\\p{L}+" : count == 1 ? "\\d{1,2}" : "\\d{2}";
+      case 'y', 'u' -> count == 2 ? "\\d{2}" : "\\d{4}";
+      case 'd', 'H', 'h', 'k', 'K', 'm', 's', 'S', 'D', 'w', 'W', 'F' ->
+          count == 1 ? "\\d{1,2}" : "\\d{" + count + "}";
+      case 'E', 'a' -> "\\p{L}+";
+      case 'X', 'x', 'Z' -> "(?:Z|[+-]\\d{2}(?::?\\d{2})?)";
+      default -> "\\S+";
+    };
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.dto
+
+/**
+ * The time spent in each phase of a transaction's flow, as derived from its events' timestamps.
+ *
+ * @property skipped The phases whose events were logged out of flow order, and so were not timed.
+ */
+data class TimingProfile(
+    val phases: List<PhaseTiming>,
+    val totalMillis: Long?,
+    val skipped: List<String> = emptyList(),
+)
+
+/**
+ * The time spent in a phase of a transaction's flow.
+ *
+ * @property from The event starting the phase.
+ * @property to The event ending the phase.
+ * @property sloMillis The phase's latency threshold, if configured.
+ * @property exceeded Whether the phase took longer than its threshold.
+ */
+data class PhaseTiming(
+    val phase: String,
+    val from: String,
+    val to: String,
+    val durationMillis: Long,
+    val sloMillis: Long? = null,
+    val exceeded: Boolean = false,
+)
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.dto
+
+/**
+ * A declarative set of rules a transaction's events must satisfy, as read from a rule file or a
+ * test case's "rules" input.
+ */
+data class VerifierRuleSet(
+    val name: String,
+    val description: String? = null,
+    val checks: List<VerifierRule> = emptyList(),
+    val decidedBy: VerifierDecision? = null,
+)
+
+/**
+ * A single rule. Depending on its type, it names one event ("present", "absent"), two events
+ * ("order", "within") or the events whose field must match ("sameField").
+ */
+data class VerifierRule(
+    val type: String,
+    val message: String,
+    val event: String? = null,
+    val before: String? = null,
+    val after: String? = null,
+    val maxSeconds: Long? = null,
+    val events: List<String> = emptyList(),
+    val field: String? = null,
+)
+
+/** The events after which the outcome is certain: any one of "anyOf", or all of "allOf". */
+data class VerifierDecision(
+    val anyOf: List<String> = emptyList(),
+    val allOf: List<String> = emptyList(),
+)
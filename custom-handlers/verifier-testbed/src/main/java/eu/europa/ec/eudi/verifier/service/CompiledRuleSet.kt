@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import com.fasterxml.jackson.annotation.JsonSubTypes
+import com.fasterxml.jackson.databind.JsonNode
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent
+import eu.europa.ec.eudi.verifier.dto.VerifierRule
+import eu.europa.ec.eudi.verifier.dto.VerifierRuleSet
+import eu.europa.ec.eudi.verifier.utils.Json
+import java.time.Duration
+import java.time.Instant
+
+/**
+ * A rule set compiled against the presentation event types.
+ *
+ * Event names are resolved to event classes once, when compiling, so that evaluating a transaction
+ * is a single pass over its events with a class comparison per rule and event.
+ */
+class CompiledRuleSet private constructor(
+    /** Identifies the rule set in cached reports and stored transaction state. */
+    val id: String,
+    private val checks: List<() -> RuleCheck>,
+    private val anyOf: Set<Class<out PresentationEvent>>,
+    private val allOf: Set<Class<out PresentationEvent>>,
+) {
+    fun newEvaluation(): RuleEvaluation = RuleEvaluation(checks.map { it() }, anyOf, allOf)
+
+    companion object {
+        /** Event classes by the event names used in logs and rule sets. */
+        private val eventTypes: Map<String, Class<out PresentationEvent>> =
+            PresentationEvent::class.java
+                .getAnnotation(JsonSubTypes::class.java)
+                .value
+                .associate { it.name to it.value.java.asSubclass(PresentationEvent::class.java) }
+
+        /**
+         * Compile the given rule set.
+         *
+         * @throws IllegalArgumentException If a rule has an unknown type, names an unknown event
+         * or lacks a property its type requires.
+         */
+        fun compile(
+            id: String,
+            definition: VerifierRuleSet,
+            json: Json,
+        ): CompiledRuleSet {
+            fun eventType(name: String?): Class<out PresentationEvent> {
+                requireNotNull(name) { "A rule of rule set [${definition.name}] lacks an event name" }
+                return requireNotNull(eventTypes[name]) {
+                    "Unknown event [$name] in rule set [${definition.name}]. Known events are ${eventTypes.keys}"
+                }
+            }
+
+            val checks: List<() -> RuleCheck> =
+                definition.checks.map { rule ->
+                    when (rule.type) {
+                        "present" -> eventType(rule.event).let { type -> { Present(type, rule.message) } }
+                        "absent" -> eventType(rule.event).let { type -> { Absent(type, rule.message) } }
+                        "order" -> {
+                            val before = eventType(rule.before)
+                            val after = eventType(rule.after)
+                            ({ Order(before, after, rule.message) })
+                        }
+                        "within" -> {
+                            val before = eventType(rule.before)
+                            val after = eventType(rule.after)
+                            val maxDuration = Duration.ofSeconds(requireProperty(rule, rule.maxSeconds, "maxSeconds"))
+                            ({ Within(before, after, maxDuration, rule.message) })
+                        }
+                        "sameField" -> {
+                            require(rule.events.size == 2) { "Rule [${rule.type}] requires two events" }
+                            val first = eventType(rule.events[0])
+                            val second = eventType(rule.events[1])
+                            val field = requireProperty(rule, rule.field, "field")
+                            ({ SameField(first, second, field, rule.message, json) })
+                        }
+                        else -> throw IllegalArgumentException(
+                            "Unknown rule type [${rule.type}] in rule set [${definition.name}]",
+                        )
+                    }
+                }
+            val decision = definition.decidedBy
+            return CompiledRuleSet(
+                id,
+                checks,
+                decision?.anyOf.orEmpty().map(::eventType).toSet(),
+                decision?.allOf.orEmpty().map(::eventType).toSet(),
+            )
+        }
+
+        private fun <T> requireProperty(
+            rule: VerifierRule,
+            value: T?,
+            name: String,
+        ): T = requireNotNull(value) { "Rule [${rule.type}] requires property [$name]" }
+    }
+}
+
+/**
+ * The evaluation of a rule set over the events of one transaction, fed one event at a time as the
+ * transaction's state advances.
+ */
+class RuleEvaluation internal constructor(
+    private val checks: List<RuleCheck>,
+    private val anyOf: Set<Class<out PresentationEvent>>,
+    private val allOf: Set<Class<out PresentationEvent>>,
+) {
+    private val seen = HashSet<Class<out PresentationEvent>>()
+    private var index = 0
+
+    /**
+     * Feed the next event of the transaction.
+     *
+     * @return Whether the outcome is certain once this event has been seen.
+     */
+    fun accept(event: PresentationEvent): Boolean {
+        checks.forEach { it.accept(index, event) }
+        index++
+        seen.add(event.javaClass)
+        return event.javaClass in anyOf || (allOf.isNotEmpty() && seen.containsAll(allOf))
+    }
+
+    /** The messages of the rules the events seen so far do not satisfy. */
+    fun failures(): List<String> = checks.mapNotNull { it.failure() }.distinct()
+}
+
+/** A rule's state over the events seen so far. */
+internal interface RuleCheck {
+    fun accept(
+        index: Int,
+        event: PresentationEvent,
+    )
+
+    /** The rule's message if it is not satisfied, null otherwise. */
+    fun failure(): String?
+}
+
+/** Requires an event of the given type. */
+private class Present(
+    private val type: Class<out PresentationEvent>,
+    private val message: String,
+) : RuleCheck {
+    private var seen = false
+
+    override fun accept(
+        index: Int,
+        event: PresentationEvent,
+    ) {
+        if (type.isInstance(event)) seen = true
+    }
+
+    override fun failure(): String? = message.takeUnless { seen }
+}
+
+/** Forbids any event of the given type. */
+private class Absent(
+    private val type: Class<out PresentationEvent>,
+    private val message: String,
+) : RuleCheck {
+    private var seen = false
+
+    override fun accept(
+        index: Int,
+        event: PresentationEvent,
+    ) {
+        if (type.isInstance(event)) seen = true
+    }
+
+    override fun failure(): String? = message.takeIf { seen }
+}
+
+/** Requires the first "before" event to precede the first "after" event. */
+private class Order(
+    private val before: Class<out PresentationEvent>,
+    private val after: Class<out PresentationEvent>,
+    private val message: String,
+) : RuleCheck {
+    private var beforeIndex: Int? = null
+    private var afterIndex: Int? = null
+
+    override fun accept(
+        index: Int,
+        event: PresentationEvent,
+    ) {
+        if (beforeIndex == null && before.isInstance(event)) beforeIndex = index
+        if (afterIndex == null && after.isInstance(event)) afterIndex = index
+    }
+
+    override fun failure(): String? {
+        val first = beforeIndex
+        val second = afterIndex
+        return message.takeUnless { first != null && second != null && first < second }
+    }
+}
+
+/** Requires the first "after" event to follow the first "before" event within a maximum duration. */
+private class Within(
+    private val before: Class<out PresentationEvent>,
+    private val after: Class<out PresentationEvent>,
+    private val maxDuration: Duration,
+    private val message: String,
+) : RuleCheck {
+    private var beforeTime: Instant? = null
+    private var afterTime: Instant? = null
+
+    override fun accept(
+        index: Int,
+        event: PresentationEvent,
+    ) {
+        if (beforeTime == null && before.isInstance(event)) beforeTime = parse(event.timestamp)
+        if (afterTime == null && after.isInstance(event)) afterTime = parse(event.timestamp)
+    }
+
+    override fun failure(): String? {
+        val start = beforeTime
+        val end = afterTime
+        return message.takeUnless {
+            start != null && end != null && !end.isBefore(start) && Duration.between(start, end) <= maxDuration
+        }
+    }
+
+    private fun parse(timestamp: String): Instant? = runCatching { Instant.parse(timestamp) }.getOrNull()
+}
+
+/**
+ * Requires the first events of two types to have the same value for a field.
+ *
+ * As in the comparison of wallet responses this rule replaced, a missing event or field counts as a null value, so the
+ * rule holds when both are missing. Whether the events are present is checked by separate "present" rules.
+ */
+private class SameField(
+    private val first: Class<out PresentationEvent>,
+    private val second: Class<out PresentationEvent>,
+    private val field: String,
+    private val message: String,
+    private val json: Json,
+) : RuleCheck {
+    private var firstSeen = false
+    private var secondSeen = false
+    private var firstValue: JsonNode? = null
+    private var secondValue: JsonNode? = null
+
+    override fun accept(
+        index: Int,
+        event: PresentationEvent,
+    ) {
+        if (!firstSeen && first.isInstance(event)) {
+            firstSeen = true
+            firstValue = valueOf(event)
+        }
+        if (!secondSeen && second.isInstance(event)) {
+            secondSeen = true
+            secondValue = valueOf(event)
+        }
+    }
+
+    override fun failure(): String? = message.takeUnless { firstValue == secondValue }
+
+    private fun valueOf(event: PresentationEvent): JsonNode? = json.reader.valueToTree<JsonNode>(event).get(field)
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckFailed
+import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckSuccessful
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent
+import eu.europa.ec.eudi.verifier.dto.RequestObjectRetrieved
+import eu.europa.ec.eudi.verifier.dto.TransactionInitialized
+import eu.europa.ec.eudi.verifier.dto.VerifierGotWalletResponse
+import eu.europa.ec.eudi.verifier.dto.WalletResponsePosted
+import java.time.Duration
+import java.time.Instant
+import java.time.OffsetDateTime
+
+/** The events marking the steps of a transaction's flow. */
+enum class FlowMilestone(
+    val event: String,
+) {
+    INITIALIZED("Transaction initialized"),
+    REQUEST_OBJECT_RETRIEVED("Request object retrieved"),
+    WALLET_RESPONSE_POSTED("Wallet response posted"),
+    VERIFIER_GOT_RESPONSE("Verifier got wallet response"),
+
+    /**
+     * The attestation status check of the wallet's response, complete with the last of its events
+     * following the verifier getting the response.
+     */
+    STATUS_CHECKED("Attestation status check"),
+    ;
+
+    companion object {
+        fun of(event: PresentationEvent): FlowMilestone? =
+            when (event) {
+                is TransactionInitialized -> INITIALIZED
+                is RequestObjectRetrieved -> REQUEST_OBJECT_RETRIEVED
+                is WalletResponsePosted -> WALLET_RESPONSE_POSTED
+                is VerifierGotWalletResponse -> VERIFIER_GOT_RESPONSE
+                is AttestationStatusCheckSuccessful, is AttestationStatusCheckFailed -> STATUS_CHECKED
+                else -> null
+            }
+    }
+}
+
+/** The phases of a transaction's flow, between two consecutive milestones. */
+enum class FlowPhase(
+    val key: String,
+    val from: FlowMilestone,
+    val to: FlowMilestone,
+) {
+    REQUEST_OBJECT("request_object", FlowMilestone.INITIALIZED, FlowMilestone.REQUEST_OBJECT_RETRIEVED),
+    WALLET_RESPONSE("wallet_response", FlowMilestone.REQUEST_OBJECT_RETRIEVED, FlowMilestone.WALLET_RESPONSE_POSTED),
+    VERIFIER_RESPONSE("verifier_response", FlowMilestone.WALLET_RESPONSE_POSTED, FlowMilestone.VERIFIER_GOT_RESPONSE),
+    STATUS_CHECK("status_check", FlowMilestone.VERIFIER_GOT_RESPONSE, FlowMilestone.STATUS_CHECKED),
+}
+
+/**
+ * The times at which a transaction reached the milestones of its flow, advanced one event at a
+ * time along with the transaction's validation state.
+ *
+ * A milestone's time is that of its first event, except for the status check which ends with the
+ * last of its events following the verifier getting the wallet's response (checks logged before it
+ * do not time the status check phase). Events whose timestamp cannot be read are ignored.
+ */
+class FlowTimingProfile {
+    private val reached = arrayOfNulls<Instant>(FlowMilestone.entries.size)
+    private val seen = BooleanArray(FlowMilestone.entries.size)
+
+    fun accept(event: PresentationEvent) {
+        val milestone = FlowMilestone.of(event) ?: return
+        val time = parse(event.timestamp) ?: return
+        seen[milestone.ordinal] = true
+        if (milestone == FlowMilestone.STATUS_CHECKED) {
+            if (reached[FlowMilestone.VERIFIER_GOT_RESPONSE.ordinal] != null) reached[milestone.ordinal] = time
+        } else if (reached[milestone.ordinal] == null) {
+            reached[milestone.ordinal] = time
+        }
+    }
+
+    /**
+     * The duration of each phase whose milestones were both reached, in order. Phases whose end
+     * precedes their start (events logged out of flow order) are left out, and listed by [skipped].
+     */
+    fun phases(): Map<FlowPhase, Duration> =
+        FlowPhase.entries
+            .mapNotNull { phase -> duration(phase)?.let { phase to it } }
+            .toMap()
+
+    /**
+     * The phases whose events were all logged, but that cannot be timed as they were logged out of
+     * flow order (e.g. a status check logged only before the verifier got the wallet's response).
+     */
+    fun skipped(): List<FlowPhase> =
+        FlowPhase.entries.filter { phase ->
+            seen[phase.from.ordinal] && seen[phase.to.ordinal] && duration(phase) == null
+        }
+
+    private fun duration(phase: FlowPhase): Duration? {
+        val start = reached[phase.from.ordinal] ?: return null
+        val end = reached[phase.to.ordinal] ?: return null
+        return Duration.between(start, end).takeUnless { it.isNegative }
+    }
+
+    /** The time from the transaction's initialization to the last milestone reached (null if unknown). */
+    fun total(): Duration? {
+        val start = reached[FlowMilestone.INITIALIZED.ordinal] ?: return null
+        return reached.filterNotNull().maxOrNull()?.let { Duration.between(start, it) }
+    }
+
+    private fun parse(timestamp: String): Instant? =
+        runCatching { Instant.parse(timestamp) }.getOrNull()
+            ?: runCatching { OffsetDateTime.parse(timestamp).toInstant() }.getOrNull()
+            ?: timestamp.toLongOrNull()?.let(Instant::ofEpochMilli)
+}
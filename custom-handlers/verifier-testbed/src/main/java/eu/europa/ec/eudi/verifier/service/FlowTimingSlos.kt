@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import eu.europa.ec.eudi.verifier.dto.PhaseTiming
+import eu.europa.ec.eudi.verifier.dto.TimingProfile
+import org.springframework.boot.context.properties.bind.Bindable
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.core.env.Environment
+import org.springframework.stereotype.Component
+import java.time.Duration
+
+/**
+ * Latency thresholds (SLOs) of the phases of a transaction's flow, configured in milliseconds
+ * through the "verifier.timing.slo.<phase>" properties ("total" for the whole flow).
+ *
+ * A phase exceeding its threshold raises a warning in the validation report, so that slow wallets
+ * and verifiers are noticed even when their transactions succeed.
+ */
+@Component
+class FlowTimingSlos(
+    environment: Environment,
+) {
+    private val thresholds: Map<String, Duration> =
+        Binder
+            .get(environment)
+            .bind("verifier.timing.slo", Bindable.mapOf(String::class.java, Long::class.javaObjectType))
+            .orElse(emptyMap())
+            .mapValues { Duration.ofMillis(it.value) }
+            .also { configured ->
+                val known = FlowPhase.entries.map { it.key } + TOTAL
+                val unknown = configured.keys - known.toSet()
+                require(unknown.isEmpty()) { "Unknown flow phases $unknown in verifier.timing.slo. Known phases are $known" }
+            }
+
+    /**
+     * Build the timing profile of a transaction.
+     *
+     * @return The profile and the warnings raised by phases exceeding their threshold, keyed by
+     * phase.
+     */
+    fun evaluate(timing: FlowTimingProfile): Pair<TimingProfile, Map<String, String>> {
+        val warnings = linkedMapOf<String, String>()
+        val phases =
+            timing.phases().map { (phase, duration) ->
+                val slo = thresholds[phase.key]
+                if (slo != null && duration > slo) {
+                    warnings[phase.key] = warning(phase.key, duration, slo)
+                }
+                PhaseTiming(
+                    phase.key,
+                    phase.from.event,
+                    phase.to.event,
+                    duration.toMillis(),
+                    slo?.toMillis(),
+                    phase.key in warnings,
+                )
+            }
+        val total = timing.total()
+        val totalSlo = thresholds[TOTAL]
+        if (total != null && totalSlo != null && total > totalSlo) {
+            warnings[TOTAL] = warning(TOTAL, total, totalSlo)
+        }
+        return TimingProfile(phases, total?.toMillis(), timing.skipped().map { it.key }) to warnings
+    }
+
+    private fun warning(
+        phase: String,
+        duration: Duration,
+        slo: Duration,
+    ) = "Flow phase [$phase] took ${duration.toMillis()} ms, above its threshold of ${slo.toMillis()} ms"
+
+    companion object {
+        /** The key of the whole flow's threshold. */
+        const val TOTAL = "total"
+    }
+}
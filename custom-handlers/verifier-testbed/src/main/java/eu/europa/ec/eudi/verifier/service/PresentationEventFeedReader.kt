@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import com.gitb.core.AnyContent
+import com.gitb.core.ValueEmbeddingEnumeration
+import eu.europa.ec.eudi.gitb.SessionTracing
+import eu.europa.ec.eudi.gitb.Utils
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent
+import eu.europa.ec.eudi.verifier.utils.Json
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.stereotype.Component
+import java.io.BufferedReader
+import java.io.Closeable
+import java.io.IOException
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.io.Reader
+import java.io.StringReader
+import java.io.UncheckedIOException
+import java.net.URI
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Opens feeds of presentation events that can be consumed one event at a time.
+ *
+ * A feed is read from an NDJSON document (one event per line) or a server-sent events stream (one
+ * event per "data:" line). Remote feeds are read as they are received, and are closed once the
+ * provided timeout expires.
+ */
+@Component
+class PresentationEventFeedReader(
+    private val utils: Utils,
+    @Qualifier("utilsJson")
+    private val json: Json,
+    private val sessionTracing: SessionTracing,
+    private val httpClient: HttpClient,
+) {
+    private val timeouts =
+        Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "event-feed-timeout").apply { isDaemon = true }
+        }
+
+    /**
+     * Open a feed of events.
+     *
+     * @param timeout The time allowed to read the feed, including the wait for the response of a
+     * remote feed.
+     * @throws IllegalArgumentException If a remote feed cannot be called or does not respond with
+     * a 2xx status.
+     */
+    fun open(
+        content: AnyContent,
+        timeout: Duration,
+    ): PresentationEventFeed {
+        val source: Closeable
+        val reader: Reader =
+            if (content.embeddingMethod == ValueEmbeddingEnumeration.URI) {
+                openRemote(content.value, timeout).let {
+                    source = it
+                    InputStreamReader(it, StandardCharsets.UTF_8)
+                }
+            } else {
+                StringReader(utils.asString(content)).also { source = it }
+            }
+        val feed = PresentationEventFeed(BufferedReader(reader), json, source)
+        val expiry = timeouts.schedule(Runnable { feed.expire(timeout) }, timeout.toMillis(), TimeUnit.MILLISECONDS)
+        feed.onClose { expiry.cancel(false) }
+        return feed
+    }
+
+    private fun openRemote(
+        uri: String,
+        timeout: Duration,
+    ): InputStream {
+        val request =
+            HttpRequest
+                .newBuilder(URI(uri))
+                .header("Accept", "application/x-ndjson, text/event-stream")
+                .timeout(timeout)
+                .GET()
+        val response =
+            sessionTracing.observeRequest("event.feed.open", request) {
+                try {
+                    httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream())
+                } catch (e: IOException) {
+                    throw IllegalArgumentException("Error while calling URI [$uri]", e)
+                } catch (e: InterruptedException) {
+                    Thread.currentThread().interrupt()
+                    throw IllegalArgumentException("Error while calling URI [$uri]", e)
+                }
+            }
+        if (response.statusCode() / 100 != 2) {
+            response.body().close()
+            throw IllegalArgumentException("The event feed [$uri] responded with HTTP status ${response.statusCode()}")
+        }
+        return response.body()
+    }
+}
+
+/**
+ * A feed of presentation events, parsed lazily as they are iterated.
+ *
+ * Iteration ends at the end of the feed or once the feed expires, in which case [incomplete] says
+ * so. Errors reading the feed are thrown as [UncheckedIOException].
+ *
+ * Closing the feed closes its [source] (e.g. the response body of a remote feed) rather than the
+ * reader: closing a [BufferedReader] waits for the lock held by a blocked read, so a stalled feed
+ * would only expire once it sends more data.
+ */
+class PresentationEventFeed(
+    private val reader: BufferedReader,
+    private val json: Json,
+    private val source: Closeable = reader,
+) : Iterator<PresentationEvent>,
+    Closeable {
+    private var next: PresentationEvent? = null
+
+    @Volatile
+    private var closed = false
+
+    private var closeAction: () -> Unit = {}
+
+    /** Why the feed ended before its end was read (null unless it expired). */
+    @Volatile
+    var incomplete: String? = null
+        private set
+
+    fun onClose(action: () -> Unit) {
+        closeAction = action
+    }
+
+    override fun hasNext(): Boolean {
+        while (next == null && !closed) {
+            val line =
+                try {
+                    reader.readLine()
+                } catch (e: IOException) {
+                    // Reads fail once the feed is closed, e.g. when it expires.
+                    if (closed) break
+                    throw UncheckedIOException("Error while reading the event feed", e)
+                } ?: break
+            next = payload(line)?.let { json.reader.readValue(it, PresentationEvent::class.java) }
+        }
+        return next != null
+    }
+
+    override fun next(): PresentationEvent {
+        if (!hasNext()) throw NoSuchElementException()
+        return next!!.also { next = null }
+    }
+
+    /** Close the feed as its time ran out. */
+    fun expire(timeout: Duration) {
+        if (!closed) {
+            incomplete = "The event feed timed out after ${timeout.toMillis()}ms"
+            close()
+        }
+    }
+
+    override fun close() {
+        if (!closed) {
+            closed = true
+            closeAction()
+            runCatching { source.close() }
+        }
+    }
+
+    /** Extract the JSON payload of an NDJSON or server-sent events line (null for other lines). */
+    private fun payload(line: String): String? {
+        val trimmed = line.trim()
+        return when {
+            trimmed.startsWith("data:") -> trimmed.removePrefix("data:").trim().ifEmpty { null }
+            trimmed.startsWith("{") -> trimmed
+            else -> null
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+
+/**
+ * Bounded store of per-transaction validation state.
+ *
+ * States are kept per test session, transaction and rule set (so that sessions validating the
+ * same transaction do not share state), and the least recently used state is discarded once the
+ * configured number of tracked transactions is exceeded.
+ */
+@Component
+class TransactionStateStore(
+    @Value("\${verifier.validation.state.maxTransactions:1000}")
+    private val maxTransactions: Int,
+) {
+    private val states =
+        object : LinkedHashMap<String, TransactionValidationState>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, TransactionValidationState>?): Boolean =
+                size > maxTransactions
+        }
+
+    fun get(
+        sessionId: String?,
+        transactionId: String,
+        rules: CompiledRuleSet,
+    ): TransactionValidationState =
+        synchronized(states) {
+            states.getOrPut(key(sessionId, transactionId, rules)) {
+                TransactionValidationState(transactionId, rules)
+            }
+        }
+
+    fun reset(
+        sessionId: String?,
+        state: TransactionValidationState,
+    ): TransactionValidationState =
+        synchronized(states) {
+            TransactionValidationState(state.transactionId, state.rules).also {
+                states[key(sessionId, state.transactionId, state.rules)] = it
+            }
+        }
+
+    private fun key(
+        sessionId: String?,
+        transactionId: String,
+        rules: CompiledRuleSet,
+    ) = "$sessionId|$transactionId|${rules.id}"
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckFailed
+import eu.europa.ec.eudi.verifier.dto.FailedToRetrievePresentationDefinition
+import eu.europa.ec.eudi.verifier.dto.FailedToRetrieveRequestObject
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent
+import eu.europa.ec.eudi.verifier.dto.PresentationExpired
+import eu.europa.ec.eudi.verifier.dto.VerifierFailedToGetWalletResponse
+import eu.europa.ec.eudi.verifier.dto.WalletFailedToPostResponse
+import java.util.concurrent.locks.ReentrantLock
+
+/**
+ * Validation state of a single transaction, advanced one event at a time.
+ *
+ * Events of a transaction's log are only ever appended, so the state only needs to see each event
+ * once: re-validating the same transaction after more polling feeds just the new events.
+ */
+class TransactionValidationState(
+    val transactionId: String,
+    val rules: CompiledRuleSet,
+) {
+    /** Lock to hold while reading or advancing the state. */
+    val lock = ReentrantLock()
+
+    /** The transaction's last_updated value when the state was last advanced. */
+    var lastUpdated: Long? = null
+
+    /** The events seen so far, in log order. */
+    val events: MutableList<PresentationEvent> = mutableListOf()
+
+    /** The digest of the text of the events seen so far (null if none were seen from a log). */
+    var eventsDigest: ByteArray? = null
+
+    /** Warnings keyed by event name (a later event of the same name replaces the cause). */
+    val warnings: MutableMap<String, String?> = linkedMapOf()
+
+    /** The evaluation of the rules over the events seen so far. */
+    val evaluation: RuleEvaluation = rules.newEvaluation()
+
+    /** The times at which the transaction reached the milestones of its flow. */
+    val timing = FlowTimingProfile()
+
+    /** Whether the transaction's timing was recorded in the cross-session statistics. */
+    var timingRecorded = false
+
+    /**
+     * The report built for the current state, reused while the transaction is unchanged. It is kept
+     * as XML so that receivers of the report cannot modify the kept one.
+     */
+    var report: String? = null
+
+    /** The event after which no further event can change the outcome (null while undecided). */
+    var decidedBy: PresentationEvent? = null
+        private set
+
+    fun accept(event: PresentationEvent) {
+        events.add(event)
+        when (event) {
+            is AttestationStatusCheckFailed -> warnings[event.event] = event.cause
+            is WalletFailedToPostResponse -> warnings[event.event] = event.cause
+            is FailedToRetrievePresentationDefinition -> warnings[event.event] = event.cause
+            is FailedToRetrieveRequestObject -> warnings[event.event] = event.cause
+            is PresentationExpired -> warnings[event.event] = event.actor
+            is VerifierFailedToGetWalletResponse -> warnings[event.event] = event.cause
+            else -> {}
+        }
+        timing.accept(event)
+        // The evaluation sees every event, even once the outcome is decided.
+        if (evaluation.accept(event) && decidedBy == null) {
+            decidedBy = event
+        }
+        report = null
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import eu.europa.ec.eudi.verifier.dto.VerifierRuleSet
+import eu.europa.ec.eudi.verifier.utils.Json
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver
+import org.springframework.stereotype.Component
+import java.io.InputStream
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.security.MessageDigest
+import java.util.HexFormat
+import kotlin.io.path.extension
+import kotlin.io.path.isDirectory
+import kotlin.io.path.listDirectoryEntries
+
+/**
+ * The rule sets verifier logs are validated against, one per expected event.
+ *
+ * Rule sets are read from the "verifier-rules" classpath folder and, if configured, from a
+ * directory whose rule sets replace those of the same name. All of them are compiled at startup so
+ * that a rule naming an unknown event fails the application instead of a test session. A test case
+ * can also provide its own rule set as input, compiled on first use and reused for identical
+ * definitions.
+ */
+@Component
+class VerifierRules(
+    @Qualifier("utilsJson")
+    private val json: Json,
+    @Value("\${verifier.rules.directory:}")
+    private val directory: String,
+) {
+    private val log: Logger = LoggerFactory.getLogger(VerifierRules::class.java)
+
+    private val ruleSets: Map<String, CompiledRuleSet> = load()
+
+    private val inlineRuleSets =
+        object : LinkedHashMap<String, CompiledRuleSet>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CompiledRuleSet>?): Boolean =
+                size > MAX_INLINE_RULE_SETS
+        }
+
+    /**
+     * Get the rule set for a test case.
+     *
+     * @param expectError The expected event, selecting a configured rule set (the default one if
+     * none matches).
+     * @param definition A rule set provided by the test case, used instead if set.
+     */
+    fun forTestCase(
+        expectError: String?,
+        definition: String?,
+    ): CompiledRuleSet =
+        if (definition.isNullOrBlank()) {
+            ruleSets[expectError] ?: ruleSets.getValue(DEFAULT_RULE_SET)
+        } else {
+            compileInline(definition)
+        }
+
+    private fun compileInline(definition: String): CompiledRuleSet {
+        val digest = MessageDigest.getInstance("SHA-256").digest(definition.toByteArray(StandardCharsets.UTF_8))
+        val id = "inline:" + HexFormat.of().formatHex(digest)
+        synchronized(inlineRuleSets) { inlineRuleSets[id] }?.let { return it }
+        val compiled = CompiledRuleSet.compile(id, json.reader.readValue(definition, VerifierRuleSet::class.java), json)
+        return synchronized(inlineRuleSets) { inlineRuleSets.getOrPut(id) { compiled } }
+    }
+
+    private fun load(): Map<String, CompiledRuleSet> {
+        val definitions = linkedMapOf<String, VerifierRuleSet>()
+        PathMatchingResourcePatternResolver().getResources("classpath:verifier-rules/*.json").forEach { resource ->
+            resource.inputStream.use(::read).let { definitions[it.name] = it }
+        }
+        if (directory.isNotBlank()) {
+            val path = Path.of(directory)
+            require(path.isDirectory()) { "Verifier rules directory [$directory] does not exist" }
+            path.listDirectoryEntries().filter { it.extension == "json" }.sorted().forEach { file ->
+                Files.newInputStream(file).use(::read).let { definitions[it.name] = it }
+            }
+        }
+        require(DEFAULT_RULE_SET in definitions) { "No verifier rule set named [$DEFAULT_RULE_SET] is defined" }
+        log.info("Loaded verifier rule sets {}", definitions.keys)
+        return definitions.mapValues { (name, definition) -> CompiledRuleSet.compile(name, definition, json) }
+    }
+
+    private fun read(input: InputStream): VerifierRuleSet = json.reader.readValue(input, VerifierRuleSet::class.java)
+
+    companion object {
+        /** The rule set used when the expected event has no rule set of its own. */
+        const val DEFAULT_RULE_SET = "default"
+
+        /** The maximum number of rule sets provided by test cases kept compiled. */
+        private const val MAX_INLINE_RULE_SETS = 100
+    }
+}
@@ -15,6 +15,7 @@
  */
 package eu.europa.ec.eudi.verifier.service
 
+import com.fasterxml.jackson.core.JsonToken
 import com.gitb.core.AnyContent
 import com.gitb.core.ValueEmbeddingEnumeration
 import com.gitb.tr.TAR
@@ -25,111 +26,335 @@ import com.gitb.vs.ValidateRequest
 import com.gitb.vs.ValidationResponse
 import com.gitb.vs.ValidationService
 import com.gitb.vs.Void
+import eu.europa.ec.eudi.gitb.PerformanceStats
+import eu.europa.ec.eudi.gitb.SessionTracing
 import eu.europa.ec.eudi.gitb.Utils
-import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckFailed
-import eu.europa.ec.eudi.verifier.dto.FailedToRetrievePresentationDefinition
-import eu.europa.ec.eudi.verifier.dto.FailedToRetrieveRequestObject
+import eu.europa.ec.eudi.gitb.ValidationAdmission
+import eu.europa.ec.eudi.gitb.ValidationResultCache
+import eu.europa.ec.eudi.gitb.WarmUp
 import eu.europa.ec.eudi.verifier.dto.PresentationEvent
 import eu.europa.ec.eudi.verifier.dto.PresentationEventsTO
-import eu.europa.ec.eudi.verifier.dto.PresentationExpired
 import eu.europa.ec.eudi.verifier.dto.ValidationWarnings
-import eu.europa.ec.eudi.verifier.dto.VerifierFailedToGetWalletResponse
-import eu.europa.ec.eudi.verifier.dto.VerifierGotWalletResponse
-import eu.europa.ec.eudi.verifier.dto.WalletFailedToPostResponse
-import eu.europa.ec.eudi.verifier.dto.WalletResponsePosted
 import eu.europa.ec.eudi.verifier.dto.Warning
 import eu.europa.ec.eudi.verifier.utils.Json
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Qualifier
 import org.springframework.stereotype.Component
+import java.io.UncheckedIOException
+import java.nio.CharBuffer
+import java.security.MessageDigest
+import java.time.Duration
+import kotlin.concurrent.withLock
 
 @Component
 class VerifierValidationService(
     private val utils: Utils,
     @Qualifier("utilsJson")
     private val json: Json,
+    private val stateStore: TransactionStateStore,
+    private val feedReader: PresentationEventFeedReader,
+    private val validationResultCache: ValidationResultCache,
+    private val sessionTracing: SessionTracing,
+    private val validationAdmission: ValidationAdmission,
+    private val verifierRules: VerifierRules,
+    private val flowTimingSlos: FlowTimingSlos,
+    private val performanceStats: PerformanceStats,
 ) : ValidationService {
     private val log: Logger = LoggerFactory.getLogger(VerifierValidationService::class.java)
 
     override fun getModuleDefinition(parameters: Void?): GetModuleDefinitionResponse = GetModuleDefinitionResponse()
 
-    override fun validate(parameters: ValidateRequest?): ValidationResponse {
+    override fun validate(parameters: ValidateRequest?): ValidationResponse =
+        sessionTracing.observe(parameters!!.getSessionId(), "gitb.validation.verifier") { doValidate(parameters, true) }
+
+    /**
+     * Validate an archived transaction log of a batch run.
+     *
+     * Batch items are validated as complete logs, without the validation state, result cache and
+     * admission limits of test sessions, and are not recorded in the live metrics and performance
+     * statistics.
+     */
+    fun validateBatchItem(parameters: ValidateRequest): ValidationResponse = doValidate(parameters, false)
+
+    private fun doValidate(
+        parameters: ValidateRequest,
+        live: Boolean,
+    ): ValidationResponse {
         log.info(
             "Received 'validate' command from test bed for session [{}]",
-            parameters!!.getSessionId(),
+            parameters.getSessionId(),
         )
 
         // First extract the parameters and check to see if they are as expected.
-        val providedText = utils.getRequiredString(parameters.getInput(), "text")
+        val inputs = parameters.getInput()
         val expectError =
             runCatching {
-                utils.getRequiredString(parameters.getInput(), "expectedEvent")
+                utils.getRequiredString(inputs, "expectedEvent")
             }.getOrNull()
+        val definition = utils.getOptionalString(inputs, "rules").orElse(null)
+        val start = System.nanoTime()
+        val report =
+            if (live) {
+                validationAdmission
+                    .admit("verifier") {
+                        // Inline rule sets are parsed and compiled within the admitted work.
+                        val rules = verifierRules.forTestCase(expectError, definition)
+                        // Warm-up rounds are left out of the statistics.
+                        val statsKey =
+                            PerformanceStats
+                                .Key("verifier", rules.id, utils.getOptionalString(inputs, "sut").orElse(null))
+                                .takeUnless { WarmUp.isWarmUp(parameters.getSessionId()) }
+                        var validated = true
+                        if (utils.getOptionalString(inputs, "mode").orElse("") == MODE_STREAM) {
+                            validateStream(
+                                utils.getSingleRequiredInputForName(inputs, "text"),
+                                rules,
+                                statsKey,
+                                utils.getOptionalString(inputs, "transactionId").orElse("stream"),
+                                Duration.ofMillis(utils.getOptionalString(inputs, "timeout").map(String::toLong).orElse(300000)),
+                            )
+                        } else {
+                            val providedText = utils.getRequiredString(inputs, "text")
+                            validated = false
+                            validationResultCache.get(
+                                "verifier",
+                                providedText,
+                                {
+                                    validated = true
+                                    validateIncrementally(parameters.getSessionId(), providedText, rules, statsKey)
+                                },
+                                rules.id,
+                            )
+                        }.also { report -> statsKey?.let { performanceStats.recordValidation(it, report.result, start, !validated) } }
+                    }
+            } else {
+                validateComplete(utils.getRequiredString(inputs, "text"), verifierRules.forTestCase(expectError, definition))
+            }
+        log.info(
+            "Validation report created with result [{}], {} error(s) and {} warning(s)",
+            report.result,
+            report.counters?.nrOfErrors ?: 0,
+            report.counters?.nrOfWarnings ?: 0,
+        )
+        if (log.isDebugEnabled) {
+            log.debug("Validation report: {}", utils.abbreviate(utils.marshalReport(report)))
+        }
+        return ValidationResponse().apply { this.report = report }
+    }
 
-        val providedLogs = json.reader.readValue(providedText, PresentationEventsTO::class.java)
-        val events = providedLogs.events
+    /**
+     * Validate events one at a time as they are read from a feed.
+     *
+     * Validation stops as soon as the outcome is certain (e.g. once the presentation expired) so
+     * that failed sessions end without waiting for the feed to complete or time out.
+     */
+    private fun validateStream(
+        input: AnyContent,
+        rules: CompiledRuleSet,
+        statsKey: PerformanceStats.Key?,
+        transactionId: String,
+        timeout: Duration,
+    ): TAR {
+        val state = TransactionValidationState(transactionId, rules)
+        val incomplete =
+            feedReader.open(input, timeout).use { feed ->
+                try {
+                    while (state.decidedBy == null && feed.hasNext()) {
+                        state.accept(feed.next())
+                    }
+                    feed.incomplete
+                } catch (e: UncheckedIOException) {
+                    log.warn("Event feed of transaction [{}] failed: {}", transactionId, e.cause?.message)
+                    "The event feed failed: ${e.cause?.message}"
+                }
+            }
+        state.decidedBy?.let {
+            log.info("Outcome of transaction [{}] decided by event [{}] after {} event(s)", transactionId, it.event, state.events.size)
+        }
+        recordTiming(state, statsKey)
+        val providedLogs = PresentationEventsTO(transactionId, System.currentTimeMillis(), state.events.toList())
+        // A feed ending early leaves the outcome unknown unless it was already decided.
+        val errors =
+            listOfNotNull(
+                incomplete?.takeIf { state.decidedBy == null }?.let { "$it before the transaction's outcome was decided" },
+                checkNonRecoverableErrors(state),
+            ).takeIf { it.isNotEmpty() }?.joinToString("; ")
+        return createReport(providedLogs, errors, state.warnings, state.timing)
+    }
 
-        val warningsMap = extractWarnings(events)
-        val nonRecoverableError = checkNonRecoverableErrors(events, expectError, warningsMap)
+    /**
+     * Validate the provided events against the transaction's stored state (kept per test session).
+     *
+     * Only events beyond those already seen for the transaction are deserialized and fed to the
+     * state, provided that the skipped events are identical to those seen (their digest matches).
+     * If the transaction's last_updated value has not changed since the previous call, the
+     * previously built report is returned with a fresh date.
+     */
+    private fun validateIncrementally(
+        sessionId: String?,
+        providedText: String,
+        rules: CompiledRuleSet,
+        statsKey: PerformanceStats.Key?,
+    ): TAR {
+        val delta = parseDelta(sessionId, providedText, rules)
+        val state = delta.state ?: stateStore.get(sessionId, delta.transactionId, rules)
+        state.lock.withLock {
+            if (state.events.size == delta.skipped && state.eventsDigest contentEquals delta.skippedDigest) {
+                state.eventsDigest = delta.eventsDigest
+                return advance(state, delta.lastUpdated, delta.newEvents, statsKey)
+            }
+        }
+        // The seen events changed concurrently or the log does not extend the one seen before.
+        log.info("Re-validating all events of transaction [{}]", delta.transactionId)
+        val events = json.reader.readValue(providedText, PresentationEventsTO::class.java).events
+        val freshState = stateStore.reset(sessionId, state)
+        return freshState.lock.withLock {
+            freshState.eventsDigest = delta.eventsDigest
+            advance(freshState, delta.lastUpdated, events, statsKey)
+        }
+    }
 
-        val report = createReport(providedLogs, nonRecoverableError, warningsMap)
-        log.info("Validation report created: {}", report)
-        return ValidationResponse().apply { this.report = report }
+    /** Validate a complete log with a state of its own. */
+    private fun validateComplete(
+        providedText: String,
+        rules: CompiledRuleSet,
+    ): TAR {
+        val providedLogs = json.reader.readValue(providedText, PresentationEventsTO::class.java)
+        return advance(TransactionValidationState(providedLogs.transactionId, rules), providedLogs.lastUpdated, providedLogs.events, null)
     }
 
-    private fun extractWarnings(events: List<PresentationEvent>): Map<String, String?> =
-        events.mapNotNull {
-            when (it) {
-                is AttestationStatusCheckFailed -> it.event to it.cause
-                is WalletFailedToPostResponse -> it.event to it.cause
-                is FailedToRetrievePresentationDefinition -> it.event to it.cause
-                is FailedToRetrieveRequestObject -> it.event to it.cause
-                is PresentationExpired -> it.event to it.actor
-                is VerifierFailedToGetWalletResponse -> it.event to it.cause
-                else -> null
-            }
-        }.toMap()
-
-    private fun checkNonRecoverableErrors(
-        events: List<PresentationEvent>,
-        expectError: String?,
-        warningsMap: Map<String, String?>,
-    ): String? =
-        when (expectError) {
-            "attestation_error" ->
-                if (warningsMap["Attestation status check failed"] == null) {
-                    "Attestation step should fail to post response but did anyways or/and other error occurred (ex: Presentation Timeout)"
-                } else {
-                    null
-                }
-            "certificate_error" ->
-                if (warningsMap["Wallet failed to post response"] == null) {
-                    "Wallet should fail to post response but did anyways or/and other error occurred (ex: Presentation Timeout)"
-                } else {
-                    null
-                }
-            else -> {
-                val verifierWalletResponseEvent = events.filterIsInstance<VerifierGotWalletResponse>().firstOrNull()
-                val walletResponseEvent = events.filterIsInstance<WalletResponsePosted>().firstOrNull()
+    private fun advance(
+        state: TransactionValidationState,
+        lastUpdated: Long?,
+        newEvents: List<PresentationEvent>,
+        statsKey: PerformanceStats.Key?,
+    ): TAR {
+        val previousReport = state.report
+        if (previousReport != null && newEvents.isEmpty() && lastUpdated == state.lastUpdated) {
+            log.info("Transaction [{}] unchanged since last validation", state.transactionId)
+            return utils.restoreReport(previousReport)
+        }
+        newEvents.forEach(state::accept)
+        state.lastUpdated = lastUpdated
+        recordTiming(state, statsKey)
 
-                val verifierQuery = verifierWalletResponseEvent?.walletResponse
-                val walletQuery = walletResponseEvent?.walletResponse
-                val successCheck = verifierWalletResponseEvent != null
+        val nonRecoverableError = checkNonRecoverableErrors(state)
+        val providedLogs = PresentationEventsTO(state.transactionId, lastUpdated ?: 0, state.events.toList())
+        return createReport(providedLogs, nonRecoverableError, state.warnings, state.timing)
+            .also { state.report = utils.marshalReport(it) }
+    }
 
-                if (verifierQuery == walletQuery && successCheck) {
-                    null
-                } else {
-                    "Wallet query and verifier query do not match"
+    /**
+     * Stream through the provided events, skipping (without deserializing) those already seen for
+     * the transaction. The text of every event is digested, so that the caller can check that the
+     * skipped events are those seen before.
+     */
+    private fun parseDelta(
+        sessionId: String?,
+        providedText: String,
+        rules: CompiledRuleSet,
+    ): Delta {
+        var transactionId: String? = null
+        var lastUpdated: Long? = null
+        var state: TransactionValidationState? = null
+        var skipped = 0
+        var skippedDigest: ByteArray? = null
+        var eventsDigest: ByteArray? = null
+        val newEvents = mutableListOf<PresentationEvent>()
+        json.reader.factory.createParser(providedText).use { parser ->
+            require(parser.nextToken() == JsonToken.START_OBJECT) { "The provided events are not a JSON object" }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                val field = parser.currentName()
+                parser.nextToken()
+                when (field) {
+                    "transaction_id" -> {
+                        transactionId = parser.valueAsString
+                        state = stateStore.get(sessionId, parser.valueAsString, rules)
+                    }
+                    "last_updated" -> lastUpdated = parser.valueAsLong
+                    "events" -> {
+                        val alreadySeen = state?.let { it.lock.withLock { it.events.size } } ?: 0
+                        val digest = EventsDigest()
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            val from = parser.currentTokenLocation().charOffset.toInt()
+                            val skip = skipped < alreadySeen
+                            if (skip) {
+                                parser.skipChildren()
+                            } else {
+                                newEvents.add(json.reader.readValue(parser, PresentationEvent::class.java))
+                            }
+                            digest.update(providedText, from, parser.currentTokenLocation().charOffset.toInt() + 1)
+                            if (skip && ++skipped == alreadySeen) {
+                                skippedDigest = digest.current()
+                            }
+                        }
+                        eventsDigest = digest.current()
+                    }
+                    else -> parser.skipChildren()
                 }
             }
         }
+        return Delta(
+            requireNotNull(transactionId) { "The provided events have no transaction_id" },
+            lastUpdated,
+            state,
+            skipped,
+            skippedDigest,
+            eventsDigest,
+            newEvents,
+        )
+    }
+
+    /**
+     * The result of [parseDelta].
+     *
+     * @property skippedDigest The digest of the skipped events (null if none were skipped).
+     * @property eventsDigest The digest of all events (null if there are none).
+     */
+    private class Delta(
+        val transactionId: String,
+        val lastUpdated: Long?,
+        val state: TransactionValidationState?,
+        val skipped: Int,
+        val skippedDigest: ByteArray?,
+        val eventsDigest: ByteArray?,
+        val newEvents: List<PresentationEvent>,
+    )
+
+    /**
+     * Record the phases of a transaction in the cross-session statistics, once its outcome is
+     * decided. Transactions are validated repeatedly while they progress, and are only recorded
+     * once. Nothing is recorded without a series (i.e. for batch runs and warm-up rounds).
+     */
+    private fun recordTiming(
+        state: TransactionValidationState,
+        statsKey: PerformanceStats.Key?,
+    ) {
+        if (statsKey == null || state.decidedBy == null || state.timingRecorded) return
+        state.timingRecorded = true
+        state.timing.phases().forEach { (phase, duration) ->
+            performanceStats.recordPhase(statsKey, phase.key, duration.toMillis())
+        }
+        state.timing.total()?.let { performanceStats.recordPhase(statsKey, FlowTimingSlos.TOTAL, it.toMillis()) }
+    }
+
+    /** Join the messages of the rules the transaction's events do not satisfy (null if none). */
+    private fun checkNonRecoverableErrors(state: TransactionValidationState): String? =
+        state.evaluation.failures().takeIf { it.isNotEmpty() }?.joinToString("; ")
 
+    /**
+     * Create the report of a transaction, with its events, errors, timing profile and warnings
+     * (including those of flow phases exceeding their latency threshold).
+     */
     private fun createReport(
         providedLogs: PresentationEventsTO,
         nonRecoverableErrors: String?,
-        warningsMap: Map<String, String?>,
+        eventWarnings: Map<String, String?>,
+        timing: FlowTimingProfile,
     ): TAR {
+        val (timingProfile, timingWarnings) = flowTimingSlos.evaluate(timing)
+        val warningsMap = eventWarnings + timingWarnings
         val report =
             utils.createReport(
                 if (nonRecoverableErrors != null) {
@@ -144,13 +369,15 @@ class VerifierValidationService(
             context.item.add(providedLogs.toContent("Verifier's Logs"))
 
             if (nonRecoverableErrors != null) {
-                log.info("nonRecoverableErrors created: {}", nonRecoverableErrors)
+                log.info("nonRecoverableErrors created: {}", utils.abbreviate(nonRecoverableErrors))
                 context.item.add(
                     nonRecoverableErrors.toContent("Non-recoverable errors"),
                 )
                 counters.nrOfErrors = 1.toBigInteger()
             }
 
+            context.item.add(timingProfile.toContent("Timing profile"))
+
             if (warningsMap.isNotEmpty()) {
                 val warningsTO = ValidationWarnings(warnings = warningsMap.values.distinct().map { Warning(warning = it) })
                 context.item.add(warningsTO.toContent("Validation warnings"))
@@ -176,4 +403,29 @@ class VerifierValidationService(
                 ),
             )
         }
+
+    companion object {
+        /** The validation mode in which events are read and validated one at a time from a feed. */
+        private const val MODE_STREAM = "stream"
+    }
+}
+
+/**
+ * Running SHA-256 digest of the text of a transaction's events, used to check that a log extends
+ * the one validated before.
+ */
+private class EventsDigest {
+    private val digest = MessageDigest.getInstance("SHA-256")
+
+    /** Add the event found between the given offsets of the text. */
+    fun update(
+        text: String,
+        from: Int,
+        to: Int,
+    ) {
+        digest.update(Charsets.UTF_8.encode(CharBuffer.wrap(text, from, to)))
+    }
+
+    /** The digest of the events added so far (more can be added afterwards). */
+    fun current(): ByteArray = (digest.clone() as MessageDigest).digest()
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gitb.core.AnyContent;
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import com.gitb.vs.ValidateRequest;
+import com.gitb.vs.ValidationResponse;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.issuer.service.IssuerValidationService;
+import eu.europa.ec.eudi.verifier.service.VerifierValidationService;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import eu.europa.ec.eudi.web.dto.BatchValidationItemTO;
+import eu.europa.ec.eudi.web.dto.BatchValidationRequestTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller to validate many verifier or issuer logs in a single call.
+ *
+ * <p>This is meant for regression runs that re-validate archived transactions outside of the test
+ * bed. Each item is validated by the same service that backs the corresponding SOAP endpoint
+ * ("verifier" for /log/validation, "issuer" for /log/validation/issuance) and items are validated
+ * in parallel. Items are validated as complete logs: they do not use the validation state, result
+ * cache or admission limits of test sessions and are not recorded in their statistics.
+ *
+ * <p>The response is streamed as NDJSON: one line per item in the order items complete, followed by
+ * a final line summarising the whole batch.
+ *
+ * <p>Batches are limited to "batch.validation.maxItems" items, and at most
+ * "batch.validation.maxInFlight" items of a batch are queued or validated at a time. Items still
+ * pending when the response cannot be written (e.g. as the client disconnected) are cancelled.
+ */
+@RestController
+public class BatchValidationController {
+
+  /** Logger. */
+  private static final Logger LOG = LoggerFactory.getLogger(BatchValidationController.class);
+
+  @Autowired private VerifierValidationService verifierValidationService = null;
+  @Autowired private IssuerValidationService issuerValidationService = null;
+  @Autowired private Utils utils = null;
+  @Autowired private Json json = null;
+
+  @Value("${batch.validation.threads:0}")
+  private int threads;
+
+  @Value("${batch.validation.maxItems:10000}")
+  private int maxItems;
+
+  @Value("${batch.validation.maxInFlight:0}")
+  private int maxInFlight;
+
+  private ExecutorService executor;
+
+  @PostConstruct
+  public void init() {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    if (maxInFlight <= 0) {
+      maxInFlight = 2 * poolSize;
+    }
+    var threadCount = new AtomicInteger();
+    executor =
+        Executors.newFixedThreadPool(
+            poolSize,
+            runnable -> {
+              var thread =
+                  new Thread(runnable, "batch-validation-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * HTTP POST service to validate a batch of logs.
+   *
+   * @param request The items to validate. Each item has an "id", a "validator" ("verifier" or
+   *     "issuer"), the log "text" and optionally the "expectedEvent" and "rules" (verifier) or
+   *     "expected" (issuer) parameters.
+   * @return The NDJSON stream of per-item results and the batch summary.
+   */
+  @RequestMapping(
+      value = "/validation/batch",
+      method = RequestMethod.POST,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> validateBatch(
+      @RequestBody BatchValidationRequestTO request) {
+    List<BatchValidationItemTO> items = request.getItems() == null ? List.of() : request.getItems();
+    if (items.size() > maxItems) {
+      throw new ResponseStatusException(
+          HttpStatus.PAYLOAD_TOO_LARGE,
+          String.format("Batches are limited to %d items, got %d.", maxItems, items.size()));
+    }
+    LOG.info("Received batch of {} item(s) to validate", items.size());
+    StreamingResponseBody body = out -> streamResults(items, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  private void streamResults(List<BatchValidationItemTO> items, OutputStream out)
+      throws IOException {
+    long start = System.nanoTime();
+    CompletionService<ObjectNode> completionService = new ExecutorCompletionService<>(executor);
+    List<Future<ObjectNode>> pending = new ArrayList<>();
+    Map<TestResultType, Integer> results = new EnumMap<>(TestResultType.class);
+    long errors = 0;
+    long warnings = 0;
+    int submitted = 0;
+    try {
+      for (int i = 0; i < items.size(); i++) {
+        while (submitted < items.size() && submitted - i < maxInFlight) {
+          BatchValidationItemTO item = items.get(submitted++);
+          pending.add(completionService.submit(() -> validateItem(item)));
+        }
+        ObjectNode line;
+        try {
+          Future<ObjectNode> completed = completionService.take();
+          pending.remove(completed);
+          line = completed.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while validating batch", e);
+        } catch (ExecutionException e) {
+          throw new IOException("Unexpected batch validation failure", e.getCause());
+        }
+        results.merge(TestResultType.valueOf(line.get("result").asText()), 1, Integer::sum);
+        errors += line.path("errors").asLong();
+        warnings += line.path("warnings").asLong();
+        writeLine(line, out);
+      }
+    } finally {
+      if (!pending.isEmpty()) {
+        LOG.warn("Cancelling {} pending item(s) of an interrupted batch", pending.size());
+        pending.forEach(future -> future.cancel(true));
+      }
+    }
+    long durationMillis = (System.nanoTime() - start) / 1_000_000;
+    ObjectNode summary = json.getReader().createObjectNode();
+    summary.put("total", items.size());
+    results.forEach((result, count) -> summary.put(result.name().toLowerCase(Locale.ROOT), count));
+    summary.put("errors", errors);
+    summary.put("warnings", warnings);
+    summary.put("durationMillis", durationMillis);
+    ObjectNode line = json.getReader().createObjectNode();
+    line.set("summary", summary);
+    writeLine(line, out);
+    LOG.info("Validated batch of {} item(s) in {} ms", items.size(), durationMillis);
+  }
+
+  private ObjectNode validateItem(BatchValidationItemTO item) {
+    long start = System.nanoTime();
+    ObjectNode line = json.getReader().createObjectNode();
+    line.put("id", item.getId());
+    line.put("validator", item.getValidator());
+    try {
+      TAR report = validate(item).getReport();
+      line.put("result", report.getResult().name());
+      if (report.getCounters() != null) {
+        line.put("errors", toLong(report.getCounters().getNrOfErrors()));
+        line.put("warnings", toLong(report.getCounters().getNrOfWarnings()));
+      }
+      line.put("report", utils.marshalReport(report));
+    } catch (Exception e) {
+      LOG.warn("Failed to validate batch item [{}]", item.getId(), e);
+      line.put("result", TestResultType.FAILURE.name());
+      line.put("error", e.getMessage());
+    }
+    line.put("durationMillis", (System.nanoTime() - start) / 1_000_000);
+    return line;
+  }
+
+  /**
+   * Validate an item with the service of its validator, in batch mode so that the run does not
+   * affect the state, caches and statistics of test sessions.
+   */
+  private ValidationResponse validate(BatchValidationItemTO item) {
+    if ("verifier".equals(item.getValidator())) {
+      return verifierValidationService.validateBatchItem(toRequest(item));
+    } else if ("issuer".equals(item.getValidator())) {
+      return issuerValidationService.validateBatchItem(toRequest(item));
+    } else {
+      throw new IllegalArgumentException(
+          String.format("Unknown validator [%s].", item.getValidator()));
+    }
+  }
+
+  private ValidateRequest toRequest(BatchValidationItemTO item) {
+    var request = new ValidateRequest();
+    request.setSessionId("batch-" + item.getId());
+    request.getInput().add(input("text", item.getText()));
+    if (item.getExpectedEvent() != null) {
+      request.getInput().add(input("expectedEvent", item.getExpectedEvent()));
+    }
+    if (item.getRules() != null) {
+      request.getInput().add(input("rules", item.getRules().toString()));
+    }
+    if (item.getExpected() != null) {
+      request.getInput().add(input("expected", item.getExpected()));
+    }
+    return request;
+  }
+
+  private AnyContent input(String name, String value) {
+    return utils.createAnyContentSimple(name, value, ValueEmbeddingEnumeration.STRING);
+  }
+
+  private void writeLine(ObjectNode line, OutputStream out) throws IOException {
+    out.write(json.getReader().writeValueAsBytes(line));
+    out.write('\n');
+    out.flush();
+  }
+
+  private static long toLong(BigInteger value) {
+    return value == null ? 0 : value.longValue();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import eu.europa.ec.eudi.gitb.ClusterRouter;
+import eu.europa.ec.eudi.gitb.NotificationOutbox;
+import eu.europa.ec.eudi.gitb.SessionDiagnostics;
+import eu.europa.ec.eudi.gitb.StateManager;
+import eu.europa.ec.eudi.gitb.Utils;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for the internal protocol between the nodes of a cluster (see {@link
+ * ClusterRouter}).
+ *
+ * <p>These endpoints are only available in cluster mode, and require the cluster's shared secret.
+ * Only the nodes listed in "cluster.nodes" may join or leave.
+ */
+@RestController
+public class ClusterController {
+
+  @Autowired private ClusterRouter clusterRouter = null;
+  @Autowired private StateManager stateManager = null;
+  @Autowired private SessionDiagnostics sessionDiagnostics = null;
+  @Autowired private NotificationOutbox notificationOutbox = null;
+  @Autowired private Utils utils = null;
+
+  /**
+   * List the nodes of the cluster.
+   *
+   * @param secret The cluster's shared secret.
+   * @return The nodes' base URLs.
+   */
+  @RequestMapping(value = "/cluster/members", method = RequestMethod.GET)
+  public Set<String> members(
+      @RequestHeader(value = ClusterRouter.SECRET_HEADER, required = false) String secret) {
+    authorise(secret);
+    return clusterRouter.getMembers();
+  }
+
+  /**
+   * Add a node to the cluster.
+   *
+   * @param secret The cluster's shared secret.
+   * @param body The node ("node").
+   */
+  @RequestMapping(value = "/cluster/join", method = RequestMethod.POST)
+  public void join(
+      @RequestHeader(value = ClusterRouter.SECRET_HEADER, required = false) String secret,
+      @RequestBody JsonNode body) {
+    authorise(secret);
+    clusterRouter.join(configuredNode(body));
+  }
+
+  /**
+   * Remove a node from the cluster.
+   *
+   * @param secret The cluster's shared secret.
+   * @param body The node ("node").
+   */
+  @RequestMapping(value = "/cluster/leave", method = RequestMethod.POST)
+  public void leave(
+      @RequestHeader(value = ClusterRouter.SECRET_HEADER, required = false) String secret,
+      @RequestBody JsonNode body) {
+    authorise(secret);
+    clusterRouter.leave(configuredNode(body));
+  }
+
+  /**
+   * Create (or take over) a session owned by this node.
+   *
+   * @param secret The cluster's shared secret.
+   * @param sessionId The test session ID.
+   * @param body The session's "callbackURL" and other (string) "values".
+   */
+  @RequestMapping(value = "/cluster/sessions/{sessionId}", method = RequestMethod.PUT)
+  public void putSession(
+      @RequestHeader(value = ClusterRouter.SECRET_HEADER, required = false) String secret,
+      @PathVariable("sessionId") String sessionId,
+      @RequestBody JsonNode body) {
+    authorise(secret);
+    body.path("values")
+        .fields()
+        .forEachRemaining(
+            value -> {
+              if (!value.getValue().isTextual()) {
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    String.format(
+                        "Value [%s] of session [%s] is not a string", value.getKey(), sessionId));
+              }
+            });
+    stateManager.createSession(sessionId, body.path("callbackURL").asText(null));
+    body.path("values")
+        .fields()
+        .forEachRemaining(
+            value ->
+                stateManager.setSessionInfo(sessionId, value.getKey(), value.getValue().asText()));
+  }
+
+  /**
+   * Destroy a session owned by this node.
+   *
+   * @param secret The cluster's shared secret.
+   * @param sessionId The test session ID.
+   */
+  @RequestMapping(value = "/cluster/sessions/{sessionId}", method = RequestMethod.DELETE)
+  public void deleteSession(
+      @RequestHeader(value = ClusterRouter.SECRET_HEADER, required = false) String secret,
+      @PathVariable("sessionId") String sessionId) {
+    authorise(secret);
+    stateManager.destroySession(sessionId);
+    sessionDiagnostics.disable(sessionId);
+  }
+
+  /**
+   * Take over a pending notification from a node leaving the cluster.
+   *
+   * @param secret The cluster's shared secret.
+   * @param body The notification's "sessionId", "callId", "callback" and XML "report".
+   */
+  @RequestMapping(value = "/cluster/notifications", method = RequestMethod.POST)
+  public void notification(
+      @RequestHeader(value = ClusterRouter.SECRET_HEADER, required = false) String secret,
+      @RequestBody JsonNode body) {
+    authorise(secret);
+    notificationOutbox.enqueue(
+        body.path("sessionId").asText(),
+        body.path("callId").asText(null),
+        body.path("callback").asText(),
+        utils.unmarshalReport(body.path("report").asText()));
+  }
+
+  private String configuredNode(JsonNode body) {
+    String node = body.path("node").asText();
+    if (!clusterRouter.isConfigured(node)) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, String.format("Node [%s] is not listed in cluster.nodes", node));
+    }
+    return node;
+  }
+
+  private void authorise(String secret) {
+    if (!clusterRouter.isAuthorised(secret)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web;
+
+import eu.europa.ec.eudi.gitb.SessionDiagnostics;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller to enable verbose logging for individual test sessions while they run.
+ *
+ * <p>Diagnostics enabled for a session are disabled once the session is finalised.
+ */
+@RestController
+public class DiagnosticsController {
+
+  @Autowired private SessionDiagnostics sessionDiagnostics = null;
+
+  /**
+   * Enable diagnostics for a session.
+   *
+   * @param sessionId The test session ID.
+   */
+  @RequestMapping(value = "/diagnostics/sessions/{sessionId}", method = RequestMethod.PUT)
+  public void enable(@PathVariable("sessionId") String sessionId) {
+    sessionDiagnostics.enable(sessionId);
+  }
+
+  /**
+   * Disable diagnostics for a session.
+   *
+   * @param sessionId The test session ID.
+   */
+  @RequestMapping(value = "/diagnostics/sessions/{sessionId}", method = RequestMethod.DELETE)
+  public void disable(@PathVariable("sessionId") String sessionId) {
+    sessionDiagnostics.disable(sessionId);
+  }
+
+  /**
+   * List the sessions for which diagnostics were enabled.
+   *
+   * @return The session IDs.
+   */
+  @RequestMapping(value = "/diagnostics/sessions", method = RequestMethod.GET)
+  public Set<String> list() {
+    return sessionDiagnostics.getEnabledSessions();
+  }
+}
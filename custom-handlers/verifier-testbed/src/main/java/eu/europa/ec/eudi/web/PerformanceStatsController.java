@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web;
+
+import eu.europa.ec.eudi.gitb.PerformanceStats;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller to query the timing and outcome statistics of validations across test sessions.
+ */
+@RestController
+public class PerformanceStatsController {
+
+  @Autowired private PerformanceStats performanceStats = null;
+
+  /**
+   * Summarise the statistics of the validations matching the given criteria, per validator,
+   * expected event and system under test.
+   *
+   * @param validator The validator ("text", "issuer" or "verifier", optional).
+   * @param expectedEvent The expected event (optional).
+   * @param sut The system under test (optional).
+   * @param window The period to summarise (e.g. "15m" or "PT15M"), up to the configured window.
+   * @return The outcomes and duration percentiles of the matching series.
+   */
+  @RequestMapping(value = "/stats/performance", method = RequestMethod.GET)
+  public List<PerformanceStats.SeriesSummary> performance(
+      @RequestParam(value = "validator", required = false) String validator,
+      @RequestParam(value = "expectedEvent", required = false) String expectedEvent,
+      @RequestParam(value = "sut", required = false) String sut,
+      @RequestParam(value = "window", required = false) Duration window) {
+    return performanceStats.query(
+        validator, expectedEvent, sut, window == null ? 0 : window.toMillis());
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web;
+
+import eu.europa.ec.eudi.gitb.StateManager;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller to inspect the memory held by active test sessions.
+ *
+ * <p>Footprints are estimates, meant to find the sessions responsible for memory pressure rather
+ * than to measure exact heap usage.
+ */
+@RestController
+public class SessionFootprintController {
+
+  @Autowired private StateManager stateManager = null;
+
+  /**
+   * List the sessions with the largest footprint.
+   *
+   * @param limit The maximum number of sessions to list.
+   * @return The sessions' footprints, largest first.
+   */
+  @RequestMapping(value = "/admin/sessions/top", method = RequestMethod.GET)
+  public List<StateManager.SessionFootprint> top(
+      @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    return stateManager.getTopSessions(limit);
+  }
+}
@@ -15,15 +15,31 @@
  */
 package eu.europa.ec.eudi.web;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.gitb.core.ValueEmbeddingEnumeration;
 import com.gitb.tr.TAR;
 import com.gitb.tr.TestResultType;
+import eu.europa.ec.eudi.gitb.ClusterRouter;
+import eu.europa.ec.eudi.gitb.NotificationOutbox;
 import eu.europa.ec.eudi.gitb.StateManager;
 import eu.europa.ec.eudi.gitb.TestBedNotifier;
 import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -67,22 +83,38 @@ public class UserInputController {
   @Autowired private StateManager stateManager = null;
   @Autowired private TestBedNotifier testBedNotifier = null;
   @Autowired private Utils utils = null;
+  @Autowired private Json json = null;
+  @Autowired private ClusterRouter clusterRouter = null;
+
+  @Value("${input.broadcast.timeout:5000}")
+  private long broadcastTimeout;
 
   /**
    * HTTP GET service to receive input for the test bed.
    *
    * <p>Input received here will be provided back to the test bed as a response to its 'receive'
-   * step.
+   * step. The notifications of all sessions share a single serialised report, and the response
+   * lists the outcome of each session's notification, grouped by Test Bed callback address: it is
+   * "DELIVERED" or "ABANDONED" if known within "input.broadcast.timeout" milliseconds, "PENDING" if
+   * the notification is still being delivered, or "UNKNOWN_SESSION". In cluster mode the message
+   * is passed to the node owning the session, or to all nodes when no session is given.
    *
    * @param session The test session ID this relates to. Omitting this will consider all active
    *     sessions.
    * @param message The message to send. No message will result in an empty string.
-   * @return A text configuration message.
+   * @param forwarded The node that forwarded the request in cluster mode (if any).
+   * @return The outcome of the notifications.
+   * @throws JsonProcessingException If the response of another node cannot be parsed.
    */
   @RequestMapping(value = "/input", method = RequestMethod.GET)
-  public String provideMessage(
+  public ObjectNode provideMessage(
       @RequestParam(value = "session", required = false) String session,
-      @RequestParam(value = "message", defaultValue = "") String message) {
+      @RequestParam(value = "message", defaultValue = "") String message,
+      @RequestHeader(value = ClusterRouter.FORWARDED_HEADER, required = false) String forwarded)
+      throws JsonProcessingException {
+    if (forwarded == null && clusterRouter.isEnabled()) {
+      return provideClusterMessage(session, message);
+    }
     List<String> sessionIds = new ArrayList<>();
     if (session == null) {
       // Send message to all current sessions.
@@ -100,13 +132,141 @@ public class UserInputController {
         .add(
             utils.createAnyContentSimple(
                 "messageReceived", message, ValueEmbeddingEnumeration.STRING));
+    // Group the sessions by callback address.
+    Map<String, List<String>> sessionsByCallback = new LinkedHashMap<>();
+    List<String> unknownSessions = new ArrayList<>();
     for (String sessionId : sessionIds) {
-      testBedNotifier.notifyTestBed(
-          sessionId,
-          null,
-          (String) stateManager.getSessionInfo(sessionId, StateManager.SessionData.CALLBACK_URL),
-          notificationReport);
+      String callback =
+          (String) stateManager.getSessionInfo(sessionId, StateManager.SessionData.CALLBACK_URL);
+      if (callback == null) {
+        unknownSessions.add(sessionId);
+      } else {
+        sessionsByCallback.computeIfAbsent(callback, k -> new ArrayList<>()).add(sessionId);
+      }
+    }
+    List<NotificationOutbox.Recipient> recipients = new ArrayList<>();
+    sessionsByCallback.forEach(
+        (callback, ids) ->
+            ids.forEach(id -> recipients.add(new NotificationOutbox.Recipient(id, callback))));
+    List<CompletableFuture<NotificationOutbox.Outcome>> outcomes =
+        recipients.isEmpty()
+            ? List.of()
+            : testBedNotifier.notifyTestBed(recipients, null, notificationReport);
+    awaitOutcomes(outcomes);
+    // Report the outcome of each notification.
+    ObjectNode result = json.getReader().createObjectNode();
+    result.put("message", message);
+    result.put("sessions", sessionIds.size());
+    Map<String, Integer> totals = new LinkedHashMap<>();
+    ArrayNode callbacks = result.putArray("callbacks");
+    ObjectNode group = null;
+    for (int i = 0; i < recipients.size(); i++) {
+      NotificationOutbox.Recipient recipient = recipients.get(i);
+      if (group == null || !group.get("callback").asText().equals(recipient.callback())) {
+        group = callbacks.addObject().put("callback", recipient.callback());
+        group.putArray("sessions");
+      }
+      NotificationOutbox.Outcome outcome = outcomes.get(i).getNow(null);
+      String outcomeName = outcome == null ? "PENDING" : outcome.name();
+      totals.merge(outcomeName, 1, Integer::sum);
+      ((ArrayNode) group.get("sessions"))
+          .addObject()
+          .put("sessionId", recipient.sessionId())
+          .put("outcome", outcomeName);
+    }
+    if (!unknownSessions.isEmpty()) {
+      totals.put("UNKNOWN_SESSION", unknownSessions.size());
+      ArrayNode unknown = result.putArray("unknownSessions");
+      unknownSessions.forEach(unknown::add);
+    }
+    ObjectNode summary = result.putObject("outcomes");
+    totals.forEach(summary::put);
+    return result;
+  }
+
+  /**
+   * Provide a message in cluster mode: a message for a session is forwarded to the session's owner,
+   * while a message for all sessions is provided by every node for its own sessions.
+   */
+  private ObjectNode provideClusterMessage(String session, String message)
+      throws JsonProcessingException {
+    List<String> nodes = new ArrayList<>();
+    if (session == null) {
+      nodes.add(clusterRouter.getSelf());
+      nodes.addAll(clusterRouter.getPeers());
+    } else {
+      nodes.add(clusterRouter.ownerOf(session));
+    }
+    String query =
+        "/input?message="
+            + URLEncoder.encode(message, StandardCharsets.UTF_8)
+            + (session == null
+                ? ""
+                : "&session=" + URLEncoder.encode(session, StandardCharsets.UTF_8));
+    // The other nodes are called in parallel, and may each wait for "input.broadcast.timeout".
+    List<CompletableFuture<String>> forwarded = new ArrayList<>();
+    for (String node : nodes) {
+      if (!node.equals(clusterRouter.getSelf())) {
+        forwarded.add(clusterRouter.forward(node, query, broadcastTimeout));
+      }
+    }
+    ObjectNode result =
+        nodes.contains(clusterRouter.getSelf())
+            ? provideMessage(session, message, clusterRouter.getSelf())
+            : null;
+    for (CompletableFuture<String> response : forwarded) {
+      ObjectNode nodeResult = parse(response.join());
+      if (nodeResult == null) {
+        continue;
+      } else if (result == null) {
+        result = nodeResult;
+      } else {
+        merge(result, nodeResult);
+      }
+    }
+    return result == null ? provideMessage(session, message, clusterRouter.getSelf()) : result;
+  }
+
+  private ObjectNode parse(String response) throws JsonProcessingException {
+    return response == null ? null : (ObjectNode) json.getReader().readTree(response);
+  }
+
+  /** Merge the result of another node into the given result. */
+  private static void merge(ObjectNode result, ObjectNode other) {
+    result.put("sessions", result.path("sessions").asInt() + other.path("sessions").asInt());
+    ((ArrayNode) result.get("callbacks")).addAll((ArrayNode) other.get("callbacks"));
+    if (other.has("unknownSessions")) {
+      ArrayNode unknown =
+          result.has("unknownSessions")
+              ? (ArrayNode) result.get("unknownSessions")
+              : result.putArray("unknownSessions");
+      unknown.addAll((ArrayNode) other.get("unknownSessions"));
+    }
+    ObjectNode outcomes = (ObjectNode) result.get("outcomes");
+    other
+        .path("outcomes")
+        .fields()
+        .forEachRemaining(
+            entry ->
+                outcomes.put(
+                    entry.getKey(),
+                    outcomes.path(entry.getKey()).asInt() + entry.getValue().asInt()));
+  }
+
+  /** Wait for the notifications' outcomes, for at most "input.broadcast.timeout" milliseconds. */
+  private void awaitOutcomes(List<CompletableFuture<NotificationOutbox.Outcome>> outcomes) {
+    if (outcomes.isEmpty() || broadcastTimeout <= 0) {
+      return;
+    }
+    try {
+      CompletableFuture.allOf(outcomes.toArray(new CompletableFuture<?>[0]))
+          .get(broadcastTimeout, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // Notifications still being delivered are reported as pending.
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Unexpected notification failure", e.getCause());
     }
-    return String.format("Sent message [%s] to %s session(s)", message, sessionIds.size());
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchValidationItemTO {
+  @JsonProperty("id")
+  private String id;
+
+  @JsonProperty("validator")
+  private String validator;
+
+  @JsonProperty("text")
+  private String text;
+
+  @JsonProperty("expectedEvent")
+  private String expectedEvent;
+
+  @JsonProperty("expected")
+  private String expected;
+
+  @JsonProperty("rules")
+  private JsonNode rules;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getValidator() {
+    return validator;
+  }
+
+  public void setValidator(String validator) {
+    this.validator = validator;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public void setText(String text) {
+    this.text = text;
+  }
+
+  public String getExpectedEvent() {
+    return expectedEvent;
+  }
+
+  public void setExpectedEvent(String expectedEvent) {
+    this.expectedEvent = expectedEvent;
+  }
+
+  public String getExpected() {
+    return expected;
+  }
+
+  public void setExpected(String expected) {
+    this.expected = expected;
+  }
+
+  public JsonNode getRules() {
+    return rules;
+  }
+
+  public void setRules(JsonNode rules) {
+    this.rules = rules;
+  }
+}
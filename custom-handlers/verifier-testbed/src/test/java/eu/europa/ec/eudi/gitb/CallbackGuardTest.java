@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link CallbackGuard}. */
+public class CallbackGuardTest {
+
+  private static final String CALLBACK = "http://testbed/callback";
+
+  private MeterRegistry meterRegistry;
+  private CallbackGuard guard;
+
+  @BeforeEach
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    guard = new CallbackGuard();
+    ReflectionTestUtils.setField(guard, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(guard, "initialLimit", 8);
+    ReflectionTestUtils.setField(guard, "minLimit", 1);
+    ReflectionTestUtils.setField(guard, "maxLimit", 64);
+    ReflectionTestUtils.setField(guard, "latencyTarget", 50L);
+    ReflectionTestUtils.setField(guard, "failureThreshold", 3);
+    ReflectionTestUtils.setField(guard, "openDuration", 60000L);
+  }
+
+  /** Test that the limit grows with fast calls and is halved by slow ones. */
+  @Test
+  public void halvesLimitOnSlowCalls() {
+    guard.call(CALLBACK, () -> "fast");
+    assertEquals(8.125, gauge("testbed.callback.limit"), 0.001);
+
+    guard.call(CALLBACK, () -> sleep(100));
+    assertEquals(4.0625, gauge("testbed.callback.limit"), 0.001);
+    guard.call(CALLBACK, () -> sleep(100));
+    assertEquals(2.03125, gauge("testbed.callback.limit"), 0.001);
+    guard.call(CALLBACK, () -> sleep(100));
+    guard.call(CALLBACK, () -> sleep(100));
+    assertEquals(1, gauge("testbed.callback.limit"), 0.001);
+    assertEquals(0, gauge("testbed.callback.circuit"));
+  }
+
+  /** Test that calls beyond the limit are rejected immediately. */
+  @Test
+  public void rejectsCallsBeyondLimit() throws Exception {
+    ReflectionTestUtils.setField(guard, "initialLimit", 1);
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    CompletableFuture<String> running = callAsync(started, release);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    try {
+      assertThrows(CallbackRejectedException.class, () -> guard.call(CALLBACK, () -> "second"));
+    } finally {
+      release.countDown();
+    }
+    assertEquals("done", running.get(5, TimeUnit.SECONDS));
+  }
+
+  /** Test that the circuit opens after the failure threshold is reached. */
+  @Test
+  public void opensCircuitAfterFailureThreshold() {
+    failCall();
+    failCall();
+    assertEquals(0, gauge("testbed.callback.circuit"));
+    failCall();
+    assertEquals(2, gauge("testbed.callback.circuit"));
+
+    var calls = new AtomicInteger();
+    assertThrows(
+        CallbackRejectedException.class, () -> guard.call(CALLBACK, calls::incrementAndGet));
+    assertEquals(0, calls.get());
+  }
+
+  /** Test that a success resets the consecutive failures. */
+  @Test
+  public void successResetsFailures() {
+    failCall();
+    failCall();
+    guard.call(CALLBACK, () -> "ok");
+    failCall();
+    failCall();
+    assertEquals(0, gauge("testbed.callback.circuit"));
+  }
+
+  /** Test that a half-open circuit allows exactly one trial call, which closes it. */
+  @Test
+  public void allowsOneTrialCallWhenHalfOpen() throws Exception {
+    ReflectionTestUtils.setField(guard, "openDuration", 100L);
+    failCall();
+    failCall();
+    failCall();
+    Thread.sleep(150);
+
+    assertThrows(CallbackRejectedException.class, () -> guard.call(CALLBACK, true, () -> "log"));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    CompletableFuture<String> trial = callAsync(started, release);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertEquals(1, gauge("testbed.callback.circuit"));
+
+    var calls = new AtomicInteger();
+    try {
+      assertThrows(
+          CallbackRejectedException.class, () -> guard.call(CALLBACK, calls::incrementAndGet));
+      assertThrows(
+          CallbackRejectedException.class, () -> guard.call(CALLBACK, calls::incrementAndGet));
+    } finally {
+      release.countDown();
+    }
+    assertEquals("done", trial.get(5, TimeUnit.SECONDS));
+    assertEquals(0, calls.get());
+    assertEquals(0, gauge("testbed.callback.circuit"));
+    assertEquals(Integer.valueOf(1), guard.call(CALLBACK, calls::incrementAndGet));
+  }
+
+  /** Test that a failed trial call opens the circuit again. */
+  @Test
+  public void reopensCircuitOnFailedTrialCall() throws Exception {
+    ReflectionTestUtils.setField(guard, "openDuration", 100L);
+    failCall();
+    failCall();
+    failCall();
+    Thread.sleep(150);
+
+    failCall();
+    assertEquals(2, gauge("testbed.callback.circuit"));
+    assertThrows(CallbackRejectedException.class, () -> guard.call(CALLBACK, () -> "ok"));
+  }
+
+  private void failCall() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            guard.call(
+                CALLBACK,
+                () -> {
+                  throw new IllegalStateException("Test Bed unavailable");
+                }));
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).tag("callback", CALLBACK).gauge().value();
+  }
+
+  private CompletableFuture<String> callAsync(CountDownLatch started, CountDownLatch release) {
+    return CompletableFuture.supplyAsync(
+        () ->
+            guard.call(
+                CALLBACK,
+                () -> {
+                  started.countDown();
+                  return await(release);
+                }));
+  }
+
+  private static String sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "slow";
+  }
+
+  private static String await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "done";
+  }
+}
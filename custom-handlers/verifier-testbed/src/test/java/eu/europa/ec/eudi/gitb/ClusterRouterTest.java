@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link ClusterRouter}. */
+public class ClusterRouterTest {
+
+  private static final String SELF = "http://self.invalid/app";
+  private static final String SECRET = "s3cret";
+
+  private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+  private final StateManager stateManager = new StateManager();
+
+  private HttpServer server;
+  private String peer;
+  private volatile String peerMembers;
+  private volatile boolean broken;
+  private ClusterRouter router;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/app/cluster",
+        exchange -> {
+          if (broken) {
+            // Drop the connection without a response.
+            exchange.close();
+            return;
+          }
+          String body =
+              new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+          requests.add(
+              exchange.getRequestMethod()
+                  + " "
+                  + exchange.getRequestURI().getPath()
+                  + " "
+                  + exchange.getRequestHeaders().getFirst(ClusterRouter.SECRET_HEADER)
+                  + " "
+                  + body);
+          byte[] response =
+              exchange.getRequestURI().getPath().endsWith("/members")
+                  ? peerMembers.getBytes(StandardCharsets.UTF_8)
+                  : new byte[0];
+          exchange.sendResponseHeaders(200, response.length == 0 ? -1 : response.length);
+          exchange.getResponseBody().write(response);
+          exchange.close();
+        });
+    server.start();
+    peer = "http://localhost:" + server.getAddress().getPort() + "/app";
+    peerMembers = "[\"" + peer + "\",\"" + SELF + "\"]";
+    ReflectionTestUtils.setField(stateManager, "maxSessionBytes", 1_000_000L);
+    ReflectionTestUtils.setField(stateManager, "maxTotalBytes", 1_000_000L);
+    ReflectionTestUtils.setField(stateManager, "spillDirectory", "");
+    router = router(SECRET, peer);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    router.stop();
+    server.stop(0);
+  }
+
+  /** Test that cluster mode cannot be enabled without a shared secret. */
+  @Test
+  public void startRequiresSecret() {
+    var unprotected = router("", peer);
+
+    assertThrows(IllegalStateException.class, unprotected::start);
+  }
+
+  /** Test that internal requests must provide the exact secret, which is sent with every call. */
+  @Test
+  public void secretIsRequired() {
+    router.start();
+
+    assertTrue(router.isAuthorised(SECRET));
+    assertFalse(router.isAuthorised("s3cre"));
+    assertFalse(router.isAuthorised("s3cret!"));
+    assertFalse(router.isAuthorised(null));
+    assertTrue(requests.get(0).startsWith("POST /app/cluster/join " + SECRET + " "));
+  }
+
+  /** Test that only the configured nodes may join. */
+  @Test
+  public void joinRejectsUnconfiguredNodes() {
+    router.start();
+
+    assertThrows(IllegalArgumentException.class, () -> router.join("http://intruder/app"));
+    assertEquals(Set.of(SELF, peer), router.getMembers());
+    assertFalse(router.isConfigured("http://intruder/app"));
+  }
+
+  /** Test that a node is only dropped after repeated failures. */
+  @Test
+  public void nodeIsDroppedAfterRepeatedFailures() throws IOException {
+    String unreachable;
+    try (var socket = new ServerSocket(0)) {
+      unreachable = "http://localhost:" + socket.getLocalPort() + "/app";
+    }
+    router.stop();
+    router = router(SECRET, peer + "," + unreachable);
+    router.start();
+    // The join call at startup is the first failure.
+    assertTrue(router.getMembers().contains(unreachable));
+
+    assertNull(router.forward(unreachable, "/input", 0).join());
+    assertTrue(router.getMembers().contains(unreachable));
+    assertNull(router.forward(unreachable, "/input", 0).join());
+    assertFalse(router.getMembers().contains(unreachable));
+    assertTrue(router.getMembers().contains(peer));
+  }
+
+  /** Test that a successful call resets the failure count. */
+  @Test
+  public void successResetsFailures() {
+    router.start();
+    broken = true;
+    assertNull(router.forward(peer, "/cluster/members", 0).join());
+    assertNull(router.forward(peer, "/cluster/members", 0).join());
+    broken = false;
+    assertEquals(peerMembers, router.forward(peer, "/cluster/members", 0).join());
+    broken = true;
+    assertNull(router.forward(peer, "/cluster/members", 0).join());
+    assertNull(router.forward(peer, "/cluster/members", 0).join());
+
+    assertTrue(router.getMembers().contains(peer));
+  }
+
+  /** Test that the health checks add back a node that answers, and rejoin nodes that forgot us. */
+  @Test
+  public void healthCheckRejoins() {
+    router.start();
+    router.leave(peer);
+    peerMembers = "[\"" + peer + "\"]";
+    requests.clear();
+
+    router.checkHealth();
+
+    assertTrue(router.getMembers().contains(peer));
+    assertEquals(2, requests.size());
+    assertTrue(requests.get(0).startsWith("GET /app/cluster/members "));
+    assertTrue(requests.get(1).startsWith("POST /app/cluster/join "));
+  }
+
+  /** Test that a node that is leaving (no longer lists itself) is not added back. */
+  @Test
+  public void healthCheckIgnoresLeavingNodes() {
+    router.start();
+    router.leave(peer);
+    peerMembers = "[\"" + SELF + "\"]";
+
+    router.checkHealth();
+
+    assertFalse(router.getMembers().contains(peer));
+  }
+
+  /** Test that sessions are handed over to a joining owner with their string values only. */
+  @Test
+  public void handOffTransfersStringValues() throws Exception {
+    router.start();
+    router.leave(peer);
+    String sessionId = null;
+    for (int i = 0; sessionId == null; i++) {
+      String candidate = "session" + i;
+      stateManager.createSession(candidate, "http://testbed/callback");
+      stateManager.setSessionInfo(candidate, "note", "text");
+      stateManager.setSessionInfo(candidate, "count", 42);
+      if (ownerWith(peer, candidate)) {
+        sessionId = candidate;
+      }
+    }
+    requests.clear();
+
+    router.join(peer);
+
+    String handedOff = "PUT /app/cluster/sessions/" + sessionId + " ";
+    String put =
+        requests.stream()
+            .filter(request -> request.startsWith(handedOff))
+            .findFirst()
+            .orElseThrow();
+    JsonNode body = Json.INSTANCE.getReader().readTree(put.substring(put.indexOf('{')));
+    assertEquals("http://testbed/callback", body.path("callbackURL").asText());
+    assertEquals("text", body.path("values").path("note").asText());
+    assertFalse(body.path("values").has("count"));
+    assertFalse(stateManager.getAllSessions().containsKey(sessionId));
+  }
+
+  /** Check whether a node would own a session if it was part of the cluster. */
+  private boolean ownerWith(String node, String sessionId) {
+    var ring = new ConsistentHashRing(List.of(SELF, node), 100);
+    return node.equals(ring.ownerOf(sessionId));
+  }
+
+  private ClusterRouter router(String secret, String nodes) {
+    var clusterRouter = new ClusterRouter();
+    ReflectionTestUtils.setField(clusterRouter, "stateManager", stateManager);
+    ReflectionTestUtils.setField(
+        clusterRouter,
+        "notificationOutbox",
+        new NotificationOutbox() {
+          @Override
+          public int handOff(HandOff target) {
+            return 0;
+          }
+        });
+    ReflectionTestUtils.setField(clusterRouter, "httpClient", HttpClient.newHttpClient());
+    ReflectionTestUtils.setField(clusterRouter, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(clusterRouter, "enabled", true);
+    ReflectionTestUtils.setField(clusterRouter, "nodes", SELF + "," + nodes);
+    ReflectionTestUtils.setField(clusterRouter, "self", SELF);
+    ReflectionTestUtils.setField(clusterRouter, "virtualNodes", 100);
+    ReflectionTestUtils.setField(clusterRouter, "secret", secret);
+    ReflectionTestUtils.setField(clusterRouter, "timeout", 2000L);
+    ReflectionTestUtils.setField(clusterRouter, "failureThreshold", 3);
+    ReflectionTestUtils.setField(clusterRouter, "healthInterval", 0L);
+    return clusterRouter;
+  }
+}
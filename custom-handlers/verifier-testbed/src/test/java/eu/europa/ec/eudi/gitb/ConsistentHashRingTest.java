@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ConsistentHashRing}. */
+public class ConsistentHashRingTest {
+
+  private static final List<String> NODES = List.of("http://a/app", "http://b/app", "http://c/app");
+
+  /** Test that keys are spread across the nodes. */
+  @Test
+  public void spreadsKeys() {
+    var ring = new ConsistentHashRing(NODES, 100);
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < 3000; i++) {
+      counts.merge(ring.ownerOf("session" + i), 1, Integer::sum);
+    }
+
+    assertEquals(NODES.size(), counts.size());
+    counts.values().forEach(count -> assertTrue(count > 600 && count < 1400, "Owned " + count));
+  }
+
+  /** Test that removing a node only moves the keys it owned. */
+  @Test
+  public void removalOnlyMovesOwnedKeys() {
+    var ring = new ConsistentHashRing(NODES, 100);
+    var reduced = new ConsistentHashRing(NODES.subList(0, 2), 100);
+
+    for (int i = 0; i < 3000; i++) {
+      String owner = ring.ownerOf("session" + i);
+      if (!owner.equals(NODES.get(2))) {
+        assertEquals(owner, reduced.ownerOf("session" + i));
+      }
+    }
+  }
+
+  /** Test that an empty ring has no owners. */
+  @Test
+  public void emptyRing() {
+    assertNull(new ConsistentHashRing(List.of(), 100).ownerOf("session"));
+  }
+}
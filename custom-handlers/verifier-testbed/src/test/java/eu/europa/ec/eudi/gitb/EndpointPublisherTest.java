@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.cxf.jaxws.EndpointImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link EndpointPublisher}. */
+public class EndpointPublisherTest {
+
+  private final AtomicInteger publications = new AtomicInteger();
+  private EndpointPublisher publisher;
+
+  @BeforeEach
+  public void setUp() {
+    publisher = new EndpointPublisher();
+    ObjectProvider<EndpointImpl> endpoints =
+        new ObjectProvider<>() {
+          @Override
+          public EndpointImpl getObject(Object... args) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public EndpointImpl getIfAvailable() {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public EndpointImpl getIfUnique() {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public EndpointImpl getObject() {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public Stream<EndpointImpl> stream() {
+            publications.incrementAndGet();
+            return Stream.empty();
+          }
+        };
+    ReflectionTestUtils.setField(publisher, "endpoints", endpoints);
+    ReflectionTestUtils.setField(publisher, "cxfPath", "/services");
+  }
+
+  /** Test that endpoints are published at startup unless they are lazy. */
+  @Test
+  public void publishesAtStartupByDefault() {
+    publisher.afterSingletonsInstantiated();
+    publisher.publish();
+
+    assertEquals(1, publications.get());
+    assertTrue(publisher.shouldNotFilter(request("/services/log/validation")));
+  }
+
+  /** Test that lazy endpoints are published by the first SOAP request only. */
+  @Test
+  public void lazyEndpointsArePublishedOnFirstSoapRequest() {
+    ReflectionTestUtils.setField(publisher, "lazy", true);
+    publisher.afterSingletonsInstantiated();
+
+    assertEquals(0, publications.get());
+    assertTrue(publisher.shouldNotFilter(request("/actuator/health")));
+    assertFalse(publisher.shouldNotFilter(request("/services/log/validation")));
+    publisher.publish();
+    assertEquals(1, publications.get());
+    assertTrue(publisher.shouldNotFilter(request("/services/log/validation")));
+  }
+
+  private static HttpServletRequest request(String servletPath) {
+    return (HttpServletRequest)
+        Proxy.newProxyInstance(
+            EndpointPublisherTest.class.getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("getServletPath")) {
+                return servletPath;
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link HttpClientConfig}. */
+public class HttpClientConfigTest {
+
+  /** Test that the shared client does not follow redirects. */
+  @Test
+  public void doesNotFollowRedirects() {
+    HttpClient client = new HttpClientConfig().httpClient(false);
+
+    assertEquals(HttpClient.Redirect.NEVER, client.followRedirects());
+    assertTrue(client.executor().isEmpty());
+  }
+
+  /** Test that enabling virtual threads only changes the executor where they are available. */
+  @Test
+  public void virtualThreadsRequireJava21() {
+    HttpClient client = new HttpClientConfig().httpClient(true);
+
+    assertEquals(Runtime.version().feature() >= 21, client.executor().isPresent());
+  }
+}
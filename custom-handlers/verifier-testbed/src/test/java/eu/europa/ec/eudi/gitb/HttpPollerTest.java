@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link HttpPoller}. */
+public class HttpPollerTest {
+
+  private HttpServer server;
+  private HttpPoller poller;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.start();
+    var tracing = new SessionTracing();
+    ReflectionTestUtils.setField(tracing, "observationRegistry", ObservationRegistry.NOOP);
+    poller = new HttpPoller();
+    ReflectionTestUtils.setField(poller, "httpClient", HttpClient.newHttpClient());
+    ReflectionTestUtils.setField(poller, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(poller, "sessionTracing", tracing);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  /** Test that polling stops as soon as the expression resolves to the expected value. */
+  @Test
+  public void pollsUntilExpectedValue() {
+    var calls = new AtomicInteger();
+    respond(
+        "/status",
+        () -> calls.incrementAndGet() < 3 ? "{\"state\":\"pending\"}" : "{\"state\":\"done\"}");
+
+    var result = poller.poll(request("/status", "$.state", "done", Duration.ofSeconds(5), 0));
+
+    assertTrue(result.satisfied());
+    assertEquals(3, result.attempts());
+    assertEquals("{\"state\":\"done\"}", result.lastResponse().body());
+  }
+
+  /** Test that a zero initial delay still backs off instead of spinning. */
+  @Test
+  public void zeroInitialDelayBacksOff() {
+    respond("/status", () -> "{\"state\":\"pending\"}");
+
+    var result = poller.poll(request("/status", "$.state", "done", Duration.ofMillis(500), 0));
+
+    assertFalse(result.satisfied());
+    // Unchanged responses double the delay from 1ms, so only a handful of attempts fit in 500ms.
+    assertTrue(result.attempts() < 20, "Too many attempts: " + result.attempts());
+  }
+
+  /** Test that an attempt hanging past the poll's deadline does not extend the poll. */
+  @Test
+  public void attemptTimeoutIsCappedToDeadline() {
+    server.createContext(
+        "/slow",
+        exchange -> {
+          try {
+            Thread.sleep(2000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.close();
+        });
+
+    long start = System.nanoTime();
+    var result = poller.poll(request("/slow", null, null, Duration.ofMillis(300), 10));
+
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(1500)) < 0);
+    assertFalse(result.satisfied());
+    assertNull(result.lastResponse());
+  }
+
+  /** Test that a failed attempt clears the response of an earlier one. */
+  @Test
+  public void failedAttemptClearsLastResponse() {
+    var calls = new AtomicInteger();
+    server.createContext(
+        "/flaky",
+        exchange -> {
+          if (calls.incrementAndGet() == 1) {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(503, body.length);
+            exchange.getResponseBody().write(body);
+          }
+          // Later attempts get the connection closed without a response.
+          exchange.close();
+        });
+
+    var result = poller.poll(request("/flaky", null, null, Duration.ofMillis(300), 10));
+
+    assertFalse(result.satisfied());
+    assertTrue(result.attempts() > 1);
+    assertNull(result.lastResponse());
+  }
+
+  /** Test the conversion of JSONPath expressions to JSON pointers. */
+  @Test
+  public void convertsJsonPathToPointer() {
+    assertEquals("/logs/0/level", HttpPoller.toJsonPointer("$.logs[0].level"));
+    assertEquals("/logs/0", HttpPoller.toJsonPointer("logs[0]"));
+    assertEquals("/a~1b/c~0d", HttpPoller.toJsonPointer("$['a/b']['c~d']"));
+    assertEquals("/x.y/z", HttpPoller.toJsonPointer("$[\"x.y\"].z"));
+    assertEquals("", HttpPoller.toJsonPointer("$"));
+    assertEquals("/a~1b/0", HttpPoller.toJsonPointer("/a~1b/0"));
+    assertThrows(IllegalArgumentException.class, () -> HttpPoller.toJsonPointer("$['open"));
+  }
+
+  private void respond(String path, Supplier<String> body) {
+    server.createContext(
+        path,
+        exchange -> {
+          byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(200, bytes.length);
+          exchange.getResponseBody().write(bytes);
+          exchange.close();
+        });
+  }
+
+  private HttpPoller.PollRequest request(
+      String path, String expression, String expected, Duration timeout, long initialDelay) {
+    return new HttpPoller.PollRequest(
+        URI.create("http://localhost:" + server.getAddress().getPort() + path),
+        Map.of(),
+        expression,
+        expected,
+        null,
+        timeout,
+        Duration.ofMillis(initialDelay),
+        Duration.ofSeconds(1));
+  }
+}
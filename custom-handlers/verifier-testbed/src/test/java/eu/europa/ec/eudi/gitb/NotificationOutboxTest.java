@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link NotificationOutbox}. */
+public class NotificationOutboxTest {
+
+  private final Utils utils = new Utils();
+  private final List<NotificationOutbox> outboxes = new ArrayList<>();
+  private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+
+  private Path directory;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("outbox-test");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    outboxes.forEach(NotificationOutbox::stop);
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  /** Test that notifications are delivered in order and the journal is then compacted. */
+  @Test
+  public void deliversInOrder() throws Exception {
+    var outbox = outbox(directory.toString());
+    outbox.start(this::record);
+
+    var first = outbox.enqueue("session1", "call1", "http://localhost/a", report());
+    var second = outbox.enqueue("session1", "call2", "http://localhost/a", report());
+
+    assertEquals(NotificationOutbox.Outcome.DELIVERED, first.get(5, TimeUnit.SECONDS));
+    assertEquals(NotificationOutbox.Outcome.DELIVERED, second.get(5, TimeUnit.SECONDS));
+    assertEquals(List.of("session1/call1", "session1/call2"), delivered);
+    assertEquals(0, outbox.getPending());
+    assertEquals(0, Files.size(directory.resolve("journal.ndjson")));
+    try (Stream<Path> reports = Files.list(directory.resolve("reports"))) {
+      assertEquals(0, reports.count());
+    }
+  }
+
+  /** Test that notifications pending when the outbox stops are delivered after it restarts. */
+  @Test
+  public void replaysPendingNotifications() throws Exception {
+    var failing = outbox(directory.toString());
+    failing.start(
+        (notification, report) -> {
+          throw new IOException("Test Bed unavailable");
+        });
+    failing.enqueue("session1", "call1", "http://localhost/a", report());
+    failing.enqueue("session1", "call2", "http://localhost/a", report());
+    failing.enqueue("session2", "call1", "http://localhost/b", report());
+    failing.stop();
+
+    var restarted = outbox(directory.toString());
+    restarted.start(this::record);
+
+    awaitDelivered(3);
+    assertEquals(3, delivered.size());
+    assertTrue(delivered.indexOf("session1/call1") < delivered.indexOf("session1/call2"));
+    assertTrue(delivered.contains("session2/call1"));
+  }
+
+  /** Test that a notification whose outcome cannot be journaled is no longer counted as pending. */
+  @Test
+  public void pendingIsReleasedWhenJournalFails() throws Exception {
+    var outbox = outbox(directory.toString());
+    outbox.start(
+        (notification, report) -> {
+          throw new IOException("Test Bed unavailable");
+        });
+    outbox.enqueue("session1", "call1", "http://localhost/a", report());
+    ((FileChannel) ReflectionTestUtils.getField(outbox, "journal")).close();
+    ReflectionTestUtils.setField(
+        outbox, "journal", FileChannel.open(directory.resolve("journal.ndjson")));
+
+    assertThrows(
+        NonWritableChannelException.class, () -> outbox.handOff((notification, xml) -> true));
+    assertEquals(0, outbox.getPending());
+  }
+
+  /** Test that an unusable directory is replaced by a temporary one. */
+  @Test
+  public void fallsBackWhenDirectoryIsNotWritable() throws Exception {
+    Path file = Files.writeString(directory.resolve("file"), "not a directory");
+    var outbox = outbox(file.resolve("outbox").toString());
+    outbox.start(this::record);
+
+    var outcome = outbox.enqueue("session1", "call1", "http://localhost/a", report());
+
+    assertEquals(NotificationOutbox.Outcome.DELIVERED, outcome.get(5, TimeUnit.SECONDS));
+    assertNotEquals(
+        file.resolve("outbox"), ReflectionTestUtils.getField(outbox, "outboxDirectory"));
+  }
+
+  /** Test that two instances do not share a directory. */
+  @Test
+  public void directoryIsNotShared() {
+    var first = outbox(directory.toString());
+    first.start(this::record);
+    var second = outbox(directory.toString());
+    second.start(this::record);
+
+    assertEquals(directory, ReflectionTestUtils.getField(first, "outboxDirectory"));
+    assertNotEquals(directory, ReflectionTestUtils.getField(second, "outboxDirectory"));
+  }
+
+  /** Test that the notifications of a fan-out share one unmarshalled report. */
+  @Test
+  public void fanOutSharesReport() throws Exception {
+    var outbox = outbox(directory.toString());
+    List<TAR> reports = Collections.synchronizedList(new ArrayList<>());
+    outbox.start((notification, report) -> reports.add(report));
+    List<NotificationOutbox.Recipient> recipients = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      recipients.add(new NotificationOutbox.Recipient("session" + i, "http://localhost/" + i));
+    }
+
+    for (var outcome : outbox.enqueueAll(recipients, "call1", report())) {
+      assertEquals(NotificationOutbox.Outcome.DELIVERED, outcome.get(5, TimeUnit.SECONDS));
+    }
+
+    assertEquals(5, reports.size());
+    reports.forEach(report -> assertSame(reports.get(0), report));
+    assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(outbox, "reports")).isEmpty());
+  }
+
+  /** Test that notifications recorded concurrently are all journaled and delivered. */
+  @Test
+  public void concurrentNotificationsShareForces() throws Exception {
+    var outbox = outbox(directory.toString());
+    outbox.start(this::record);
+    List<CompletableFuture<NotificationOutbox.Outcome>> outcomes =
+        Collections.synchronizedList(new ArrayList<>());
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      String sessionId = "session" + i;
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < 20; j++) {
+                  outcomes.add(
+                      outbox.enqueue(sessionId, "call" + j, "http://localhost/a", report()));
+                }
+              }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (var outcome : outcomes) {
+      assertEquals(NotificationOutbox.Outcome.DELIVERED, outcome.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(160, delivered.size());
+    assertFalse(outbox.getPending() > 0);
+  }
+
+  private NotificationOutbox outbox(String path) {
+    var outbox = new NotificationOutbox();
+    ReflectionTestUtils.setField(outbox, "utils", utils);
+    ReflectionTestUtils.setField(outbox, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(outbox, "directory", path);
+    ReflectionTestUtils.setField(outbox, "initialDelay", 10L);
+    ReflectionTestUtils.setField(outbox, "maxDelay", 20L);
+    ReflectionTestUtils.setField(outbox, "maxAge", 600_000L);
+    ReflectionTestUtils.setField(outbox, "threads", 2);
+    ReflectionTestUtils.setField(outbox, "sync", true);
+    ReflectionTestUtils.setField(outbox, "compactAfter", 0L);
+    outboxes.add(outbox);
+    return outbox;
+  }
+
+  private void record(NotificationOutbox.Notification notification, TAR report) {
+    delivered.add(notification.sessionId() + "/" + notification.callId());
+  }
+
+  private void awaitDelivered(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private TAR report() {
+    return utils.createReport(TestResultType.SUCCESS);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gitb.tr.TestResultType;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link PerformanceStats}. */
+public class PerformanceStatsTest {
+
+  private static final PerformanceStats.Key FIRST = new PerformanceStats.Key("verifier", null, "a");
+  private static final PerformanceStats.Key SECOND =
+      new PerformanceStats.Key("verifier", null, "b");
+  private static final PerformanceStats.Key THIRD = new PerformanceStats.Key("verifier", null, "c");
+
+  private PerformanceStats stats;
+
+  @BeforeEach
+  public void setUp() {
+    stats = new PerformanceStats();
+    ReflectionTestUtils.setField(stats, "window", 60_000L);
+    ReflectionTestUtils.setField(stats, "slots", 6);
+    ReflectionTestUtils.setField(stats, "maxSeries", 2);
+  }
+
+  /** Test the distribution of the durations recorded in a series. */
+  @Test
+  public void histogramDistribution() {
+    for (int duration = 1; duration <= 100; duration++) {
+      stats.recordPhase(FIRST, "phase", duration);
+    }
+    stats.recordPhase(FIRST, "other", -5);
+
+    Map<String, PerformanceStats.Distribution> metrics = summary(FIRST).metrics();
+    PerformanceStats.Distribution phase = metrics.get("phase");
+    assertEquals(100, phase.count());
+    assertEquals(1, phase.min());
+    assertEquals(100, phase.max());
+    assertEquals(50.5, phase.mean(), 0.001);
+    assertWithinBucket(50, phase.p50());
+    assertWithinBucket(90, phase.p90());
+    assertWithinBucket(95, phase.p95());
+    assertWithinBucket(99, phase.p99());
+    assertEquals(0, metrics.get("other").max());
+  }
+
+  /** Test that validations answered from the cache are counted, but their durations kept apart. */
+  @Test
+  public void cachedValidationsAreTaggedApart() {
+    long start = System.nanoTime();
+    stats.recordValidation(FIRST, TestResultType.SUCCESS, start);
+    stats.recordValidation(FIRST, TestResultType.FAILURE, start, false);
+    stats.recordValidation(FIRST, TestResultType.SUCCESS, start, true);
+
+    PerformanceStats.SeriesSummary summary = summary(FIRST);
+    assertEquals(Map.of("SUCCESS", 2L, "FAILURE", 1L), summary.outcomes());
+    assertEquals(2, summary.metrics().get(PerformanceStats.VALIDATION).count());
+    assertEquals(1, summary.metrics().get(PerformanceStats.VALIDATION_CACHED).count());
+  }
+
+  /** Test that the least recently recorded series is evicted to make room for a new series. */
+  @Test
+  public void leastRecentlyRecordedSeriesIsEvicted() throws InterruptedException {
+    stats.recordPhase(FIRST, "phase", 1);
+    Thread.sleep(5);
+    stats.recordPhase(SECOND, "phase", 1);
+    Thread.sleep(5);
+    stats.recordPhase(FIRST, "phase", 1);
+    Thread.sleep(5);
+    stats.recordPhase(THIRD, "phase", 1);
+
+    assertEquals(Set.of("a", "c"), suts());
+    assertEquals(2, stats.getSeriesCount());
+    assertEquals(1, stats.getEvicted());
+  }
+
+  /** Test that series without measurements within the window are all evicted first. */
+  @Test
+  public void staleSeriesAreEvicted() throws InterruptedException {
+    ReflectionTestUtils.setField(stats, "window", 50L);
+    ReflectionTestUtils.setField(stats, "slots", 1);
+    stats.recordPhase(FIRST, "phase", 1);
+    stats.recordPhase(SECOND, "phase", 1);
+    Thread.sleep(60);
+
+    stats.recordPhase(THIRD, "phase", 1);
+
+    assertEquals(1, stats.getSeriesCount());
+    assertEquals(2, stats.getEvicted());
+    assertEquals(Set.of("c"), suts());
+  }
+
+  /** Test that series are matched by the query's criteria. */
+  @Test
+  public void queryMatchesCriteria() {
+    stats.recordPhase(FIRST, "phase", 1);
+    stats.recordPhase(new PerformanceStats.Key("issuer", null, "a"), "phase", 1);
+
+    assertEquals(2, stats.query(null, null, "a", 0).size());
+    assertEquals(1, stats.query("issuer", null, null, 0).size());
+    assertTrue(stats.query("text", null, null, 0).isEmpty());
+    assertFalse(stats.query(null, null, null, 1).isEmpty());
+  }
+
+  private PerformanceStats.SeriesSummary summary(PerformanceStats.Key key) {
+    List<PerformanceStats.SeriesSummary> summaries =
+        stats.query(key.validator(), key.expectedEvent(), key.sut(), 0);
+    assertEquals(1, summaries.size());
+    return summaries.get(0);
+  }
+
+  private Set<String> suts() {
+    return stats.query(null, null, null, 0).stream()
+        .map(PerformanceStats.SeriesSummary::sut)
+        .collect(Collectors.toSet());
+  }
+
+  /** Assert that a percentile is estimated within the growth of the histogram's buckets. */
+  private static void assertWithinBucket(long expected, long actual) {
+    assertTrue(
+        actual >= expected && actual <= Math.ceil(expected * 1.2),
+        () -> "Expected " + actual + " to be within 20% above " + expected);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link SessionDiagnostics} and {@link LogFileDefiner}. */
+public class SessionDiagnosticsTest {
+
+  private final SessionDiagnostics diagnostics = new SessionDiagnostics();
+
+  private final Logger logger =
+      (Logger) LoggerFactory.getLogger("eu.europa.ec.eudi.gitb.SessionDiagnosticsTest");
+
+  private Level previousLevel;
+
+  @BeforeEach
+  public void setUp() {
+    previousLevel = logger.getLevel();
+    diagnostics.install();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    diagnostics.uninstall();
+    logger.setLevel(previousLevel);
+    MDC.remove(SessionTracing.MDC_SESSION_ID);
+    System.clearProperty(LogFileDefiner.LOG_FILE);
+  }
+
+  /** Test that debug messages are only logged for enabled sessions. */
+  @Test
+  public void debugIsLoggedForEnabledSessions() {
+    logger.setLevel(Level.INFO);
+    diagnostics.enable("session1");
+
+    MDC.put(SessionTracing.MDC_SESSION_ID, "session1");
+    assertTrue(logger.isDebugEnabled());
+    assertTrue(logger.isTraceEnabled());
+    MDC.put(SessionTracing.MDC_SESSION_ID, "session2");
+    assertFalse(logger.isDebugEnabled());
+    MDC.remove(SessionTracing.MDC_SESSION_ID);
+    assertFalse(logger.isDebugEnabled());
+
+    diagnostics.disable("session1");
+    MDC.put(SessionTracing.MDC_SESSION_ID, "session1");
+    assertFalse(logger.isDebugEnabled());
+  }
+
+  /** Test that other levels are left to the configured logger level. */
+  @Test
+  public void otherLevelsAreNotForced() {
+    logger.setLevel(Level.OFF);
+    diagnostics.enable("session1");
+    MDC.put(SessionTracing.MDC_SESSION_ID, "session1");
+
+    assertTrue(logger.isDebugEnabled());
+    assertFalse(logger.isInfoEnabled());
+    assertFalse(logger.isWarnEnabled());
+    assertFalse(logger.isErrorEnabled());
+  }
+
+  /** Test that the loggers of other libraries are not affected. */
+  @Test
+  public void otherLoggersAreNotAffected() {
+    var other = (Logger) LoggerFactory.getLogger("org.example.Other");
+    diagnostics.enable("session1");
+    MDC.put(SessionTracing.MDC_SESSION_ID, "session1");
+
+    assertFalse(other.isDebugEnabled());
+  }
+
+  /** Test that sampling enables all or no sessions at the bounds of the sample rate. */
+  @Test
+  public void sessionsAreSampled() {
+    ReflectionTestUtils.setField(diagnostics, "sampleRate", 1.0);
+    assertTrue(diagnostics.isEnabled("session1"));
+    assertFalse(diagnostics.isEnabled(null));
+
+    ReflectionTestUtils.setField(diagnostics, "sampleRate", 0.0);
+    assertFalse(diagnostics.isEnabled("session1"));
+
+    ReflectionTestUtils.setField(diagnostics, "sampleRate", 0.5);
+    var sampled = 0;
+    for (var i = 0; i < 1000; i++) {
+      if (diagnostics.isEnabled("session" + i)) {
+        sampled++;
+      }
+    }
+    assertTrue(sampled > 400 && sampled < 600, "Sampled " + sampled);
+  }
+
+  /** Test that file logging is only included when Spring Boot sets a log file. */
+  @Test
+  public void fileOutputRequiresLogFile() {
+    var definer = new LogFileDefiner();
+    definer.setContext(new LoggerContext());
+    assertEquals("none", definer.getPropertyValue());
+
+    System.setProperty(LogFileDefiner.LOG_FILE, "/tmp/verifier-testbed.log");
+    assertEquals("file", definer.getPropertyValue());
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for the memory quotas of {@link StateManager}. */
+public class StateManagerTest {
+
+  private final StateManager stateManager = new StateManager();
+
+  private Path spillDirectory;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    spillDirectory = Files.createTempDirectory("state-spill");
+    ReflectionTestUtils.setField(stateManager, "maxSessionBytes", 1000L);
+    ReflectionTestUtils.setField(stateManager, "maxTotalBytes", 10_000L);
+    ReflectionTestUtils.setField(stateManager, "spillDirectory", "");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(spillDirectory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  /** Test that values are accounted per session and released when replaced or destroyed. */
+  @Test
+  public void valuesAreAccounted() {
+    stateManager.createSession("session1", "http://localhost/callback");
+    long initial = stateManager.getTotalBytes();
+
+    stateManager.setSessionInfo("session1", "value", text(100));
+    assertEquals(initial + StateManager.estimateSize(text(100)), stateManager.getTotalBytes());
+    stateManager.setSessionInfo("session1", "value", null);
+    assertEquals(initial, stateManager.getTotalBytes());
+
+    stateManager.destroySession("session1");
+    assertEquals(0, stateManager.getTotalBytes());
+  }
+
+  /** Test that the largest values of a session over its quota are evicted without spilling. */
+  @Test
+  public void sessionQuotaEvictsLargestValue() {
+    stateManager.createSession("session1", "http://localhost/callback");
+
+    stateManager.setSessionInfo("session1", "small", text(50));
+    stateManager.setSessionInfo("session1", "large", text(300));
+    stateManager.setSessionInfo("session1", "larger", text(350));
+
+    assertNull(stateManager.getSessionInfo("session1", "larger"));
+    assertEquals(text(300), stateManager.getSessionInfo("session1", "large"));
+    assertEquals(text(50), stateManager.getSessionInfo("session1", "small"));
+    assertEquals("http://localhost/callback", callbackURL("session1"));
+    assertEquals(1, stateManager.getEvictedValues());
+  }
+
+  /** Test that values over the quota are spilled to disk and read back transparently. */
+  @Test
+  public void sessionQuotaSpillsToDisk() {
+    ReflectionTestUtils.setField(stateManager, "spillDirectory", spillDirectory.toString());
+    stateManager.createSession("session1", "http://localhost/callback");
+
+    stateManager.setSessionInfo("session1", "large", text(300));
+    stateManager.setSessionInfo("session1", "larger", text(350));
+    stateManager.setSessionInfo("session1", "huge", text(2000));
+
+    assertInstanceOf(
+        StateManager.SpilledValue.class,
+        stateManager.getAllSessions().get("session1").get("larger"));
+    assertEquals(text(350), stateManager.getSessionInfo("session1", "larger"));
+    assertEquals(text(2000), stateManager.getSessionInfo("session1", "huge"));
+    assertEquals(1, stateManager.getSpilledValues());
+    long spilledBytes =
+        StateManager.estimateSize(text(350)) + StateManager.estimateSize(text(2000));
+    assertEquals(spilledBytes, stateManager.getTopSessions(1).get(0).spilledBytes());
+
+    stateManager.destroySession("session1");
+    assertEquals(0, spillDirectory.toFile().list().length);
+  }
+
+  /** Test that a spilled value that cannot be read back is discarded rather than failing. */
+  @Test
+  public void unreadableSpilledValueIsDiscarded() throws IOException {
+    ReflectionTestUtils.setField(stateManager, "spillDirectory", spillDirectory.toString());
+    stateManager.createSession("session1", "http://localhost/callback");
+    stateManager.setSessionInfo("session1", "huge", text(2000));
+    var spilled =
+        (StateManager.SpilledValue) stateManager.getAllSessions().get("session1").get("huge");
+
+    Files.writeString(spilled.file(), "corrupted");
+
+    assertNull(stateManager.getSessionInfo("session1", "huge"));
+    assertNull(stateManager.getAllSessions().get("session1").get("huge"));
+    assertEquals(1, stateManager.getEvictedValues());
+    assertEquals(0, stateManager.getTopSessions(1).get(0).spilledBytes());
+  }
+
+  /** Test that the overall quota offloads values from the largest sessions first. */
+  @Test
+  public void totalQuotaOffloadsLargestSessions() {
+    ReflectionTestUtils.setField(stateManager, "maxTotalBytes", 3000L);
+    for (int i = 0; i < 5; i++) {
+      stateManager.createSession("session" + i, "http://localhost/callback");
+      stateManager.setSessionInfo("session" + i, "value", text(200 + i * 50));
+    }
+
+    assertTrue(stateManager.getTotalBytes() <= 3000, "Total " + stateManager.getTotalBytes());
+    assertNull(stateManager.getSessionInfo("session4", "value"));
+    assertEquals(text(200), stateManager.getSessionInfo("session0", "value"));
+    for (int i = 0; i < 5; i++) {
+      assertEquals("http://localhost/callback", callbackURL("session" + i));
+    }
+  }
+
+  /** Test that a destroyed session can no longer be updated. */
+  @Test
+  public void destroyedSessionIsNotUpdated() {
+    stateManager.createSession("session1", "http://localhost/callback");
+    stateManager.destroySession("session1");
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> stateManager.setSessionInfo("session1", "value", text(10)));
+    assertEquals(0, stateManager.getTotalBytes());
+  }
+
+  private String callbackURL(String sessionId) {
+    return (String) stateManager.getSessionInfo(sessionId, StateManager.SessionData.CALLBACK_URL);
+  }
+
+  private static String text(int length) {
+    return "x".repeat(length);
+  }
+}
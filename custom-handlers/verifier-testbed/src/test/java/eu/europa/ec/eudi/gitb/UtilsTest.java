@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gitb.core.AnyContent;
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for the size limit of inputs read by {@link Utils}. */
+public class UtilsTest {
+
+  private static final long DECLARED_SIZE = 256L * 1024 * 1024;
+
+  private HttpServer server;
+  private Utils utils;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.start();
+    SessionTracing tracing = new SessionTracing();
+    ReflectionTestUtils.setField(tracing, "observationRegistry", ObservationRegistry.NOOP);
+    utils = new Utils();
+    ReflectionTestUtils.setField(utils, "sessionTracing", tracing);
+    ReflectionTestUtils.setField(utils, "httpClient", HttpClient.newHttpClient());
+    ReflectionTestUtils.setField(utils, "maxInputSize", 1000L);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  /** Test that a body within the maximum size is read. */
+  @Test
+  public void readsBodyWithinMaxSize() {
+    byte[] body = "payload".getBytes(StandardCharsets.UTF_8);
+    server.createContext(
+        "/input",
+        exchange -> {
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+
+    assertArrayEquals(body, utils.getRequiredBinary(uriInput("/input"), "input"));
+  }
+
+  /** Test that a body larger than announced by its Content-Length is still limited. */
+  @Test
+  public void rejectsLargeBodyWithoutContentLength() {
+    server.createContext(
+        "/input",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 0);
+          exchange.getResponseBody().write(new byte[5000]);
+          exchange.close();
+        });
+
+    assertThrows(
+        InputTooLargeException.class, () -> utils.getRequiredBinary(uriInput("/input"), "input"));
+  }
+
+  /** Test that a body declared too large is rejected without being downloaded. */
+  @Test
+  public void abortsBodyDeclaredTooLarge() throws Exception {
+    var written = new AtomicLong();
+    var aborted = new CountDownLatch(1);
+    server.createContext(
+        "/input",
+        exchange -> {
+          exchange.sendResponseHeaders(200, DECLARED_SIZE);
+          byte[] chunk = new byte[64 * 1024];
+          try (OutputStream out = exchange.getResponseBody()) {
+            while (written.get() < DECLARED_SIZE) {
+              out.write(chunk);
+              written.addAndGet(chunk.length);
+            }
+          } catch (IOException e) {
+            aborted.countDown();
+          }
+        });
+
+    assertThrows(
+        InputTooLargeException.class, () -> utils.getRequiredBinary(uriInput("/input"), "input"));
+
+    assertTrue(aborted.await(10, TimeUnit.SECONDS), "The download was not aborted");
+    assertTrue(written.get() < DECLARED_SIZE / 4, "Wrote " + written.get() + " bytes");
+  }
+
+  private List<AnyContent> uriInput(String path) {
+    var input = new AnyContent();
+    input.setName("input");
+    input.setValue("http://localhost:" + server.getAddress().getPort() + path);
+    input.setEmbeddingMethod(ValueEmbeddingEnumeration.URI);
+    return List.of(input);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gitb.tr.ObjectFactory;
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link ValidationAdmission}. */
+public class ValidationAdmissionTest {
+
+  private Utils utils;
+  private ValidationAdmission admission;
+
+  @BeforeEach
+  public void setUp() {
+    utils = new Utils();
+    ReflectionTestUtils.setField(utils, "objectFactory", new ObjectFactory());
+    admission = new ValidationAdmission();
+    ReflectionTestUtils.setField(admission, "utils", utils);
+    ReflectionTestUtils.setField(admission, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(admission, "maxConcurrent", 1);
+    ReflectionTestUtils.setField(admission, "maxWait", 100L);
+  }
+
+  /** Test that a validation that cannot start within the maximum wait is rejected. */
+  @Test
+  public void rejectsAfterMaxWait() throws Exception {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    Thread running =
+        new Thread(
+            () ->
+                admission.admit(
+                    "text",
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return utils.createReport(TestResultType.SUCCESS);
+                    }));
+    running.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    long start = System.nanoTime();
+    TAR rejected = admission.admit("text", () -> utils.createReport(TestResultType.SUCCESS));
+    long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    release.countDown();
+    running.join();
+
+    assertFailure(rejected);
+    assertTrue(waitedMillis >= 90, "Rejected after " + waitedMillis + "ms");
+    assertEquals(1, admission.getLimiter("text").getOverloaded());
+    assertEquals(TestResultType.SUCCESS, admit("text").getResult());
+  }
+
+  /** Test that validators are limited separately. */
+  @Test
+  public void limitsValidatorsSeparately() throws Exception {
+    var release = new CountDownLatch(1);
+    Thread running =
+        new Thread(
+            () ->
+                admission.admit(
+                    "issuer",
+                    () -> {
+                      await(release);
+                      return utils.createReport(TestResultType.SUCCESS);
+                    }));
+    running.start();
+    try {
+      assertEquals(TestResultType.SUCCESS, admit("verifier").getResult());
+    } finally {
+      release.countDown();
+      running.join();
+    }
+  }
+
+  /** Test that the permit of a validation is released when it throws. */
+  @Test
+  public void releasesPermitOnException() {
+    var failure = new IllegalStateException("failed");
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                admission.admit(
+                    "text",
+                    () -> {
+                      throw failure;
+                    }));
+
+    assertSame(failure, thrown);
+    assertEquals(0, admission.getLimiter("text").getInProgress());
+    assertEquals(TestResultType.SUCCESS, admit("text").getResult());
+  }
+
+  /** Test that a validation with a too large input is reported as a failure. */
+  @Test
+  public void reportsTooLargeInput() {
+    TAR report =
+        admission.admit(
+            "text",
+            () -> {
+              throw new InputTooLargeException("text", 10);
+            });
+
+    assertFailure(report);
+    assertEquals(1, admission.getLimiter("text").getTooLarge());
+    assertEquals(0, admission.getLimiter("text").getOverloaded());
+    assertEquals(0, admission.getLimiter("text").getInProgress());
+  }
+
+  private TAR admit(String validator) {
+    return admission.admit(validator, () -> utils.createReport(TestResultType.SUCCESS));
+  }
+
+  private static void assertFailure(TAR report) {
+    assertEquals(TestResultType.FAILURE, report.getResult());
+    assertEquals(1, report.getReports().getInfoOrWarningOrError().size());
+    assertEquals(BigInteger.ONE, report.getCounters().getNrOfErrors());
+    assertEquals(BigInteger.ZERO, report.getCounters().getNrOfWarnings());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.gitb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link ValidationResultCache}. */
+public class ValidationResultCacheTest {
+
+  private Utils utils;
+  private ValidationResultCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    utils = new Utils();
+    cache = new ValidationResultCache(10);
+    ReflectionTestUtils.setField(cache, "utils", utils);
+    ReflectionTestUtils.setField(cache, "enabled", true);
+    ReflectionTestUtils.setField(cache, "maxInputLength", 1000);
+  }
+
+  /** Test that identical inputs are validated once. */
+  @Test
+  public void reusesReportForIdenticalInput() {
+    var validations = new AtomicInteger();
+
+    cache.get("verifier", "input", () -> report(validations.incrementAndGet()), "rules");
+    TAR reused =
+        cache.get("verifier", "input", () -> report(validations.incrementAndGet()), "rules");
+    cache.get("verifier", "input", () -> report(validations.incrementAndGet()), "other");
+
+    assertEquals(2, validations.get());
+    assertEquals("1", reused.getContext().getItem().get(0).getValue());
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  /** Test that changes to returned reports do not affect the cached report. */
+  @Test
+  public void returnedReportsAreIndependentCopies() {
+    TAR first = cache.get("verifier", "input", () -> report(1));
+    first.getContext().getItem().clear();
+    first.setResult(TestResultType.FAILURE);
+
+    TAR second = cache.get("verifier", "input", () -> report(2));
+    second.getContext().getItem().get(0).setValue("changed");
+    TAR third = cache.get("verifier", "input", () -> report(3));
+
+    assertNotSame(second, third);
+    assertEquals(TestResultType.SUCCESS, third.getResult());
+    assertEquals(1, third.getContext().getItem().size());
+    assertEquals("1", third.getContext().getItem().get(0).getValue());
+  }
+
+  private TAR report(int value) {
+    TAR report = utils.createReport(TestResultType.SUCCESS);
+    report
+        .getContext()
+        .getItem()
+        .add(
+            utils.createAnyContentSimple(
+                "value", String.valueOf(value), ValueEmbeddingEnumeration.STRING));
+    return report;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import eu.europa.ec.eudi.verifier.utils.Json;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for {@link IssuancePhases}. */
+public class IssuancePhasesTest {
+
+  private IssuancePhases phases;
+
+  @BeforeEach
+  public void setUp() {
+    phases = new IssuancePhases();
+    ReflectionTestUtils.setField(phases, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(phases, "json", Json.INSTANCE);
+    phases.init();
+  }
+
+  /** Test the timestamp layouts that are read. */
+  @Test
+  public void parsesTimestamps() {
+    Instant instant = Instant.parse("2026-01-01T10:00:00.250Z");
+
+    assertEquals(instant, IssuancePhases.parse("2026-01-01T11:00:00.250+01:00"));
+    assertEquals(instant, IssuancePhases.parse("2026-01-01 10:00:00,250"));
+    assertEquals(Instant.parse("1970-01-01T10:00:00.250Z"), IssuancePhases.parse("10:00:00.250"));
+    assertEquals(Instant.parse("1970-01-01T10:00:00.250Z"), IssuancePhases.parse("10:00:00,250"));
+    assertNull(IssuancePhases.parse("yesterday"));
+  }
+
+  /** Test that digit-only timestamps are read in the unit their magnitude implies. */
+  @Test
+  public void parsesEpochTimestamps() {
+    Instant seconds = Instant.parse("2026-01-01T10:00:00Z");
+    Instant millis = Instant.parse("2026-01-01T10:00:00.250Z");
+
+    assertEquals(seconds, IssuancePhases.parse(String.valueOf(seconds.getEpochSecond())));
+    assertEquals(millis, IssuancePhases.parse(String.valueOf(millis.toEpochMilli())));
+    assertEquals(millis, IssuancePhases.parse(millis.toEpochMilli() + "000"));
+    assertEquals(millis, IssuancePhases.parse(millis.toEpochMilli() + "000000"));
+    assertNull(IssuancePhases.parse("99999999999999999999"));
+  }
+
+  /** Test that the phases run between consecutive reached markers. */
+  @Test
+  public void phasesBetweenMarkers() {
+    IssuancePhases.Tracker tracker =
+        track(
+            "2026-01-01 10:00:00,000", "Credential offer abc created",
+            "2026-01-01 10:00:01,000", "Access token issued",
+            "2026-01-01 10:00:01,500", "Unrelated",
+            "2026-01-01 10:00:03,000", "Issued credential");
+
+    assertEquals(
+        List.of(
+            new IssuancePhases.Phase("offer_created", "token_issued", 1000),
+            new IssuancePhases.Phase("token_issued", "credential_issued", 2000)),
+        tracker.phases());
+    assertEquals(Long.valueOf(3000), tracker.totalMillis());
+  }
+
+  /** Test that times of day are placed on the next day once a log passes midnight. */
+  @Test
+  public void timesOfDayRollOverMidnight() {
+    IssuancePhases.Tracker tracker =
+        track(
+            "23:59:59.000", "Credential offer abc created",
+            "00:00:01.000", "Access token issued",
+            "00:00:02.000", "Handling credential request",
+            "00:00:00.500", "Issued credential");
+
+    assertEquals(
+        List.of(
+            new IssuancePhases.Phase("offer_created", "token_issued", 2000),
+            new IssuancePhases.Phase("token_issued", "credential_requested", 1000)),
+        tracker.phases());
+    assertEquals(Long.valueOf(3000), tracker.totalMillis());
+  }
+
+  private IssuancePhases.Tracker track(String... timestampsAndMessages) {
+    IssuancePhases.Tracker tracker = phases.newTracker();
+    for (int i = 0; i < timestampsAndMessages.length; i += 2) {
+      tracker.accept(
+          new LogFormat.LogLine(
+              timestampsAndMessages[i], "issuer", "INFO", timestampsAndMessages[i + 1]));
+    }
+    return tracker;
+  }
+}
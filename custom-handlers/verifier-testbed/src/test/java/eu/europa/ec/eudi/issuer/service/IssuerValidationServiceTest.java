@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.issuer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.gitb.core.AnyContent;
+import com.gitb.core.ValueEmbeddingEnumeration;
+import com.gitb.tr.ObjectFactory;
+import com.gitb.tr.TAR;
+import com.gitb.tr.TestResultType;
+import com.gitb.vs.ValidateRequest;
+import eu.europa.ec.eudi.gitb.PerformanceStats;
+import eu.europa.ec.eudi.gitb.SessionTracing;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.gitb.ValidationAdmission;
+import eu.europa.ec.eudi.gitb.ValidationResultCache;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for the detection of the issuer's log formats by {@link IssuerValidationService}. */
+public class IssuerValidationServiceTest {
+
+  private static final String PID_ISSUER_LINE =
+      "2026-01-01 10:00:00,000 eu.europa.ec.eudi.pidissuer.Issuer INFO  Issued credential";
+
+  private PerformanceStats stats;
+  private IssuerValidationService service;
+
+  @BeforeEach
+  public void setUp() {
+    SessionTracing tracing = new SessionTracing();
+    ReflectionTestUtils.setField(tracing, "observationRegistry", ObservationRegistry.NOOP);
+    Utils utils = new Utils();
+    ReflectionTestUtils.setField(utils, "objectFactory", new ObjectFactory());
+    ReflectionTestUtils.setField(utils, "sessionTracing", tracing);
+    ReflectionTestUtils.setField(utils, "maxLoggedLength", 2000);
+    ReflectionTestUtils.setField(utils, "maxInputSize", 1_000_000L);
+    LogFormatRegistry formats = new LogFormatRegistry();
+    ReflectionTestUtils.setField(formats, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(formats, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(formats, "sampleSize", 20);
+    formats.init();
+    IssuancePhases phases = new IssuancePhases();
+    ReflectionTestUtils.setField(phases, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(phases, "json", Json.INSTANCE);
+    phases.init();
+    ValidationResultCache cache = new ValidationResultCache(10);
+    ReflectionTestUtils.setField(cache, "enabled", true);
+    ReflectionTestUtils.setField(cache, "maxInputLength", 1_000_000);
+    ReflectionTestUtils.setField(cache, "utils", utils);
+    ValidationAdmission admission = new ValidationAdmission();
+    ReflectionTestUtils.setField(admission, "utils", utils);
+    ReflectionTestUtils.setField(admission, "environment", new StandardEnvironment());
+    stats = new PerformanceStats();
+    ReflectionTestUtils.setField(stats, "window", 60_000L);
+    ReflectionTestUtils.setField(stats, "slots", 6);
+    ReflectionTestUtils.setField(stats, "maxSeries", 10);
+    service = new IssuerValidationService();
+    ReflectionTestUtils.setField(service, "utils", utils);
+    ReflectionTestUtils.setField(service, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(service, "logFormatRegistry", formats);
+    ReflectionTestUtils.setField(service, "issuancePhases", phases);
+    ReflectionTestUtils.setField(service, "validationResultCache", cache);
+    ReflectionTestUtils.setField(service, "sessionTracing", tracing);
+    ReflectionTestUtils.setField(service, "validationAdmission", admission);
+    ReflectionTestUtils.setField(service, "performanceStats", stats);
+  }
+
+  /** Test that the issuer's logs document is validated by its "successful" field. */
+  @Test
+  public void logsDocument() throws Exception {
+    TAR successful =
+        validate("{\"successful\":true,\"count\":1,\"logs\":[\"" + PID_ISSUER_LINE + "\"]}");
+    TAR failed =
+        validate("{\"successful\":false,\"count\":1,\"logs\":[\"" + PID_ISSUER_LINE + "\"]}");
+
+    assertEquals(TestResultType.SUCCESS, successful.getResult());
+    assertEquals("pid-issuer", logsOf(successful).get("format").asText());
+    assertEquals(1, logsOf(successful).get("logs").size());
+    assertEquals(TestResultType.FAILURE, failed.getResult());
+  }
+
+  /** Test that documents without logs fail rather than being read as structured log events. */
+  @Test
+  public void documentWithoutLogsFails() throws Exception {
+    for (String text :
+        new String[] {
+          "{\"successful\":false}",
+          "{\"successful\":true,\"count\":0}",
+          "{\"successful\":true,\"logs\":null}",
+          "{\"count\":0,\"logs\":null}"
+        }) {
+      TAR report = validate(text);
+
+      assertEquals(TestResultType.FAILURE, report.getResult(), text);
+      assertEquals("pid-issuer", logsOf(report).get("format").asText(), text);
+      assertTrue(logsOf(report).get("logs").isEmpty(), text);
+    }
+  }
+
+  /** Test that lines carrying a level, message or timestamp are read as structured log events. */
+  @Test
+  public void structuredLogs() throws Exception {
+    TAR report =
+        validate(
+            "{\"@timestamp\":\"2026-01-01T10:00:00Z\",\"level\":\"INFO\",\"message\":\"a\"}\n"
+                + "{\"@timestamp\":\"2026-01-01T10:00:01Z\",\"level\":\"ERROR\","
+                + "\"message\":\"b\"}\n");
+
+    assertEquals(TestResultType.FAILURE, report.getResult());
+    assertEquals("json", logsOf(report).get("format").asText());
+    assertEquals(2, logsOf(report).get("logs").size());
+    assertEquals(1, logsOf(report).get("log_stats").get("error_count").asInt());
+  }
+
+  /** Test that validations rejected by the admission control are not recorded. */
+  @Test
+  public void rejectedValidationIsNotRecorded() {
+    TAR report = service.validate(request("session", "x".repeat(1_000_001))).getReport();
+
+    assertEquals(TestResultType.FAILURE, report.getResult());
+    assertEquals(0, stats.getSeriesCount());
+  }
+
+  /** Test that warm-up rounds are validated but left out of the statistics. */
+  @Test
+  public void warmUpIsNotRecorded() {
+    String text = "{\"successful\":true,\"count\":1,\"logs\":[\"" + PID_ISSUER_LINE + "\"]}";
+
+    TAR warmUp = service.validate(request("warmup-0", text)).getReport();
+
+    assertEquals(TestResultType.SUCCESS, warmUp.getResult());
+    assertEquals(0, stats.getSeriesCount());
+
+    service.validate(request("session", text));
+
+    assertEquals(1, stats.getSeriesCount());
+  }
+
+  private TAR validate(String text) {
+    return service.validateBatchItem(request("session", text)).getReport();
+  }
+
+  private ValidateRequest request(String sessionId, String text) {
+    ValidateRequest request = new ValidateRequest();
+    request.setSessionId(sessionId);
+    AnyContent input = new AnyContent();
+    input.setName("text");
+    input.setValue(text);
+    input.setEmbeddingMethod(ValueEmbeddingEnumeration.STRING);
+    request.getInput().add(input);
+    return request;
+  }
+
+  private JsonNode logsOf(TAR report) throws Exception {
+    AnyContent logs =
+        report.getContext().getItem().stream()
+            .filter(item -> "Issuer's Logs".equals(item.getName()))
+            .findFirst()
+            .orElseThrow();
+    return Json.INSTANCE.getReader().readTree(logs.getItem().get(0).getValue());
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent
+import eu.europa.ec.eudi.verifier.dto.VerifierRuleSet
+import eu.europa.ec.eudi.verifier.utils.Json
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+/** Unit tests for [CompiledRuleSet]. */
+class CompiledRuleSetTest {
+    /** Test that unknown events and rule types, and missing properties, fail compilation. */
+    @Test
+    fun invalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException::class.java) {
+            compile("""[{"type":"present","event":"Unknown event","message":"m"}]""")
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            compile("""[{"type":"unknown","event":"$POSTED","message":"m"}]""")
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            compile("""[{"type":"within","before":"$POSTED","after":"$GOT","message":"m"}]""")
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            compile("""[{"type":"sameField","events":["$POSTED"],"field":"wallet_response","message":"m"}]""")
+        }
+    }
+
+    /** Test that sameField compares missing events and fields as null values, as the comparison it replaced did. */
+    @Test
+    fun sameFieldTreatsMissingValuesAsNull() {
+        val sameResponse = compile("""[{"type":"sameField","events":["$GOT","$POSTED"],"field":"wallet_response","message":"m"}]""")
+        val sameUnknownField = compile("""[{"type":"sameField","events":["$GOT","$POSTED"],"field":"other","message":"m"}]""")
+
+        assertEquals(listOf<String>(), evaluate(sameResponse, initialized()))
+        assertEquals(listOf("m"), evaluate(sameResponse, gotResponse("a")))
+        assertEquals(listOf("m"), evaluate(sameResponse, posted("a")))
+        assertEquals(listOf<String>(), evaluate(sameResponse, posted("a"), gotResponse("a")))
+        assertEquals(listOf("m"), evaluate(sameResponse, posted("a"), gotResponse("b")))
+        assertEquals(listOf<String>(), evaluate(sameUnknownField, posted("a"), gotResponse("b")))
+    }
+
+    /** Test that only the first event of each type is compared. */
+    @Test
+    fun sameFieldUsesFirstEvents() {
+        val rules = compile("""[{"type":"sameField","events":["$GOT","$POSTED"],"field":"wallet_response","message":"m"}]""")
+
+        assertEquals(listOf<String>(), evaluate(rules, posted("a"), gotResponse("a"), posted("b")))
+    }
+
+    /** Test the present, absent, order and within rules. */
+    @Test
+    fun eventRules() {
+        val rules =
+            compile(
+                """[{"type":"present","event":"$GOT","message":"present"},""" +
+                    """{"type":"absent","event":"$EXPIRED","message":"absent"},""" +
+                    """{"type":"order","before":"$POSTED","after":"$GOT","message":"order"},""" +
+                    """{"type":"within","before":"$POSTED","after":"$GOT","maxSeconds":1,"message":"within"}]""",
+            )
+
+        assertEquals(listOf<String>(), evaluate(rules, posted("a", 1), gotResponse("a", 2)))
+        assertEquals(listOf("within"), evaluate(rules, posted("a", 1), gotResponse("a", 3)))
+        assertEquals(listOf("order", "within"), evaluate(rules, gotResponse("a", 1), posted("a", 2)))
+        assertEquals(listOf("present", "order", "within"), evaluate(rules, posted("a", 1)))
+        assertEquals(listOf("absent"), evaluate(rules, posted("a", 1), gotResponse("a", 2), expired()))
+    }
+
+    /** Test that the outcome is decided by any of the anyOf events, or once all the allOf events are seen. */
+    @Test
+    fun decision() {
+        val rules =
+            compile(
+                "[]",
+                """{"anyOf":["$EXPIRED"],"allOf":["$GOT","$POSTED"]}""",
+            )
+
+        val evaluation = rules.newEvaluation()
+        assertFalse(evaluation.accept(event(initialized())))
+        assertFalse(evaluation.accept(event(posted("a"))))
+        assertTrue(evaluation.accept(event(gotResponse("a"))))
+        assertTrue(rules.newEvaluation().accept(event(expired())))
+    }
+
+    private fun compile(
+        checks: String,
+        decidedBy: String = "null",
+    ): CompiledRuleSet =
+        CompiledRuleSet.compile(
+            "test",
+            Json.reader.readValue("""{"name":"test","checks":$checks,"decidedBy":$decidedBy}""", VerifierRuleSet::class.java),
+            Json,
+        )
+
+    private fun evaluate(
+        rules: CompiledRuleSet,
+        vararg events: String,
+    ): List<String> {
+        val evaluation = rules.newEvaluation()
+        events.forEach { evaluation.accept(event(it)) }
+        return evaluation.failures()
+    }
+
+    private fun event(text: String): PresentationEvent = Json.reader.readValue(text, PresentationEvent::class.java)
+
+    private fun initialized() =
+        """{"timestamp":"2026-01-01T10:00:00Z","event":"Transaction initialized","actor":"Verifier","response":{}}"""
+
+    private fun posted(
+        query: String,
+        second: Int = 1,
+    ) = """{"timestamp":"2026-01-01T10:00:0${second}Z","event":"$POSTED","actor":"Wallet","wallet_response":{"query":"$query"}}"""
+
+    private fun gotResponse(
+        query: String,
+        second: Int = 2,
+    ) = """{"timestamp":"2026-01-01T10:00:0${second}Z","event":"$GOT","actor":"Verifier","wallet_response":{"query":"$query"}}"""
+
+    private fun expired() = """{"timestamp":"2026-01-01T10:00:09Z","event":"$EXPIRED","actor":"Verifier"}"""
+
+    companion object {
+        private const val POSTED = "Wallet response posted"
+        private const val GOT = "Verifier got wallet response"
+        private const val EXPIRED = "Presentation expired"
+    }
+}
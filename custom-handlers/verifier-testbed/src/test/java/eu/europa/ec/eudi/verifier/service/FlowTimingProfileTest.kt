@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckFailed
+import eu.europa.ec.eudi.verifier.dto.AttestationStatusCheckSuccessful
+import eu.europa.ec.eudi.verifier.dto.PresentationEvent
+import eu.europa.ec.eudi.verifier.dto.RequestObjectRetrieved
+import eu.europa.ec.eudi.verifier.dto.TransactionInitialized
+import eu.europa.ec.eudi.verifier.dto.VerifierGotWalletResponse
+import eu.europa.ec.eudi.verifier.dto.WalletResponsePosted
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.springframework.core.env.StandardEnvironment
+import java.time.Duration
+
+/** Unit tests for [FlowTimingProfile]. */
+class FlowTimingProfileTest {
+    /** Test that each phase runs between its milestones' first events, and the status check until its last event. */
+    @Test
+    fun phasesOfACompleteFlow() {
+        val timing = timing(initialized(0), retrieved(1), posted(3), got(6), checked(7), failedCheck(10))
+
+        assertEquals(
+            mapOf(
+                FlowPhase.REQUEST_OBJECT to Duration.ofSeconds(1),
+                FlowPhase.WALLET_RESPONSE to Duration.ofSeconds(2),
+                FlowPhase.VERIFIER_RESPONSE to Duration.ofSeconds(3),
+                FlowPhase.STATUS_CHECK to Duration.ofSeconds(4),
+            ),
+            timing.phases(),
+        )
+        assertEquals(listOf<FlowPhase>(), timing.skipped())
+        assertEquals(Duration.ofSeconds(10), timing.total())
+    }
+
+    /** Test that status checks logged before the verifier got the response do not time the status check. */
+    @Test
+    fun statusCheckIsAnchoredOnTheVerifierGettingTheResponse() {
+        val early = timing(initialized(0), retrieved(1), posted(2), checked(3), got(4))
+        val both = timing(initialized(0), retrieved(1), posted(2), checked(3), got(4), checked(6))
+
+        assertEquals(null, early.phases()[FlowPhase.STATUS_CHECK])
+        assertEquals(listOf(FlowPhase.STATUS_CHECK), early.skipped())
+        assertEquals(Duration.ofSeconds(4), early.total())
+        assertEquals(Duration.ofSeconds(2), both.phases()[FlowPhase.STATUS_CHECK])
+        assertEquals(listOf<FlowPhase>(), both.skipped())
+    }
+
+    /** Test that phases logged out of order are skipped, and phases missing an event are not. */
+    @Test
+    fun outOfOrderPhasesAreSkipped() {
+        val timing = timing(initialized(0), posted(5), retrieved(6))
+
+        assertEquals(mapOf(FlowPhase.REQUEST_OBJECT to Duration.ofSeconds(6)), timing.phases())
+        assertEquals(listOf(FlowPhase.WALLET_RESPONSE), timing.skipped())
+    }
+
+    /** Test that events whose timestamp cannot be read are ignored. */
+    @Test
+    fun unreadableTimestampsAreIgnored() {
+        val timing = FlowTimingProfile()
+        listOf(initialized(0), retrieved(1)).forEach(timing::accept)
+        timing.accept(RequestObjectRetrieved("yesterday", "jwt", "Request object retrieved", "Wallet"))
+        timing.accept(WalletResponsePosted("never", NODES.objectNode(), null, "Wallet response posted", "Wallet"))
+
+        assertEquals(mapOf(FlowPhase.REQUEST_OBJECT to Duration.ofSeconds(1)), timing.phases())
+        assertEquals(listOf<FlowPhase>(), timing.skipped())
+    }
+
+    /** Test that skipped phases are listed in the timing profile. */
+    @Test
+    fun skippedPhasesAreReported() {
+        val (profile, warnings) =
+            FlowTimingSlos(StandardEnvironment()).evaluate(timing(initialized(0), retrieved(1), posted(2), checked(3), got(4)))
+
+        assertEquals(listOf("request_object", "wallet_response", "verifier_response"), profile.phases.map { it.phase })
+        assertEquals(listOf("status_check"), profile.skipped)
+        assertEquals(mapOf<String, String>(), warnings)
+    }
+
+    private fun timing(vararg events: PresentationEvent) =
+        FlowTimingProfile().apply { events.forEach(::accept) }
+
+    private fun at(second: Int) = "2026-01-01T10:00:%02dZ".format(second)
+
+    private fun initialized(second: Int) =
+        TransactionInitialized(at(second), NODES.objectNode(), "Transaction initialized", "Verifier")
+
+    private fun retrieved(second: Int) = RequestObjectRetrieved(at(second), "jwt", "Request object retrieved", "Wallet")
+
+    private fun posted(second: Int) =
+        WalletResponsePosted(at(second), NODES.objectNode(), null, "Wallet response posted", "Wallet")
+
+    private fun got(second: Int) =
+        VerifierGotWalletResponse(at(second), NODES.objectNode(), "Verifier got wallet response", "Verifier")
+
+    private fun checked(second: Int) =
+        AttestationStatusCheckSuccessful(at(second), NODES.objectNode(), "Attestation status check succeeded", "Verifier")
+
+    private fun failedCheck(second: Int) =
+        AttestationStatusCheckFailed(at(second), null, "revoked", "Attestation status check failed", "Verifier")
+
+    companion object {
+        private val NODES = JsonNodeFactory.instance
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import com.gitb.core.AnyContent
+import com.gitb.core.ValueEmbeddingEnumeration
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import eu.europa.ec.eudi.gitb.SessionTracing
+import eu.europa.ec.eudi.gitb.Utils
+import eu.europa.ec.eudi.verifier.utils.Json
+import io.micrometer.observation.ObservationRegistry
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.test.util.ReflectionTestUtils
+import java.io.UncheckedIOException
+import java.net.InetSocketAddress
+import java.net.http.HttpClient
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/** Unit tests for [PresentationEventFeedReader]. */
+class PresentationEventFeedReaderTest {
+    private lateinit var server: HttpServer
+    private lateinit var reader: PresentationEventFeedReader
+
+    @BeforeEach
+    fun setUp() {
+        server = HttpServer.create(InetSocketAddress("localhost", 0), 0)
+        server.start()
+        val tracing = SessionTracing()
+        ReflectionTestUtils.setField(tracing, "observationRegistry", ObservationRegistry.NOOP)
+        reader = PresentationEventFeedReader(Utils(), Json, tracing, HttpClient.newHttpClient())
+    }
+
+    @AfterEach
+    fun tearDown() {
+        server.stop(0)
+    }
+
+    /** Test that the events of a feed read to its end are all returned. */
+    @Test
+    fun readsCompleteFeed() {
+        server.createContext("/feed") { exchange -> respond(exchange, "$EVENT\n\ndata: $EVENT\n") }
+
+        reader.open(remote("/feed"), Duration.ofSeconds(5)).use { feed ->
+            assertEquals(2, feed.asSequence().count())
+            assertNull(feed.incomplete)
+        }
+    }
+
+    /** Test that a feed responding with an error status is rejected. */
+    @Test
+    fun rejectsErrorStatus() {
+        server.createContext("/feed") { exchange ->
+            exchange.sendResponseHeaders(404, -1)
+            exchange.close()
+        }
+
+        val error = assertThrows(IllegalArgumentException::class.java) { reader.open(remote("/feed"), Duration.ofSeconds(5)) }
+        assertTrue(error.message!!.contains("404"))
+    }
+
+    /** Test that a feed whose response headers do not arrive in time is rejected. */
+    @Test
+    fun timesOutWaitingForResponse() {
+        server.createContext("/feed") { exchange ->
+            Thread.sleep(1000)
+            exchange.close()
+        }
+
+        assertThrows(IllegalArgumentException::class.java) { reader.open(remote("/feed"), Duration.ofMillis(200)) }
+    }
+
+    /** Test that a stalled feed ends as incomplete once its time runs out, not when it sends more data. */
+    @Test
+    fun expiredFeedIsIncomplete() {
+        val release = CountDownLatch(1)
+        server.createContext("/feed") { exchange ->
+            exchange.sendResponseHeaders(200, 0)
+            exchange.responseBody.write("$EVENT\n".toByteArray())
+            exchange.responseBody.flush()
+            release.await(10, TimeUnit.SECONDS)
+            exchange.close()
+        }
+
+        val start = System.nanoTime()
+        try {
+            reader.open(remote("/feed"), Duration.ofMillis(300)).use { feed ->
+                assertTrue(feed.hasNext())
+                feed.next()
+                assertFalse(feed.hasNext())
+                assertNotNull(feed.incomplete)
+            }
+            val elapsed = Duration.ofNanos(System.nanoTime() - start)
+            assertTrue(elapsed < Duration.ofMillis(1500), "The feed ended after ${elapsed.toMillis()}ms")
+        } finally {
+            release.countDown()
+        }
+    }
+
+    /** Test that a connection dropped before the end of the feed is an error, not the end of the feed. */
+    @Test
+    fun droppedConnectionIsAnError() {
+        server.createContext("/feed") { exchange ->
+            // Announce more content than is sent.
+            exchange.sendResponseHeaders(200, 1000)
+            exchange.responseBody.write("$EVENT\n".toByteArray())
+            exchange.responseBody.flush()
+            exchange.httpContext.server.stop(0)
+        }
+
+        reader.open(remote("/feed"), Duration.ofSeconds(5)).use { feed ->
+            assertTrue(feed.hasNext())
+            feed.next()
+            assertThrows(UncheckedIOException::class.java) { feed.hasNext() }
+        }
+    }
+
+    private fun respond(
+        exchange: HttpExchange,
+        body: String,
+    ) {
+        val bytes = body.toByteArray()
+        exchange.sendResponseHeaders(200, bytes.size.toLong())
+        exchange.responseBody.write(bytes)
+        exchange.close()
+    }
+
+    private fun remote(path: String) =
+        AnyContent().apply {
+            name = "text"
+            value = "http://localhost:${server.address.port}$path"
+            embeddingMethod = ValueEmbeddingEnumeration.URI
+        }
+
+    companion object {
+        private const val EVENT =
+            """{"timestamp":"2026-01-01T10:00:00Z","event":"Transaction initialized","actor":"Verifier","response":{}}"""
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.verifier.service
+
+import com.gitb.core.AnyContent
+import com.gitb.core.ValueEmbeddingEnumeration
+import com.gitb.tr.ObjectFactory
+import com.gitb.tr.TAR
+import com.gitb.tr.TestResultType
+import com.gitb.vs.ValidateRequest
+import eu.europa.ec.eudi.gitb.PerformanceStats
+import eu.europa.ec.eudi.gitb.SessionTracing
+import eu.europa.ec.eudi.gitb.Utils
+import eu.europa.ec.eudi.gitb.ValidationAdmission
+import eu.europa.ec.eudi.gitb.ValidationResultCache
+import eu.europa.ec.eudi.verifier.utils.Json
+import io.micrometer.observation.ObservationRegistry
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.core.env.StandardEnvironment
+import org.springframework.test.util.ReflectionTestUtils
+import java.net.http.HttpClient
+
+/** Unit tests for [VerifierValidationService]. */
+class VerifierValidationServiceTest {
+    private lateinit var stateStore: TransactionStateStore
+    private lateinit var cache: ValidationResultCache
+    private lateinit var stats: PerformanceStats
+    private lateinit var rules: VerifierRules
+    private lateinit var service: VerifierValidationService
+
+    @BeforeEach
+    fun setUp() {
+        val tracing = SessionTracing()
+        ReflectionTestUtils.setField(tracing, "observationRegistry", ObservationRegistry.NOOP)
+        val utils = Utils()
+        ReflectionTestUtils.setField(utils, "objectFactory", ObjectFactory())
+        ReflectionTestUtils.setField(utils, "sessionTracing", tracing)
+        ReflectionTestUtils.setField(utils, "maxLoggedLength", 2000)
+        ReflectionTestUtils.setField(utils, "maxInputSize", 1_000_000L)
+        cache = ValidationResultCache(10)
+        ReflectionTestUtils.setField(cache, "enabled", true)
+        ReflectionTestUtils.setField(cache, "maxInputLength", 1_000_000)
+        ReflectionTestUtils.setField(cache, "utils", utils)
+        val admission = ValidationAdmission()
+        ReflectionTestUtils.setField(admission, "utils", utils)
+        ReflectionTestUtils.setField(admission, "environment", StandardEnvironment())
+        stats = PerformanceStats()
+        ReflectionTestUtils.setField(stats, "window", 60_000L)
+        ReflectionTestUtils.setField(stats, "slots", 6)
+        ReflectionTestUtils.setField(stats, "maxSeries", 10)
+        stateStore = TransactionStateStore(100)
+        rules = VerifierRules(Json, "")
+        service =
+            VerifierValidationService(
+                utils,
+                Json,
+                stateStore,
+                PresentationEventFeedReader(utils, Json, tracing, HttpClient.newHttpClient()),
+                cache,
+                tracing,
+                admission,
+                rules,
+                FlowTimingSlos(StandardEnvironment()),
+                stats,
+            )
+    }
+
+    /** Test that a log whose already seen events changed is validated again from scratch. */
+    @Test
+    fun changedPrefixIsRevalidated() {
+        validate("s1", log(initialized(), posted("first")))
+
+        val report = validate("s1", log(initialized(), posted("second"), gotResponse("second")))
+
+        assertEquals(TestResultType.SUCCESS, report.result)
+        assertTrue(logsOf(report).contains("second"))
+        assertFalse(logsOf(report).contains("first"))
+    }
+
+    /** Test that a log extending the one seen before only feeds the new events. */
+    @Test
+    fun extendedLogIsValidatedIncrementally() {
+        validate("s1", log(initialized(), posted("query")))
+        val state = stateStore.get("s1", TRANSACTION, rules.forTestCase(null, null))
+
+        val report = validate("s1", log(initialized(), posted("query"), gotResponse("query")))
+
+        assertEquals(TestResultType.SUCCESS, report.result)
+        // The same state was advanced instead of being replaced.
+        assertTrue(state === stateStore.get("s1", TRANSACTION, rules.forTestCase(null, null)))
+        assertEquals(3, state.events.size)
+    }
+
+    /** Test that the report reused for an unchanged transaction is not shared with earlier receivers. */
+    @Test
+    fun reusedReportIsACopy() {
+        val text = log(initialized(), posted("query"), gotResponse("query"))
+        val first = validate("s1", text)
+        first.context.item.clear()
+
+        // Trailing whitespace misses the result cache but leaves the transaction unchanged.
+        val second = validate("s1", "$text ")
+
+        assertEquals(TestResultType.SUCCESS, second.result)
+        assertTrue(logsOf(second).contains("query"))
+    }
+
+    /** Test that sessions validating the same transaction do not share state. */
+    @Test
+    fun stateIsKeptPerSession() {
+        validate("s1", log(initialized(), posted("query"), gotResponse("query")))
+        validate("s2", log(initialized()))
+
+        val defaultRules = rules.forTestCase(null, null)
+        assertEquals(3, stateStore.get("s1", TRANSACTION, defaultRules).events.size)
+        assertEquals(1, stateStore.get("s2", TRANSACTION, defaultRules).events.size)
+    }
+
+    /** Test that batch items leave the state, cache and statistics of test sessions untouched. */
+    @Test
+    fun batchItemIsIsolatedFromSessions() {
+        val report = service.validateBatchItem(request("batch-1", log(initialized(), posted("query"), gotResponse("query")))).report
+
+        assertEquals(TestResultType.SUCCESS, report.result)
+        assertEquals(0, cache.size)
+        assertEquals(0, stats.seriesCount)
+        assertTrue(stateStore.get("batch-1", TRANSACTION, rules.forTestCase(null, null)).events.isEmpty())
+    }
+
+    /** Test that warm-up rounds are validated but left out of the statistics. */
+    @Test
+    fun warmUpIsNotRecorded() {
+        val text = log(initialized(), posted("query"), gotResponse("query"))
+
+        val report = validate("warmup-0", text)
+
+        assertEquals(TestResultType.SUCCESS, report.result)
+        assertEquals(0, stats.seriesCount)
+
+        validate("s1", text)
+
+        assertEquals(1, stats.seriesCount)
+    }
+
+    private fun validate(
+        sessionId: String,
+        text: String,
+    ): TAR = service.validate(request(sessionId, text)).report
+
+    private fun request(
+        sessionId: String,
+        text: String,
+    ) = ValidateRequest().apply {
+        this.sessionId = sessionId
+        input.add(
+            AnyContent().apply {
+                name = "text"
+                value = text
+                embeddingMethod = ValueEmbeddingEnumeration.STRING
+            },
+        )
+    }
+
+    private fun logsOf(report: TAR): String =
+        report.context.item
+            .first { it.name == "Verifier's Logs" }
+            .item
+            .first()
+            .value
+
+    private fun log(vararg events: String) =
+        """{"transaction_id":"$TRANSACTION","last_updated":${events.size},"events":[${events.joinToString(",")}]}"""
+
+    private fun initialized() =
+        """{"timestamp":"2026-01-01T10:00:00Z","event":"Transaction initialized","actor":"Verifier","response":{}}"""
+
+    private fun posted(query: String) =
+        """{"timestamp":"2026-01-01T10:00:01Z","event":"Wallet response posted","actor":"Wallet",""" +
+            """"wallet_response":{"query":"$query"}}"""
+
+    private fun gotResponse(query: String) =
+        """{"timestamp":"2026-01-01T10:00:02Z","event":"Verifier got wallet response","actor":"Verifier",""" +
+            """"wallet_response":{"query":"$query"}}"""
+
+    companion object {
+        private const val TRANSACTION = "transaction"
+    }
+}
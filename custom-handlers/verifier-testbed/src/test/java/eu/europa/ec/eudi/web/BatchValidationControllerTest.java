@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025-2026 European Commission
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.europa.ec.eudi.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.gitb.tr.ObjectFactory;
+import eu.europa.ec.eudi.gitb.SessionTracing;
+import eu.europa.ec.eudi.gitb.Utils;
+import eu.europa.ec.eudi.issuer.service.IssuancePhases;
+import eu.europa.ec.eudi.issuer.service.IssuerValidationService;
+import eu.europa.ec.eudi.issuer.service.LogFormatRegistry;
+import eu.europa.ec.eudi.verifier.utils.Json;
+import eu.europa.ec.eudi.web.dto.BatchValidationItemTO;
+import eu.europa.ec.eudi.web.dto.BatchValidationRequestTO;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Unit tests for {@link BatchValidationController}. */
+public class BatchValidationControllerTest {
+
+  private static final String LOGS =
+      "{\"successful\":true,\"count\":1,\"logs\":[\"2026-01-01 10:00:00,000"
+          + " eu.europa.ec.eudi.pidissuer.Issuer INFO  Issued credential\"]}";
+
+  private BatchValidationController controller;
+
+  @BeforeEach
+  public void setUp() {
+    SessionTracing tracing = new SessionTracing();
+    ReflectionTestUtils.setField(tracing, "observationRegistry", ObservationRegistry.NOOP);
+    Utils utils = new Utils();
+    ReflectionTestUtils.setField(utils, "objectFactory", new ObjectFactory());
+    ReflectionTestUtils.setField(utils, "sessionTracing", tracing);
+    ReflectionTestUtils.setField(utils, "maxLoggedLength", 2000);
+    ReflectionTestUtils.setField(utils, "maxInputSize", 1_000_000L);
+    LogFormatRegistry formats = new LogFormatRegistry();
+    ReflectionTestUtils.setField(formats, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(formats, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(formats, "sampleSize", 20);
+    formats.init();
+    IssuancePhases phases = new IssuancePhases();
+    ReflectionTestUtils.setField(phases, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(phases, "json", Json.INSTANCE);
+    phases.init();
+    IssuerValidationService issuer = new IssuerValidationService();
+    ReflectionTestUtils.setField(issuer, "utils", utils);
+    ReflectionTestUtils.setField(issuer, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(issuer, "logFormatRegistry", formats);
+    ReflectionTestUtils.setField(issuer, "issuancePhases", phases);
+    controller = new BatchValidationController();
+    ReflectionTestUtils.setField(controller, "issuerValidationService", issuer);
+    ReflectionTestUtils.setField(controller, "utils", utils);
+    ReflectionTestUtils.setField(controller, "json", Json.INSTANCE);
+    ReflectionTestUtils.setField(controller, "threads", 1);
+    ReflectionTestUtils.setField(controller, "maxItems", 5);
+    ReflectionTestUtils.setField(controller, "maxInFlight", 2);
+    controller.init();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    controller.shutdown();
+  }
+
+  /** Test that every item is streamed, followed by the batch's summary. */
+  @Test
+  public void streamsItemsAndSummary() throws Exception {
+    var out = new ByteArrayOutputStream();
+    controller.validateBatch(batch(5)).getBody().writeTo(out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(6, lines.length);
+    JsonNode summary = Json.INSTANCE.getReader().readTree(lines[5]).get("summary");
+    assertEquals(5, summary.get("total").asInt());
+    assertEquals(5, summary.get("success").asInt());
+  }
+
+  /** Test that batches with too many items are rejected. */
+  @Test
+  public void rejectsTooManyItems() {
+    assertThrows(ResponseStatusException.class, () -> controller.validateBatch(batch(6)));
+  }
+
+  /** Test that no further items are validated once the response cannot be written. */
+  @Test
+  public void disconnectedBatchIsCancelled() throws Exception {
+    OutputStream disconnected =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+          }
+        };
+
+    assertThrows(
+        IOException.class,
+        () -> controller.validateBatch(batch(5)).getBody().writeTo(disconnected));
+
+    ExecutorService executor =
+        (ExecutorService) ReflectionTestUtils.getField(controller, "executor");
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+    assertEquals(2, ((ThreadPoolExecutor) executor).getTaskCount());
+  }
+
+  private BatchValidationRequestTO batch(int size) {
+    List<BatchValidationItemTO> items = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      var item = new BatchValidationItemTO();
+      item.setId("item-" + i);
+      item.setValidator("issuer");
+      item.setText(LOGS);
+      items.add(item);
+    }
+    var request = new BatchValidationRequestTO();
+    request.setItems(items);
+    return request;
+  }
+}